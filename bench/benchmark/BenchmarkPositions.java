@@ -0,0 +1,121 @@
+package benchmark;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.ReadonlyReversiModel.Status;
+import model.player.Player;
+
+/**
+ * Builds the positions the benchmarks measure. A board is named by its shape and side length,
+ * such as {@code "hex6"} or {@code "square8"}, and a phase is one of {@code "opening"},
+ * {@code "midgame"} or {@code "endgame"}. Positions come from seeded random games, so every run
+ * measures the same positions, and the side to move always has a move.
+ */
+final class BenchmarkPositions {
+  // the number of moves played from the start in an opening position
+  private static final int OPENING_PLIES = 4;
+  // the number of empty cells left in an endgame position
+  private static final int ENDGAME_EMPTIES = 10;
+  // the number of random games tried before settling for the closest position found
+  private static final int TRIES = 1000;
+
+  private BenchmarkPositions() {
+  }
+
+  /**
+   * Returns whether the named board is hexagonal.
+   *
+   * @param board the name of the board
+   * @return true if the board is hexagonal
+   * @throws IllegalArgumentException if the name is not a board
+   */
+  static boolean isHex(String board) {
+    if (board.startsWith("hex")) {
+      return true;
+    } else if (board.startsWith("square")) {
+      return false;
+    }
+    throw new IllegalArgumentException("Unknown board " + board);
+  }
+
+  /**
+   * Returns the side length of the named board.
+   *
+   * @param board the name of the board
+   * @return the side length
+   * @throws IllegalArgumentException if the name is not a board
+   */
+  static int sideLength(String board) {
+    return Integer.parseInt(board.substring(isHex(board) ? 3 : 6));
+  }
+
+  /**
+   * Returns a position of the given phase on the named board, on the fastest board
+   * representation that fits it. Random games are played with the standard rules until one
+   * reaches the number of discs of the phase with the side to move having a move; if none does,
+   * the position closest to that number of discs is returned instead.
+   *
+   * @param board the name of the board
+   * @param phase the name of the phase
+   * @param seed  the seed of the first random game
+   * @return the position
+   * @throws IllegalArgumentException if the board or phase is unknown
+   */
+  static AbstractReversi position(String board, String phase, long seed) {
+    boolean isHex = isHex(board);
+    int sideLen = sideLength(board);
+    BoardRepresentation representation = BoardRepresentation.fastest(sideLen, isHex);
+    AbstractReversi start = new AbstractReversi(sideLen, isHex, representation);
+    start.startGame();
+    int startDiscs = discs(start);
+    int cellCount = startDiscs + start.getScore(Player.EMPTY);
+    int target;
+    switch (phase) {
+      case "opening":
+        target = startDiscs + OPENING_PLIES;
+        break;
+      case "midgame":
+        target = Math.max(startDiscs, cellCount / 2);
+        break;
+      case "endgame":
+        target = Math.max(startDiscs, cellCount - ENDGAME_EMPTIES);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown phase " + phase);
+    }
+
+    AbstractReversi closest = start;
+    for (int t = 0; t < TRIES; t++) {
+      Random random = new Random(seed + t);
+      AbstractReversi game = new AbstractReversi(start, representation);
+      while (game.getStatus() == Status.Playing && discs(game) < target) {
+        List<Point> moves = game.getLegalMoves(game.getTurn());
+        if (moves.isEmpty()) {
+          game.pass();
+        } else {
+          Point move = moves.get(random.nextInt(moves.size()));
+          game.playMove(move.x, move.y);
+        }
+        if (game.hasValidMoves(game.getTurn())
+                && Math.abs(discs(game) - target) < Math.abs(discs(closest) - target)) {
+          closest = new AbstractReversi(game, representation);
+        }
+      }
+      if (discs(game) == target && game.hasValidMoves(game.getTurn())) {
+        return game;
+      }
+    }
+    return closest;
+  }
+
+  /**
+   * Returns the number of discs on the board.
+   */
+  private static int discs(AbstractReversi game) {
+    return game.getScore(Player.BLACK) + game.getScore(Player.WHITE);
+  }
+}
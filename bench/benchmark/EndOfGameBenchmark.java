@@ -0,0 +1,97 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.model.AbstractReversi;
+import model.model.Tile;
+import model.player.Player;
+
+/**
+ * Measures what the controller does once a game ends: checking that the game is over, finding
+ * the winner and reporting both scores. {@code countersEvaluation} uses the model's running
+ * disc counts, {@code scanEvaluation} counts discs by walking the whole board, as getScore used
+ * to, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndOfGameBenchmark {
+
+  // "hex" is the default 11x11 hex board, "square" a 16x16 square board
+  @Param({"hex", "square"})
+  public String board;
+
+  private AbstractReversi model;
+
+  /**
+   * Plays a game to the end, always taking the first valid move in row order.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    boolean isHex = this.board.equals("hex");
+    this.model = new AbstractReversi(isHex ? 6 : 16, isHex);
+    this.model.startGame();
+    while (!this.model.isGameOver()) {
+      this.model.playMove(this.model.getLegalMoves(this.model.getTurn()).get(0).x,
+              this.model.getLegalMoves(this.model.getTurn()).get(0).y);
+    }
+  }
+
+  /**
+   * Evaluates the end of the game the way the model and controller do.
+   */
+  @Benchmark
+  public int countersEvaluation() {
+    boolean over = this.model.isGameOver();
+    Player winner = this.model.determineWinner();
+    return (over ? 1 : 0) + winner.ordinal()
+            + this.model.getScore(Player.BLACK) - this.model.getScore(Player.WHITE);
+  }
+
+  /**
+   * Evaluates the end of the game with the same six score queries, each counted by a full scan
+   * of the board.
+   */
+  @Benchmark
+  public int scanEvaluation() {
+    boolean over = this.model.isGameOver();
+    int black = this.scan(Player.BLACK);
+    int white = this.scan(Player.WHITE);
+    Player winner = this.scan(Player.BLACK) > this.scan(Player.WHITE) ? Player.BLACK
+            : Player.WHITE;
+    return (over ? 1 : 0) + winner.ordinal() + black - white
+            + this.scan(Player.BLACK) - this.scan(Player.WHITE);
+  }
+
+  /**
+   * Counts the discs of the given player by walking every cell of the board.
+   */
+  private int scan(Player player) {
+    int count = 0;
+    for (int r = 0; r < this.model.getHeight(); r++) {
+      for (int q = 0; q < this.model.getWidth(); q++) {
+        Tile tile = this.model.getTileAt(q, r);
+        if (tile != null && tile.getPlayerAt() == player) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,146 @@
+package benchmark;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.model.AbstractReversi;
+import model.model.Board;
+import model.player.Player;
+
+/**
+ * Measures the model's hot paths on every supported board size, from hex side length 3 to 12 and
+ * square size 4 to 16, in an opening, a midgame and an endgame position. Each board uses the
+ * fastest representation that fits it. Each case is measured in five forks, since compilation
+ * varies from fork to fork, so the whole grid takes about two hours; narrow it with {@code -p}
+ * to compare a change. {@code bench/baseline/ModelBenchmark.txt} holds a run with
+ * {@code -prof gc}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(5)
+public class ModelBenchmark {
+
+  @Param({"hex3", "hex4", "hex5", "hex6", "hex7", "hex8", "hex9", "hex10", "hex11", "hex12",
+          "square4", "square6", "square8", "square10", "square12", "square14", "square16"})
+  public String board;
+
+  @Param({"opening", "midgame", "endgame"})
+  public String phase;
+
+  private AbstractReversi model;
+  private int dim;
+  // true for every coordinate that is a cell of the board
+  private boolean[] cells;
+  // the move played by playMove, the first legal move in row order
+  private Point move;
+
+  /**
+   * Builds the position of the board and phase.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.model = BenchmarkPositions.position(this.board, this.phase, 1);
+    this.dim = this.model.getWidth();
+    this.cells = new boolean[this.dim * this.dim];
+    for (int i = 0; i < this.cells.length; i++) {
+      this.cells[i] = this.model.getTileAt(i % this.dim, i / this.dim) != null;
+    }
+    this.move = this.model.getLegalMoves(this.model.getTurn()).get(0);
+  }
+
+  /**
+   * Holds a fresh copy of the position for each call of playMove, since playing a move cannot be
+   * taken back. The copy is made outside the measured time, but the timer overhead of a setup per
+   * invocation, some tens of nanoseconds, is part of the result.
+   */
+  @State(Scope.Thread)
+  public static class Fresh {
+    private AbstractReversi game;
+
+    /**
+     * Copies the position of the benchmark.
+     *
+     * @param benchmark the benchmark whose position is copied
+     */
+    @Setup(Level.Invocation)
+    public void setUp(ModelBenchmark benchmark) {
+      this.game = new AbstractReversi(benchmark.model);
+    }
+  }
+
+  /**
+   * Validates every cell of the board for the player to move.
+   */
+  @Benchmark
+  public int isValidMove() {
+    Player turn = this.model.getTurn();
+    int valid = 0;
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        if (this.cells[r * this.dim + q] && this.model.isValidMove(q, r, turn)) {
+          valid++;
+        }
+      }
+    }
+    return valid;
+  }
+
+  /**
+   * Scores every cell of the board for the player to move.
+   */
+  @Benchmark
+  public int moveScore() {
+    int total = 0;
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        if (this.cells[r * this.dim + q]) {
+          total += this.model.moveScore(q, r);
+        }
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public boolean hasValidMoves() {
+    return this.model.hasValidMoves(this.model.getTurn());
+  }
+
+  /**
+   * Plays the first legal move on a fresh copy of the position.
+   */
+  @Benchmark
+  public Player playMove(Fresh fresh) {
+    fresh.game.playMove(this.move.x, this.move.y);
+    return fresh.game.getTurn();
+  }
+
+  /**
+   * Reports both scores, as the view does after every move.
+   */
+  @Benchmark
+  public int getScore() {
+    return this.model.getScore(Player.BLACK) - this.model.getScore(Player.WHITE);
+  }
+
+  @Benchmark
+  public Board copyBoard() {
+    return this.model.copyBoard();
+  }
+}
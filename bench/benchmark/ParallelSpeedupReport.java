@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.ReversiModel;
+import strategy.AlphaBetaStrategy;
+import strategy.InfallibleReversiStrategy;
+import strategy.ParallelAlphaBetaStrategy;
+import strategy.StandardEvaluator;
+
+/**
+ * Reports how much faster the root-splitting {@link ParallelAlphaBetaStrategy} finishes a
+ * fixed-depth search than the sequential {@link AlphaBetaStrategy}, at 1, 2, 4, 8 and 16 threads.
+ * Both searches run without a transposition table on the same midgame positions, and each time is
+ * the best of several runs after a warm-up. Run it with
+ * {@code java -cp <classpath> benchmark.ParallelSpeedupReport}.
+ */
+public class ParallelSpeedupReport {
+  private static final int[] THREADS = {1, 2, 4, 8, 16};
+  private static final int RUNS = 3;
+
+  /**
+   * Runs the report.
+   *
+   * @param args unused
+   */
+  public static void main(String[] args) {
+    report("hex side 6, depth 7", midgame(new AbstractReversi(6, true, BoardRepresentation.BITSET),
+            12), 7);
+    report("square 8x8, depth 7", midgame(new AbstractReversi(8, false,
+            BoardRepresentation.BITSET), 12), 7);
+  }
+
+  /**
+   * Prints the times of the sequential and parallel searches of one position.
+   *
+   * @param name  the name of the position
+   * @param game  the position to search
+   * @param depth the depth of the search
+   */
+  private static void report(String name, ReversiModel game, int depth) {
+    InfallibleReversiStrategy baseline = new AlphaBetaStrategy(Long.MAX_VALUE / 2_000_000, depth,
+            new StandardEvaluator());
+    // warm up the JIT so the first timings are not penalized
+    best(baseline, game);
+    long sequential = best(baseline, game);
+    System.out.printf("%s (%d cores)%n", name, Runtime.getRuntime().availableProcessors());
+    System.out.printf("  sequential  %8.1f ms%n", sequential / 1e6);
+    for (int threads : THREADS) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      ParallelAlphaBetaStrategy strategy = new ParallelAlphaBetaStrategy(
+              Long.MAX_VALUE / 2_000_000, depth, StandardEvaluator::new, pool);
+      long time = best(strategy, game);
+      pool.shutdown();
+      System.out.printf("  %2d threads  %8.1f ms  %,12d nodes  speedup %.2fx%n", threads,
+              time / 1e6, strategy.getLastNodes(), (double) sequential / time);
+    }
+  }
+
+  /**
+   * Returns the shortest time in nanoseconds the strategy takes to choose a move.
+   *
+   * @param strategy the strategy to time
+   * @param game     the position to choose a move in
+   * @return the best time over all runs
+   */
+  private static long best(InfallibleReversiStrategy strategy, ReversiModel game) {
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      strategy.chooseMove(game, game.getTurn());
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+
+  /**
+   * Starts the game and plays random moves from a fixed seed.
+   *
+   * @param game  the game to start
+   * @param plies the number of moves to play
+   * @return the game
+   */
+  private static ReversiModel midgame(ReversiModel game, int plies) {
+    Random random = new Random(7);
+    game.startGame();
+    for (int i = 0; i < plies; i++) {
+      List<Point> moves = game.getLegalMoves(game.getTurn());
+      Point move = moves.get(random.nextInt(moves.size()));
+      game.playMove(move.x, move.y);
+    }
+    return game;
+  }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.model.AbstractReversi;
+import strategy.AlphaBetaStrategy;
+import strategy.AvoidNextToCorner;
+import strategy.CaptureMax;
+import strategy.CombinedStrategy;
+import strategy.CompleteStrategy;
+import strategy.EndgameStrategy;
+import strategy.InfallibleReversiStrategy;
+import strategy.MctsStrategy;
+import strategy.MovetoCorner;
+import strategy.PatternEvaluator;
+import strategy.StandardEvaluator;
+
+/**
+ * Measures how long each strategy takes to choose a move on every supported board size in an
+ * opening, a midgame and an endgame position. The searching strategies get fixed budgets rather
+ * than time limits, so that each call does the same work: alpha-beta searches to depth 3 without
+ * a transposition table, which would otherwise carry results from one call to the next, MCTS runs
+ * 64 playouts on one thread, and the endgame strategy solves from 12 empty cells and plays
+ * capture max before that. The corner strategies fall back on capture max when they find no
+ * move, as they do when combined in a game. The provider strategies are left out, since they
+ * only support hex boards. Each case is measured in five forks, as in {@link ModelBenchmark}.
+ * {@code bench/baseline/StrategyBenchmark.txt} holds a run with {@code -prof gc}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(5)
+public class StrategyBenchmark {
+  // the depth of the alpha-beta searches
+  private static final int DEPTH = 3;
+  // the number of playouts of MCTS
+  private static final int PLAYOUTS = 64;
+  // long enough that no search runs out of time
+  private static final long NO_LIMIT_MILLIS = 60_000;
+
+  @Param({"hex3", "hex4", "hex5", "hex6", "hex7", "hex8", "hex9", "hex10", "hex11", "hex12",
+          "square4", "square6", "square8", "square10", "square12", "square14", "square16"})
+  public String board;
+
+  @Param({"opening", "midgame", "endgame"})
+  public String phase;
+
+  @Param({"capturemax", "avoidcorners", "capturecorners", "alphabeta", "patterns", "mcts",
+          "endgame"})
+  public String strategy;
+
+  private AbstractReversi model;
+  private InfallibleReversiStrategy chooser;
+
+  /**
+   * Builds the position of the board and phase and the strategy.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.model = BenchmarkPositions.position(this.board, this.phase, 1);
+    switch (this.strategy) {
+      case "capturemax":
+        this.chooser = new CompleteStrategy(new CaptureMax());
+        break;
+      case "avoidcorners":
+        this.chooser = new CompleteStrategy(new CombinedStrategy(new AvoidNextToCorner(),
+                new CaptureMax()));
+        break;
+      case "capturecorners":
+        this.chooser = new CompleteStrategy(new CombinedStrategy(new MovetoCorner(),
+                new CaptureMax()));
+        break;
+      case "alphabeta":
+        this.chooser = new AlphaBetaStrategy(NO_LIMIT_MILLIS, DEPTH, new StandardEvaluator());
+        break;
+      case "patterns":
+        this.chooser = new AlphaBetaStrategy(NO_LIMIT_MILLIS, DEPTH, new PatternEvaluator());
+        break;
+      case "mcts":
+        this.chooser = new MctsStrategy(0, PLAYOUTS, MctsStrategy.Playout.GREEDY,
+                MctsStrategy.Parallelism.TREE, 1);
+        break;
+      case "endgame":
+        this.chooser = new EndgameStrategy(new CompleteStrategy(new CaptureMax()),
+                EndgameStrategy.DEFAULT_EMPTIES, 0);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown strategy " + this.strategy);
+    }
+  }
+
+  @Benchmark
+  public Point chooseMove() {
+    return this.chooser.chooseMove(this.model, this.model.getTurn());
+  }
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.player.Player;
+
+/**
+ * Measures move validation on a midgame position. Run with {@code -prof gc} to check that
+ * validating a move does not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidMoveBenchmark {
+
+  @Param({"true", "false"})
+  public boolean isHex;
+
+  @Param({"TILES", "BITSET", "ARRAY"})
+  public BoardRepresentation representation;
+
+  private AbstractReversi model;
+  private int dim;
+  // true for every coordinate that is a cell of the board
+  private boolean[] cells;
+
+  /**
+   * Plays the first ten moves of a game, always taking the first valid move in row order.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.model = new AbstractReversi(this.isHex ? 6 : 8, this.isHex, this.representation);
+    this.model.startGame();
+    this.dim = this.model.getWidth();
+    this.cells = new boolean[this.dim * this.dim];
+    for (int i = 0; i < this.cells.length; i++) {
+      this.cells[i] = this.model.getTileAt(i % this.dim, i / this.dim) != null;
+    }
+    for (int i = 0; i < 10; i++) {
+      int move = this.firstValidMove();
+      if (move < 0) {
+        break;
+      }
+      this.model.playMove(move % this.dim, move / this.dim);
+    }
+  }
+
+  /**
+   * Returns the index of the first valid move in row order, or -1 if there is none.
+   */
+  private int firstValidMove() {
+    for (int i = 0; i < this.dim * this.dim; i++) {
+      if (this.cells[i]
+              && this.model.isValidMove(i % this.dim, i / this.dim, this.model.getTurn())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Validates every cell of the board for the player to move.
+   */
+  @Benchmark
+  public int isValidMoveAllCells() {
+    Player turn = this.model.getTurn();
+    int valid = 0;
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        if (this.cells[r * this.dim + q] && this.model.isValidMove(q, r, turn)) {
+          valid++;
+        }
+      }
+    }
+    return valid;
+  }
+
+  /**
+   * Scores every cell of the board for the player to move.
+   */
+  @Benchmark
+  public int moveScoreAllCells() {
+    int total = 0;
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        if (this.cells[r * this.dim + q]) {
+          total += this.model.moveScore(q, r);
+        }
+      }
+    }
+    return total;
+  }
+
+  @Benchmark
+  public boolean hasValidMoves() {
+    return this.model.hasValidMoves(this.model.getTurn());
+  }
+}
@@ -1,21 +1,37 @@
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 import model.model.HexReversi;
 import model.player.Player;
 import model.model.ReversiModel;
+import strategy.AlphaBetaStrategy;
 import strategy.AvoidNextToCorner;
 import strategy.CaptureMax;
 import strategy.CombinedStrategy;
 import strategy.CompleteStrategy;
+import strategy.EndgameStrategy;
 import strategy.FallibleReversiStrategy;
 import strategy.InfallibleReversiStrategy;
+import strategy.LazySmpStrategy;
+import strategy.MctsStrategy;
+import strategy.MoveOrderer;
 import strategy.MovetoCorner;
+import strategy.OpeningBook;
+import strategy.PatternEvaluator;
+import strategy.PatternWeights;
+import strategy.TranspositionTable;
 import model.model.ReadonlyReversiModel;
 import view.gui.HexReversiGUI;
 import view.gui.ReversiView;
+import controller.BatchRunner;
+import controller.MatchResult;
 import controller.NewController;
+import controller.Sprt;
+import controller.Tournament;
 import model.player.HumanReversiPlayer;
 import model.player.MachineReversiPlayer;
 import model.player.ReversiPlayer;
@@ -41,6 +57,9 @@ import provider.strategy.TakeCornerStrategy;
  * 4. If the user has no available moves, they must pass their turn by pressing the 'p' key.
  * 5. Play until either a player cannot make any moves, the board is full,
  * if both players consecutively pass, or if a user quits.
+ * To play machine players against each other without windows, start the arguments with
+ * {@code batch} (see {@link #runBatch(Scanner)}), {@code tournament} or {@code sprt}
+ * (see {@link #runTournament(Scanner, boolean)}).
  */
 public final class Reversi {
   /**
@@ -55,6 +74,27 @@ public final class Reversi {
     }
     String str = sb.toString();
     Scanner scan = new Scanner(str);
+    if (args.length > 0 && args[0].equalsIgnoreCase("batch")) {
+      scan.next();
+      try {
+        runBatch(scan);
+      } catch (IllegalArgumentException | NoSuchElementException e) {
+        printUsage(e, "batch <hex|square> <board size> <games> <threads> <strategy 1> "
+                + "<strategy 2> [seed]");
+      }
+      return;
+    }
+    if (args.length > 0 && (args[0].equalsIgnoreCase("tournament")
+            || args[0].equalsIgnoreCase("sprt"))) {
+      String mode = scan.next().toLowerCase();
+      try {
+        runTournament(scan, mode.equals("sprt"));
+      } catch (IllegalArgumentException | NoSuchElementException e) {
+        printUsage(e, mode + " <hex|square> <board size> <pairs> <threads> <strategy 1> "
+                + "<strategy 2> ... [seed]");
+      }
+      return;
+    }
 
     ReversiModel model = new HexReversi();
 
@@ -97,6 +137,127 @@ public final class Reversi {
     model.startGame();
   }
 
+  /**
+   * Plays a batch of games between two single strategies without a view and prints the results
+   * of the first. The arguments after {@code batch} are the board type ({@code hex} or
+   * {@code square}), its size, the number of games, the number of threads, the two strategies
+   * as for a single strategy player and, optionally, the seed of the random openings, 0 if none is
+   * given.
+   *
+   * @param scan the scanner
+   * @throws IllegalArgumentException if an argument is invalid
+   * @throws NoSuchElementException   if an argument is missing
+   */
+  private static void runBatch(Scanner scan) {
+    boolean isHex = readIsHex(scan);
+    int size = scan.nextInt();
+    int games = scan.nextInt();
+    int threads = scan.nextInt();
+    String first = readStrategySpec(scan);
+    String second = readStrategySpec(scan);
+    long seed = readSeed(scan);
+    BatchRunner runner = new BatchRunner(size, isHex,
+        () -> getSingleStrategy(new Scanner(first)),
+        () -> getSingleStrategy(new Scanner(second)), 4, threads);
+    System.out.println(first + " against " + second + ": " + runner.run(games, seed));
+  }
+
+  /**
+   * Plays a tournament between single strategies without a view and prints each match. The
+   * arguments after {@code tournament} or {@code sprt} are the board type ({@code hex} or
+   * {@code square}), its size, the number of game pairs per match, the number of threads, the
+   * strategies as for a single strategy player and, optionally, the seed of the random openings, 0
+   * if none is given. A tournament plays every strategy against every other. An SPRT plays the
+   * first two strategies until it shows whether the first is at least 30 Elo stronger, with 5%
+   * chances of error, or until the pairs run out.
+   *
+   * @param scan the scanner
+   * @param sprt whether to run an SPRT rather than a round robin
+   * @throws IllegalArgumentException if an argument is invalid, or there are fewer than two
+   *                                  strategies
+   * @throws NoSuchElementException   if an argument is missing
+   */
+  private static void runTournament(Scanner scan, boolean sprt) {
+    boolean isHex = readIsHex(scan);
+    int size = scan.nextInt();
+    int pairs = scan.nextInt();
+    int threads = scan.nextInt();
+    Tournament tournament = new Tournament(size, isHex, 4, threads);
+    while (scan.hasNext() && !scan.hasNextLong()) {
+      String spec = readStrategySpec(scan);
+      tournament.addEntrant(spec, () -> getSingleStrategy(new Scanner(spec)));
+    }
+    long seed = readSeed(scan);
+    List<String> names = tournament.getEntrants();
+    if (names.size() < 2) {
+      throw new IllegalArgumentException("At least two strategies are needed");
+    }
+    if (sprt) {
+      System.out.println(tournament.match(names.get(0), names.get(1), pairs, seed,
+              new Sprt(0, 30, 0.05, 0.05)));
+    } else {
+      for (MatchResult result : tournament.roundRobin(pairs, seed)) {
+        System.out.println(result);
+      }
+    }
+  }
+
+  /**
+   * Reads the board type of a mode without a view, {@code hex} or {@code square}.
+   *
+   * @param scan the scanner
+   * @return true if the board is hexagonal
+   * @throws IllegalArgumentException if the board type is neither hex nor square
+   */
+  private static boolean readIsHex(Scanner scan) {
+    String type = scan.next();
+    if (type.equalsIgnoreCase("hex")) {
+      return true;
+    } else if (type.equalsIgnoreCase("square")) {
+      return false;
+    }
+    throw new IllegalArgumentException("Invalid board type: " + type);
+  }
+
+  /**
+   * Reads the seed that may end the arguments of a mode without a view.
+   *
+   * @param scan the scanner
+   * @return the seed, or 0 if there is none
+   * @throws IllegalArgumentException if anything other than a seed is left
+   */
+  private static long readSeed(Scanner scan) {
+    long seed = scan.hasNextLong() ? scan.nextLong() : 0;
+    if (scan.hasNext()) {
+      throw new IllegalArgumentException("Unexpected argument: " + scan.next());
+    }
+    return seed;
+  }
+
+  /**
+   * Prints why the arguments of a mode without a view could not be used, and how to use it.
+   *
+   * @param error the error the arguments caused
+   * @param usage the arguments of the mode
+   */
+  private static void printUsage(RuntimeException error, String usage) {
+    if (error.getMessage() != null) {
+      System.out.println(error.getMessage());
+    }
+    System.out.println("Usage: " + usage);
+  }
+
+  /**
+   * Reads the name of a single strategy, with the weight file that follows the patterns strategy.
+   *
+   * @param scan the scanner
+   * @return the tokens of the strategy
+   */
+  private static String readStrategySpec(Scanner scan) {
+    String name = scan.next();
+    return name.equalsIgnoreCase("patterns") ? name + " " + scan.next() : name;
+  }
+
   /**
    * Creates a model based on the size and board type specified by the user.
    *
@@ -167,7 +328,7 @@ public final class Reversi {
     if (type.equalsIgnoreCase("Human") || type.equalsIgnoreCase("H")) {
       return new HumanReversiPlayer(piece);
     } else {
-      return new MachineReversiPlayer(model, createStrategy(scan), piece);
+      return new MachineReversiPlayer(model, createStrategy(scan), piece, loadBook());
     }
   }
 
@@ -205,6 +366,24 @@ public final class Reversi {
       case "capturecorners":
         strategy = new CompleteStrategy(new MovetoCorner());
         break;
+      case "alphabeta":
+        strategy = new EndgameStrategy(new AlphaBetaStrategy(1000),
+                EndgameStrategy.DEFAULT_EMPTIES, 1000);
+        break;
+      case "lazysmp":
+        strategy = new EndgameStrategy(new LazySmpStrategy(1000,
+                Runtime.getRuntime().availableProcessors()), EndgameStrategy.DEFAULT_EMPTIES, 1000);
+        break;
+      case "patterns":
+        strategy = new EndgameStrategy(new AlphaBetaStrategy(1000,
+                AlphaBetaStrategy.DEFAULT_MAX_DEPTH, loadPatterns(scan.next()),
+                new TranspositionTable(AlphaBetaStrategy.DEFAULT_TABLE_BITS), new MoveOrderer()),
+                EndgameStrategy.DEFAULT_EMPTIES, 1000);
+        break;
+      case "mcts":
+        strategy = new MctsStrategy(1000, 0, MctsStrategy.Playout.GREEDY,
+                MctsStrategy.Parallelism.TREE, Runtime.getRuntime().availableProcessors());
+        break;
       case "strategy1":
         strategy = new CompleteStrategy(new ProvStratToOurStratAdapter(new GreedyStrategy()));
         break;
@@ -222,6 +401,40 @@ public final class Reversi {
     return strategy;
   }
 
+  /**
+   * Loads the opening book named by the {@code reversi.book} system property, if there is one.
+   *
+   * @return the opening book, or null if none is named or it cannot be read
+   */
+  private static OpeningBook loadBook() {
+    String file = System.getProperty("reversi.book");
+    if (file == null) {
+      return null;
+    }
+    try {
+      return OpeningBook.load(Paths.get(file));
+    } catch (IOException e) {
+      System.out.println("Could not load the opening book: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Creates a pattern evaluator with the weights in the given file, or with the default weights if
+   * the file cannot be read.
+   *
+   * @param file the path of the weight file
+   * @return the evaluator
+   */
+  private static PatternEvaluator loadPatterns(String file) {
+    try {
+      return new PatternEvaluator(PatternWeights.load(Paths.get(file)));
+    } catch (IOException e) {
+      System.out.println("Could not load pattern weights, using the defaults: " + e.getMessage());
+      return new PatternEvaluator();
+    }
+  }
+
   /**
    * Gets multiple strategies for the machine player to use,
    * based on the strategies specified by the user.
@@ -0,0 +1,266 @@
+package controller;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.ReadonlyReversiModel.Status;
+import model.model.ReversiModel;
+import model.player.MachineReversiPlayer;
+import model.player.Player;
+import strategy.InfallibleReversiStrategy;
+
+/**
+ * Plays a batch of games between two strategies without a view, on a pool of threads, and tallies
+ * the results for the first strategy. The strategies swap colors every game, and each game starts
+ * with a few random moves so that deterministic strategies do not play the same game over and
+ * over. Every game gets new strategies from the suppliers, since strategies need not be thread
+ * safe.
+ */
+public class BatchRunner {
+  private final int sideLen;
+  private final boolean isHex;
+  private final Supplier<InfallibleReversiStrategy> first;
+  private final Supplier<InfallibleReversiStrategy> second;
+  private final int randomPlies;
+  private final int threads;
+
+  /**
+   * Constructs a BatchRunner.
+   *
+   * @param sideLen     the side length of the board
+   * @param isHex       whether the board is hexagonal
+   * @param first       makes the strategy whose results are tallied
+   * @param second      makes the strategy it plays against
+   * @param randomPlies the number of random moves that start each game
+   * @param threads     the number of games played at once
+   * @throws IllegalArgumentException if the number of random moves is negative or the number of
+   *                                  threads is not positive
+   */
+  public BatchRunner(int sideLen, boolean isHex, Supplier<InfallibleReversiStrategy> first,
+                     Supplier<InfallibleReversiStrategy> second, int randomPlies, int threads) {
+    if (randomPlies < 0 || threads < 1) {
+      throw new IllegalArgumentException("Invalid number of random moves or threads");
+    }
+    this.sideLen = sideLen;
+    this.isHex = isHex;
+    this.first = first;
+    this.second = second;
+    this.randomPlies = randomPlies;
+    this.threads = threads;
+  }
+
+  /**
+   * Plays a batch of games. The first strategy plays black in the even games and white in the
+   * odd ones. The games depend only on the seed and the strategies, not on the number of threads.
+   *
+   * @param games the number of games
+   * @param seed  the seed of the random opening moves
+   * @return the results of the first strategy
+   * @throws IllegalStateException if a game fails
+   */
+  public BatchResult run(int games, long seed) {
+    ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+    long start = System.nanoTime();
+    int wins = 0;
+    int losses = 0;
+    int draws = 0;
+    long differential = 0;
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int g = 0; g < games; g++) {
+        long gameSeed = seed + g;
+        boolean firstIsBlack = g % 2 == 0;
+        results.add(pool.submit(() -> this.playGame(gameSeed, firstIsBlack)));
+      }
+      for (Future<Integer> result : results) {
+        int margin = result.get();
+        differential += margin;
+        if (margin > 0) {
+          wins++;
+        } else if (margin < 0) {
+          losses++;
+        } else {
+          draws++;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while playing games", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return new BatchResult(wins, losses, draws, differential, System.nanoTime() - start);
+  }
+
+  /**
+   * Plays one game.
+   *
+   * @param seed         the seed of the random opening moves
+   * @param firstIsBlack whether the first strategy plays black
+   * @return the final disc differential for the first strategy
+   */
+  private int playGame(long seed, boolean firstIsBlack) {
+    InfallibleReversiStrategy blackStrategy = firstIsBlack ? this.first.get() : this.second.get();
+    InfallibleReversiStrategy whiteStrategy = firstIsBlack ? this.second.get() : this.first.get();
+    int margin = playGame(this.sideLen, this.isHex, this.randomPlies, seed, blackStrategy,
+            whiteStrategy);
+    return firstIsBlack ? margin : -margin;
+  }
+
+  /**
+   * Plays one game between two strategies from a random opening. Games with the same seed start
+   * from the same opening.
+   *
+   * @param sideLen     the side length of the board
+   * @param isHex       whether the board is hexagonal
+   * @param randomPlies the number of random moves that start the game
+   * @param seed        the seed of the random opening moves
+   * @param black       the strategy playing black
+   * @param white       the strategy playing white
+   * @return the final disc differential, black minus white
+   */
+  static int playGame(int sideLen, boolean isHex, int randomPlies, long seed,
+                      InfallibleReversiStrategy black, InfallibleReversiStrategy white) {
+    ReversiModel model = newGame(sideLen, isHex);
+    playRandomMoves(model, randomPlies, new Random(seed));
+    HeadlessController game = new HeadlessController(model,
+            new MachineReversiPlayer(model, black, Player.BLACK),
+            new MachineReversiPlayer(model, white, Player.WHITE));
+    return game.play();
+  }
+
+  /**
+   * Returns a started game on a board of the given size, on the fastest board representation
+   * that fits it.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @return the started game
+   */
+  public static ReversiModel newGame(int sideLen, boolean isHex) {
+    ReversiModel model = new AbstractReversi(sideLen, isHex,
+            BoardRepresentation.fastest(sideLen, isHex));
+    model.startGame();
+    return model;
+  }
+
+  /**
+   * Plays uniformly random moves, passing when there are none, until the given number of moves
+   * is played or the game ends.
+   *
+   * @param model  the game
+   * @param plies  the number of moves
+   * @param random the source of the moves
+   */
+  public static void playRandomMoves(ReversiModel model, int plies, Random random) {
+    for (int i = 0; i < plies && model.getStatus() == Status.Playing; i++) {
+      List<Point> moves = model.getLegalMoves(model.getTurn());
+      if (moves.isEmpty()) {
+        model.pass();
+      } else {
+        Point move = moves.get(random.nextInt(moves.size()));
+        model.playMove(move.x, move.y);
+      }
+    }
+  }
+
+  /**
+   * Represents the results of a batch of games for the first strategy.
+   */
+  public static final class BatchResult {
+    private final int wins;
+    private final int losses;
+    private final int draws;
+    private final long differential;
+    private final long nanos;
+
+    /**
+     * Constructs a BatchResult.
+     *
+     * @param wins         the number of games won
+     * @param losses       the number of games lost
+     * @param draws        the number of games drawn
+     * @param differential the total final disc differential
+     * @param nanos        the time taken by the batch in nanoseconds
+     */
+    public BatchResult(int wins, int losses, int draws, long differential, long nanos) {
+      this.wins = wins;
+      this.losses = losses;
+      this.draws = draws;
+      this.differential = differential;
+      this.nanos = nanos;
+    }
+
+    /**
+     * Returns the number of games won.
+     *
+     * @return the wins
+     */
+    public int getWins() {
+      return this.wins;
+    }
+
+    /**
+     * Returns the number of games lost.
+     *
+     * @return the losses
+     */
+    public int getLosses() {
+      return this.losses;
+    }
+
+    /**
+     * Returns the number of games drawn.
+     *
+     * @return the draws
+     */
+    public int getDraws() {
+      return this.draws;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the games
+     */
+    public int getGames() {
+      return this.wins + this.losses + this.draws;
+    }
+
+    /**
+     * Returns the average final disc differential per game.
+     *
+     * @return the average differential, or 0 if no games were played
+     */
+    public double getAverageDifferential() {
+      return this.getGames() == 0 ? 0 : (double) this.differential / this.getGames();
+    }
+
+    /**
+     * Returns the number of games played per second.
+     *
+     * @return the throughput of the batch
+     */
+    public double getGamesPerSecond() {
+      return this.nanos == 0 ? 0 : this.getGames() * 1e9 / this.nanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d games: %d wins, %d losses, %d draws, average differential %+.2f,"
+                      + " %.1f games/s", this.getGames(), this.wins, this.losses, this.draws,
+              this.getAverageDifferential(), this.getGamesPerSecond());
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package controller;
+
+import model.model.ReadonlyReversiModel.Status;
+import model.model.ReversiModel;
+import model.player.Player;
+import model.player.PlayerFeatures;
+import model.player.ReversiPlayer;
+
+/**
+ * Represents a controller that plays a game between two machine players without a view, for
+ * running many games in a batch. Unlike {@link NewController}, it does not listen to the model:
+ * each call to {@link #step()} asks the player to move to make one move, so the caller decides
+ * when the game goes on. Games follow the standard rules: a player with no moves passes, and the
+ * game ends after two passes in a row.
+ */
+public class HeadlessController implements PlayerFeatures {
+  private final ReversiModel model;
+  private final ReversiPlayer black;
+  private final ReversiPlayer white;
+
+  /**
+   * Constructs a HeadlessController and gives both players its features.
+   *
+   * @param model the started game
+   * @param black the machine player for black
+   * @param white the machine player for white
+   * @throws IllegalArgumentException if either player is human or plays the wrong color
+   */
+  public HeadlessController(ReversiModel model, ReversiPlayer black, ReversiPlayer white) {
+    if (black.isHuman() || white.isHuman()) {
+      throw new IllegalArgumentException("Headless games need machine players");
+    }
+    if (black.getPiece() != Player.BLACK || white.getPiece() != Player.WHITE) {
+      throw new IllegalArgumentException("Players must play black and white");
+    }
+    this.model = model;
+    this.black = black;
+    this.white = white;
+    black.addFeatures(this);
+    white.addFeatures(this);
+  }
+
+  /**
+   * Has the player to move make one move, or pass if they have none.
+   *
+   * @throws IllegalStateException if the game is over
+   */
+  public void step() {
+    if (this.isOver()) {
+      throw new IllegalStateException("Game is over");
+    }
+    if (this.model.getTurn() == Player.BLACK) {
+      this.black.makeMove();
+    } else {
+      this.white.makeMove();
+    }
+  }
+
+  /**
+   * Plays the game to the end.
+   *
+   * @return the final disc differential, black minus white
+   */
+  public int play() {
+    while (!this.isOver()) {
+      this.step();
+    }
+    return this.model.getScore(Player.BLACK) - this.model.getScore(Player.WHITE);
+  }
+
+  /**
+   * Returns whether the game is over, after both players passed in a row.
+   *
+   * @return true if the game is over
+   */
+  public boolean isOver() {
+    return this.model.getStatus() != Status.Playing;
+  }
+
+  @Override
+  public void makeMove(int row, int col) {
+    this.model.playMove(row, col);
+  }
+
+  @Override
+  public void pass() {
+    this.model.pass();
+  }
+}
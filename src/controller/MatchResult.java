@@ -0,0 +1,206 @@
+package controller;
+
+/**
+ * Represents the results of a match between two strategies, played in pairs of games from the
+ * same opening with colors swapped, from the point of view of the first strategy. Besides the
+ * tallies it gives the Elo difference the results imply, with a 95% confidence interval computed
+ * from the spread of the pair scores, and the state of the match's SPRT if it had one.
+ */
+public final class MatchResult {
+  // the number of standard errors either side of the mean in a 95% confidence interval
+  private static final double Z_95 = 1.959964;
+
+  private final String first;
+  private final String second;
+  private final int wins;
+  private final int losses;
+  private final int draws;
+  private final int pairs;
+  // the sum of the pair scores and of their squares, each pair score from 0 to 1
+  private final double pairScores;
+  private final double pairSquares;
+  private final long nanos;
+  private final double llr;
+  private final Sprt.Decision decision;
+
+  /**
+   * Constructs a MatchResult.
+   *
+   * @param first       the name of the first strategy
+   * @param second      the name of the second strategy
+   * @param wins        the games won by the first strategy
+   * @param losses      the games lost by the first strategy
+   * @param draws       the games drawn
+   * @param pairs       the pairs of games played
+   * @param pairScores  the sum of the scores of the pairs
+   * @param pairSquares the sum of the squares of the scores of the pairs
+   * @param nanos       the time taken by the match in nanoseconds
+   * @param llr         the log likelihood ratio of the match's SPRT, or NaN if it had none
+   * @param decision    the decision of the match's SPRT, or {@code CONTINUE} if it had none
+   */
+  public MatchResult(String first, String second, int wins, int losses, int draws, int pairs,
+                     double pairScores, double pairSquares, long nanos, double llr,
+                     Sprt.Decision decision) {
+    this.first = first;
+    this.second = second;
+    this.wins = wins;
+    this.losses = losses;
+    this.draws = draws;
+    this.pairs = pairs;
+    this.pairScores = pairScores;
+    this.pairSquares = pairSquares;
+    this.nanos = nanos;
+    this.llr = llr;
+    this.decision = decision;
+  }
+
+  /**
+   * Returns the name of the first strategy.
+   *
+   * @return the name
+   */
+  public String getFirst() {
+    return this.first;
+  }
+
+  /**
+   * Returns the name of the second strategy.
+   *
+   * @return the name
+   */
+  public String getSecond() {
+    return this.second;
+  }
+
+  /**
+   * Returns the games won by the first strategy.
+   *
+   * @return the wins
+   */
+  public int getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Returns the games lost by the first strategy.
+   *
+   * @return the losses
+   */
+  public int getLosses() {
+    return this.losses;
+  }
+
+  /**
+   * Returns the games drawn.
+   *
+   * @return the draws
+   */
+  public int getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the games
+   */
+  public int getGames() {
+    return this.wins + this.losses + this.draws;
+  }
+
+  /**
+   * Returns the number of pairs of games played.
+   *
+   * @return the pairs
+   */
+  public int getPairs() {
+    return this.pairs;
+  }
+
+  /**
+   * Returns the score of the first strategy: a point per win and half a point per draw, over the
+   * number of games.
+   *
+   * @return the score from 0 to 1, or 0.5 if no games were played
+   */
+  public double getScore() {
+    return this.pairs == 0 ? 0.5 : this.pairScores / this.pairs;
+  }
+
+  /**
+   * Returns the variance of the score of a pair of games.
+   *
+   * @return the variance, or 0 if no games were played
+   */
+  public double getPairVariance() {
+    if (this.pairs == 0) {
+      return 0;
+    }
+    double mean = this.getScore();
+    return Math.max(0, this.pairSquares / this.pairs - mean * mean);
+  }
+
+  /**
+   * Returns the Elo difference of the first strategy over the second that the score implies.
+   *
+   * @return the Elo difference, infinite if either strategy won every game
+   */
+  public double getElo() {
+    return Sprt.elo(this.getScore());
+  }
+
+  /**
+   * Returns half the width of the 95% confidence interval of the Elo difference.
+   *
+   * @return the error bar of the Elo difference, infinite if the interval reaches a score of 0
+   *     or 1
+   */
+  public double getEloError() {
+    if (this.pairs == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double margin = Z_95 * Math.sqrt(this.getPairVariance() / this.pairs);
+    double low = this.getScore() - margin;
+    double high = this.getScore() + margin;
+    if (low <= 0 || high >= 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return (Sprt.elo(high) - Sprt.elo(low)) / 2;
+  }
+
+  /**
+   * Returns the log likelihood ratio of the match's SPRT.
+   *
+   * @return the ratio, or NaN if the match had no SPRT
+   */
+  public double getLlr() {
+    return this.llr;
+  }
+
+  /**
+   * Returns the decision of the match's SPRT.
+   *
+   * @return the decision, {@code CONTINUE} if the match had no SPRT or ran out of games first
+   */
+  public Sprt.Decision getDecision() {
+    return this.decision;
+  }
+
+  /**
+   * Returns the number of games played per second.
+   *
+   * @return the throughput of the match
+   */
+  public double getGamesPerSecond() {
+    return this.nanos == 0 ? 0 : this.getGames() * 1e9 / this.nanos;
+  }
+
+  @Override
+  public String toString() {
+    String sprt = Double.isNaN(this.llr) ? ""
+            : String.format(", LLR %.2f (%s)", this.llr, this.decision);
+    return String.format("%s vs %s: +%d -%d =%d, Elo %+.1f +/- %.1f%s, %.1f games/s",
+            this.first, this.second, this.wins, this.losses, this.draws, this.getElo(),
+            this.getEloError(), sprt, this.getGamesPerSecond());
+  }
+}
@@ -0,0 +1,125 @@
+package controller;
+
+/**
+ * Represents a sequential probability ratio test between two hypotheses about the Elo difference
+ * of two strategies: H0, that it is {@code elo0}, and H1, that it is {@code elo1}. After each pair
+ * of games, the log likelihood ratio of the results so far is compared with bounds set by the
+ * chances of a false positive ({@code alpha}) and a false negative ({@code beta}). The test stops
+ * as soon as either bound is crossed, which usually takes far fewer games than a fixed-length
+ * match of the same accuracy.
+ *
+ * <p>The ratio uses the normal approximation of the generalized SPRT over the scores of game
+ * pairs, so it accounts for how strongly the two games of a paired opening are correlated.
+ */
+public final class Sprt {
+  /**
+   * The outcomes of a test.
+   */
+  public enum Decision {
+    // the results are not yet clear either way
+    CONTINUE,
+    // the Elo difference is elo0 or less
+    ACCEPT_H0,
+    // the Elo difference is elo1 or more
+    ACCEPT_H1
+  }
+
+  // the least variance of a pair score, so a few identical results do not end the test at once
+  private static final double MIN_VARIANCE = 0.01;
+
+  private final double elo0;
+  private final double elo1;
+  private final double lowerBound;
+  private final double upperBound;
+
+  /**
+   * Constructs a Sprt.
+   *
+   * @param elo0  the Elo difference of H0
+   * @param elo1  the Elo difference of H1, greater than elo0
+   * @param alpha the chance of accepting H1 when H0 holds
+   * @param beta  the chance of accepting H0 when H1 holds
+   * @throws IllegalArgumentException if elo1 is not greater than elo0 or a chance is not strictly
+   *                                  between 0 and 1
+   */
+  public Sprt(double elo0, double elo1, double alpha, double beta) {
+    if (elo1 <= elo0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+      throw new IllegalArgumentException("Invalid SPRT parameters");
+    }
+    this.elo0 = elo0;
+    this.elo1 = elo1;
+    this.lowerBound = Math.log(beta / (1 - alpha));
+    this.upperBound = Math.log((1 - beta) / alpha);
+  }
+
+  /**
+   * Returns the log likelihood ratio of H1 over H0 given the scores of some game pairs.
+   *
+   * @param pairs    the number of pairs
+   * @param mean     the mean score of a pair, from 0 to 1
+   * @param variance the variance of the score of a pair
+   * @return the log likelihood ratio, or 0 for fewer than two pairs
+   */
+  public double llr(int pairs, double mean, double variance) {
+    if (pairs < 2) {
+      return 0;
+    }
+    double score0 = expectedScore(this.elo0);
+    double score1 = expectedScore(this.elo1);
+    return pairs * (score1 - score0) * (2 * mean - score0 - score1)
+            / (2 * Math.max(variance, MIN_VARIANCE));
+  }
+
+  /**
+   * Returns the decision for a log likelihood ratio.
+   *
+   * @param llr the log likelihood ratio of H1 over H0
+   * @return the decision
+   */
+  public Decision decide(double llr) {
+    if (llr >= this.upperBound) {
+      return Decision.ACCEPT_H1;
+    } else if (llr <= this.lowerBound) {
+      return Decision.ACCEPT_H0;
+    }
+    return Decision.CONTINUE;
+  }
+
+  /**
+   * Returns the bound below which H0 is accepted.
+   *
+   * @return the lower bound of the log likelihood ratio
+   */
+  public double getLowerBound() {
+    return this.lowerBound;
+  }
+
+  /**
+   * Returns the bound above which H1 is accepted.
+   *
+   * @return the upper bound of the log likelihood ratio
+   */
+  public double getUpperBound() {
+    return this.upperBound;
+  }
+
+  /**
+   * Returns the expected score of a player with the given Elo advantage.
+   *
+   * @param elo the Elo difference
+   * @return the expected score, from 0 to 1
+   */
+  public static double expectedScore(double elo) {
+    return 1 / (1 + Math.pow(10, -elo / 400));
+  }
+
+  /**
+   * Returns the Elo difference that gives the given expected score.
+   *
+   * @param score the expected score, from 0 to 1
+   * @return the Elo difference, infinite for a score of 0 or 1
+   */
+  public static double elo(double score) {
+    return -400 * Math.log10(1 / score - 1);
+  }
+}
@@ -0,0 +1,187 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import strategy.InfallibleReversiStrategy;
+
+/**
+ * Represents a tournament between named strategy configurations. Strategies meet in matches of
+ * paired games: each pair starts twice from the same random opening, once with each strategy
+ * playing black, so neither gains from a lucky opening or from the first move. The pairs of a
+ * match are played in parallel on a pool of threads, and pair {@code p} of every match starts
+ * from the same opening, so matches against a common opponent are comparable.
+ *
+ * <p>A match can be given an {@link Sprt}, which ends it as soon as the results show which
+ * hypothesis about the Elo difference holds. Results are counted in the order the pairs were
+ * started, so a match with the same seed reaches the same result on any number of threads.
+ */
+public class Tournament {
+  private final int sideLen;
+  private final boolean isHex;
+  private final int randomPlies;
+  private final int threads;
+  private final Map<String, Supplier<InfallibleReversiStrategy>> entrants;
+
+  /**
+   * Constructs a Tournament with no entrants.
+   *
+   * @param sideLen     the side length of the board
+   * @param isHex       whether the board is hexagonal
+   * @param randomPlies the number of random moves of each opening
+   * @param threads     the number of games played at once
+   * @throws IllegalArgumentException if the number of random moves is negative or the number of
+   *                                  threads is not positive
+   */
+  public Tournament(int sideLen, boolean isHex, int randomPlies, int threads) {
+    if (randomPlies < 0 || threads < 1) {
+      throw new IllegalArgumentException("Invalid number of random moves or threads");
+    }
+    this.sideLen = sideLen;
+    this.isHex = isHex;
+    this.randomPlies = randomPlies;
+    this.threads = threads;
+    this.entrants = new LinkedHashMap<>();
+  }
+
+  /**
+   * Adds a strategy configuration to the tournament. The supplier is called for every game, since
+   * strategies need not be thread safe.
+   *
+   * @param name     the name of the configuration
+   * @param strategy makes the configured strategy
+   * @throws IllegalArgumentException if the name is taken
+   */
+  public void addEntrant(String name, Supplier<InfallibleReversiStrategy> strategy) {
+    if (this.entrants.containsKey(name)) {
+      throw new IllegalArgumentException("Duplicate entrant " + name);
+    }
+    this.entrants.put(name, strategy);
+  }
+
+  /**
+   * Returns the names of the entrants, in the order they were added.
+   *
+   * @return the names
+   */
+  public List<String> getEntrants() {
+    return new ArrayList<>(this.entrants.keySet());
+  }
+
+  /**
+   * Plays a match of every entrant against every entrant added after it.
+   *
+   * @param pairs the number of pairs of games in each match
+   * @param seed  the seed of the openings
+   * @return the result of each match, for the entrant added first
+   * @throws IllegalStateException if a game fails
+   */
+  public List<MatchResult> roundRobin(int pairs, long seed) {
+    List<String> names = this.getEntrants();
+    List<MatchResult> results = new ArrayList<>();
+    for (int i = 0; i < names.size(); i++) {
+      for (int j = i + 1; j < names.size(); j++) {
+        results.add(this.match(names.get(i), names.get(j), pairs, seed, null));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Plays a match between two entrants.
+   *
+   * @param first    the name of the entrant whose results are reported
+   * @param second   the name of its opponent
+   * @param maxPairs the most pairs of games to play
+   * @param seed     the seed of the openings
+   * @param sprt     the test that may end the match early, or null to play every pair
+   * @return the result of the match for the first entrant
+   * @throws IllegalArgumentException if either name is not an entrant
+   * @throws IllegalStateException    if a game fails
+   */
+  public MatchResult match(String first, String second, int maxPairs, long seed, Sprt sprt) {
+    Supplier<InfallibleReversiStrategy> firstStrategy = this.entrants.get(first);
+    Supplier<InfallibleReversiStrategy> secondStrategy = this.entrants.get(second);
+    if (firstStrategy == null || secondStrategy == null) {
+      throw new IllegalArgumentException("Unknown entrant");
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+    long start = System.nanoTime();
+    int wins = 0;
+    int losses = 0;
+    int draws = 0;
+    int pairs = 0;
+    double pairScores = 0;
+    double pairSquares = 0;
+    double llr = sprt == null ? Double.NaN : 0;
+    Sprt.Decision decision = Sprt.Decision.CONTINUE;
+    List<Future<int[]>> results = new ArrayList<>();
+    try {
+      for (int p = 0; p < maxPairs; p++) {
+        long pairSeed = seed + p;
+        results.add(pool.submit(() -> this.playPair(firstStrategy, secondStrategy, pairSeed)));
+      }
+      for (Future<int[]> result : results) {
+        double pairScore = 0;
+        for (int margin : result.get()) {
+          if (margin > 0) {
+            wins++;
+            pairScore += 0.5;
+          } else if (margin < 0) {
+            losses++;
+          } else {
+            draws++;
+            pairScore += 0.25;
+          }
+        }
+        pairs++;
+        pairScores += pairScore;
+        pairSquares += pairScore * pairScore;
+        if (sprt != null) {
+          double mean = pairScores / pairs;
+          llr = sprt.llr(pairs, mean, pairSquares / pairs - mean * mean);
+          decision = sprt.decide(llr);
+          if (decision != Sprt.Decision.CONTINUE) {
+            break;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while playing games", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed", e.getCause());
+    } finally {
+      for (Future<int[]> result : results) {
+        result.cancel(true);
+      }
+      pool.shutdownNow();
+    }
+    return new MatchResult(first, second, wins, losses, draws, pairs, pairScores, pairSquares,
+            System.nanoTime() - start, llr, decision);
+  }
+
+  /**
+   * Plays a pair of games from one opening, with each strategy playing black once.
+   *
+   * @param first  makes the strategy whose results are returned
+   * @param second makes its opponent
+   * @param seed   the seed of the opening
+   * @return the final disc differential for the first strategy in each game
+   */
+  private int[] playPair(Supplier<InfallibleReversiStrategy> first,
+                         Supplier<InfallibleReversiStrategy> second, long seed) {
+    int asBlack = BatchRunner.playGame(this.sideLen, this.isHex, this.randomPlies, seed,
+            first.get(), second.get());
+    int asWhite = -BatchRunner.playGame(this.sideLen, this.isHex, this.randomPlies, seed,
+            second.get(), first.get());
+    return new int[] {asBlack, asWhite};
+  }
+}
@@ -1,6 +1,9 @@
 package model.model;
 
+import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import model.player.Player;
@@ -9,10 +12,12 @@ import model.player.Player;
  * Represents an abstract model of the game of Reversi. It represents a game of Reversi,
  * played both on a hex or a square board.
  */
-public class AbstractReversi implements ReversiModel {
+public class AbstractReversi implements ReversiModel, SearchableReversiModel {
 
   // represents the board used in the game of Reversi
   protected Board board;
+  // the board again if it applies the rules itself, null if the model walks its tiles
+  protected PackedBoard packed;
   protected int dim;
   protected int sideLength;
   // the current player's turn
@@ -26,6 +31,40 @@ public class AbstractReversi implements ReversiModel {
   protected boolean isHex;
   // the listeners of this model
   protected List<ModelFeatures> listeners;
+  // true for each index r * dim + q that is a cell of the board, filled in by startGame
+  protected boolean[] cells;
+  // the cells where each player could place a disc if it were their turn, indexed r * dim + q.
+  // kept up to date by makeMove, so that finding moves does not rescan the board
+  protected BitSet blackMoves;
+  protected BitSet whiteMoves;
+  // the number of discs flipped in each direction by the last call to makeMove
+  protected int[] flips;
+  // running counts of the cells in each state, so that scoring does not scan the board
+  protected int blackCount;
+  protected int whiteCount;
+  protected int emptyCount;
+  // the Zobrist key of the current position, including the player to move
+  protected long positionKey;
+  protected Zobrist zobrist;
+  // the undo records of moves made with doMove and doPass, most recent last: the index
+  // r * dim + q of each move (-1 for a pass) and the number of discs it flipped in each
+  // direction, one byte per direction. allocated on the first doMove or doPass
+  protected int[] undoMoves;
+  protected long[] undoFlips;
+  protected int undoSize;
+  // told about every cell that changes, for searches that follow the board incrementally
+  protected CellListener cellListener;
+  // a copy-on-write copy of the cells that snapshots share, made by startGame, or by the first
+  // snapshot of a copy, and kept up to date by every move from then on
+  private PersistentCells history;
+  // held while a move changes a game that keeps a history and while a snapshot reads the game, so
+  // that a snapshot taken on another thread sees the position between two moves
+  private final Object lock = new Object();
+  // the cells along every ray out of every cell, shared by every game on the same board
+  private final RayTable rays;
+  // the tiles of the board by index, so that rays are walked without looking tiles up; null if
+  // the board is packed
+  private Tile[] tiles;
 
   /**
    * Constructs a Reversi game with the specified side length and board type.
@@ -33,6 +72,18 @@ public class AbstractReversi implements ReversiModel {
    * @param isHex true if the board is hexagonal, false if the board is square
    */
   public AbstractReversi(int sideLength, boolean isHex) {
+    this(sideLength, isHex, BoardRepresentation.TILES);
+  }
+
+  /**
+   * Constructs a Reversi game with the specified side length, board type and representation.
+   * @param sideLength the side length of the board
+   * @param isHex true if the board is hexagonal, false if the board is square
+   * @param representation how the board stores its discs
+   * @throws IllegalArgumentException if the side length is invalid, or if the representation
+   *     does not support a board of this size
+   */
+  public AbstractReversi(int sideLength, boolean isHex, BoardRepresentation representation) {
     if (isHex) {
       if (sideLength < 3) {
         throw new IllegalArgumentException("Invalid side length. "
@@ -40,7 +91,15 @@ public class AbstractReversi implements ReversiModel {
       }
       this.sideLength = sideLength;
       this.dim = sideLength * 2 - 1;
-      this.board = new HexBoard(this.dim);
+      if (representation == BoardRepresentation.BITSET) {
+        this.packed = new HexBitBoard(this.dim);
+        this.board = this.packed;
+      } else if (representation == BoardRepresentation.ARRAY) {
+        this.packed = new ArrayBoard(this.dim, true);
+        this.board = this.packed;
+      } else {
+        this.board = new HexBoard(this.dim);
+      }
     } else {
       if (sideLength <= 2 || sideLength % 2 != 0) {
         throw new IllegalArgumentException("Invalid side length. "
@@ -48,13 +107,64 @@ public class AbstractReversi implements ReversiModel {
       }
       this.sideLength = sideLength;
       this.dim = sideLength;
-      this.board = new SquareBoard(sideLength);
+      if (representation == BoardRepresentation.BITSET) {
+        this.packed = new SquareBitBoard(sideLength);
+        this.board = this.packed;
+      } else if (representation == BoardRepresentation.ARRAY) {
+        this.packed = new ArrayBoard(this.dim, false);
+        this.board = this.packed;
+      } else {
+        this.board = new SquareBoard(sideLength);
+      }
     }
     this.isHex = isHex;
     this.turn = null;
     this.status = null;
     this.numConsecPass = 0;
     this.listeners = new ArrayList<>();
+    this.cells = new boolean[this.dim * this.dim];
+    this.blackMoves = new BitSet(this.dim * this.dim);
+    this.whiteMoves = new BitSet(this.dim * this.dim);
+    this.flips = new int[determineDirection().length];
+    this.zobrist = Zobrist.forDim(this.dim);
+    this.rays = RayTable.forBoard(this.dim, isHex);
+  }
+
+  /**
+   * Constructs a copy of the current position of the given game, with no listeners, so that the
+   * copy can be searched without affecting the original game. The copy uses bitsets whenever
+   * they support the size of the board, and a byte array otherwise.
+   * @param model the game to copy
+   * @throws IllegalStateException if the given game has not started
+   */
+  public AbstractReversi(ReadonlyReversiModel model) {
+    this(model, BoardRepresentation.fastest(model.getSideLen(), model.isHex()));
+  }
+
+  /**
+   * Constructs a copy of the current position of the given game, with no listeners, so that the
+   * copy can be searched without affecting the original game.
+   * @param model the game to copy
+   * @param representation how the copy's board stores its discs
+   * @throws IllegalStateException if the given game has not started
+   */
+  public AbstractReversi(ReadonlyReversiModel model, BoardRepresentation representation) {
+    this(model.getSideLen(), model.isHex(), representation);
+    if (model.getStatus() == null) {
+      throw new IllegalStateException("Game has not started");
+    }
+    this.board.addStartingCells(dim, sideLength);
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = model.getTileAt(q, r);
+        if (tile != null) {
+          this.board.getTileAt(q, r).changePlayer(tile.getPlayerAt());
+        }
+      }
+    }
+    this.status = model.getStatus();
+    this.turn = model.getTurn();
+    indexPosition();
   }
 
   @Override
@@ -66,9 +176,41 @@ public class AbstractReversi implements ReversiModel {
     this.board.addStartingCells(dim, sideLength);
     this.status = Status.Playing;
     this.turn = Player.BLACK;
+    indexPosition();
+    startHistory();
     notifyPlayerTurn(this.turn);
   }
 
+  /**
+   * Computes the cells, disc counts, Zobrist key and legal moves of the position on the board
+   * from scratch. Moves keep them up to date from here on.
+   */
+  private void indexPosition() {
+    this.blackCount = 0;
+    this.whiteCount = 0;
+    this.emptyCount = 0;
+    this.positionKey = this.turn == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0;
+    if (this.packed == null) {
+      this.tiles = new Tile[this.dim * this.dim];
+    }
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = this.board.getTileAt(q, r);
+        this.cells[r * this.dim + q] = tile != null;
+        if (this.tiles != null) {
+          this.tiles[r * this.dim + q] = tile;
+        }
+        if (tile != null) {
+          countTile(tile.getPlayerAt(), 1);
+          this.positionKey ^= this.zobrist.key(r * this.dim + q, tile.getPlayerAt());
+        }
+      }
+    }
+    for (int index = 0; index < this.dim * this.dim; index++) {
+      refreshMoves(index);
+    }
+  }
+
   // enforces INVARIANT 1 since this method only assigns numConsecPass to 0
   @Override
   public void playMove(int q, int r) {
@@ -102,15 +244,18 @@ public class AbstractReversi implements ReversiModel {
       throw new IllegalStateException("Game is over");
     }
 
-    this.numConsecPass++;
+    synchronized (this.lock) {
+      this.numConsecPass++;
 
-    // if the number of consecutive passes is 2, the game is over
-    if (this.numConsecPass == 2) {
-      this.status = Status.Over;
-      return;
-    }
+      // if the number of consecutive passes is 2, the game is over
+      if (this.numConsecPass == 2) {
+        this.status = Status.Over;
+        return;
+      }
 
-    turn = this.nextTurn();
+      turn = this.nextTurn();
+      this.positionKey ^= Zobrist.WHITE_TO_MOVE;
+    }
     notifyPlayerTurn(this.turn);
   }
 
@@ -120,7 +265,9 @@ public class AbstractReversi implements ReversiModel {
             || this.numConsecPass == 2
             || this.getScore(Player.BLACK) == 0
             || this.getScore(Player.WHITE) == 0) {
-      this.status = Status.Over;
+      synchronized (this.lock) {
+        this.status = Status.Over;
+      }
 
       return true;
     }
@@ -167,19 +314,19 @@ public class AbstractReversi implements ReversiModel {
 
   @Override
   public int getScore(Player player) {
-    int count = 0;
-    for (int r = 0; r < this.dim; r++) {
-      for (int q = 0; q < this.dim; q++) {
-
-        if (this.getTileAt(q, r) == null) {
-          continue;
-        }
-        if (this.board.getTileAt(q, r).getPlayerAt() == player) {
-          count++;
-        }
-      }
+    switch (player) {
+      case BLACK:
+        return this.blackCount;
+      case WHITE:
+        return this.whiteCount;
+      default:
+        return this.emptyCount;
     }
-    return count;
+  }
+
+  @Override
+  public long getPositionKey() {
+    return this.positionKey;
   }
 
   @Override
@@ -220,6 +367,9 @@ public class AbstractReversi implements ReversiModel {
 
   @Override
   public Board copyBoard() {
+    if (this.packed != null) {
+      return this.packed.copy();
+    }
     Board newBoard;
     if (this.isHex) {
       newBoard = new HexBoard(this.dim);
@@ -239,71 +389,227 @@ public class AbstractReversi implements ReversiModel {
     return newBoard;
   }
 
+  /**
+   * Returns an immutable copy of the current state of the game. A game started with startGame
+   * keeps its cells in an array that every move updates copy-on-write, so a snapshot takes
+   * constant time and each one keeps alive only the chunks of cells that the game has changed
+   * since it was taken. Moves and snapshots hold the game's lock, so snapshots of a started game
+   * may be taken on any thread. A copy made with the copy constructor, as searches make, only
+   * makes the array on its first snapshot, so that searching does not pay for it; snapshots of a
+   * copy must be taken on the thread that plays its moves.
+   *
+   * @return a snapshot of the game
+   * @throws IllegalStateException if the game has not started
+   */
   @Override
-  public boolean isValidMove(int q, int r, Player player) {
-    // if the tile is not empty, the move is not valid
-    if (getTileAt(q, r).getPlayerAt() != Player.EMPTY) {
-      return false;
+  public ReversiSnapshot snapshot() {
+    synchronized (this.lock) {
+      if (this.status == null) {
+        throw new IllegalStateException("Game has not started");
+      }
+      if (this.history == null) {
+        startHistory();
+      }
+      return new ReversiSnapshot(this.sideLength, this.isHex, this.status, this.turn,
+              this.blackCount, this.whiteCount, this.emptyCount, this.positionKey,
+              new SnapshotBoard(this.dim, this.isHex, this.history.freeze()));
     }
-    boolean result = false;
-
-    // use the appropriate directions depending on the game type
-    int[][] directions = determineDirection();
-    // check all directions
-    for (int[] direction : directions) {
-      // get the tiles in the direction
-      List<Tile> tiles = getTilesInDirection(q, r, direction);
-      // if the direction is valid, the move is valid
-      if (isValidDirection(tiles, player)) {
-        result = true;
+  }
+
+  /**
+   * Copies the cells of the board into the copy-on-write array that snapshots share.
+   */
+  private void startHistory() {
+    this.history = new PersistentCells(this.dim * this.dim);
+    for (int index = 0; index < this.dim * this.dim; index++) {
+      if (this.cells[index]) {
+        this.history.set(index, playerAt(index));
       }
     }
+  }
 
-    return result;
+  @Override
+  public boolean isValidMove(int q, int r, Player player) {
+    if (this.packed != null) {
+      if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
+        throw new IllegalArgumentException("Invalid coordinates");
+      }
+    } else if (getTileAt(q, r).getPlayerAt() != Player.EMPTY) {
+      // if the tile is not empty, the move is not valid
+      return false;
+    }
+    // moves are only ever valid for the player whose turn it is
+    return player == this.turn && movesFor(player).get(r * this.dim + q);
+  }
+
+  @Override
+  public List<Point> getLegalMoves(Player player) {
+    List<Point> moves = new ArrayList<>();
+    // moves are only ever valid for the player whose turn it is
+    if (player != this.turn) {
+      return moves;
+    }
+    BitSet legal = movesFor(player);
+    for (int i = legal.nextSetBit(0); i >= 0; i = legal.nextSetBit(i + 1)) {
+      moves.add(new Point(i % this.dim, i / this.dim));
+    }
+    return moves;
   }
 
   @Override
   public int moveScore(int q, int r) {
-    List<Tile> flippedTiles = new ArrayList<>();
-    for (int[] direction : this.getValidDirections(q, r, this.turn)) {
-      List<Tile> tiles = getTilesInDirection(q, r, direction);
-      if (isValidDirection(tiles, this.turn)) {
-        for (Tile t : tiles) {
-          if (t.getPlayerAt() == Player.EMPTY) {
-            continue; // skip empty tiles
-          } else if (t.getPlayerAt() == this.turn) {
-            break; // stop when we reach a tile of the current player
-          } else {
-            flippedTiles.add(t);
-          }
-        }
-      }
+    if (this.packed != null) {
+      int flipped = this.packed.countFlips(q, r, this.turn);
+      return flipped == 0 ? 0 : flipped + 1;
+    }
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
+      return 0;
+    }
+    int flipped = 0;
+    for (int d = 0; d < this.flips.length; d++) {
+      flipped += flipsInDirection(r * this.dim + q, d, this.turn);
     }
 
-    if (flippedTiles.isEmpty()) {
+    if (flipped == 0) {
       return 0;
     } else {
-      return flippedTiles.size() + 1;
+      return flipped + 1;
     }
   }
 
   @Override
   public boolean hasValidMoves(Player player) {
-    // check all Tiles
-    for (int r = 0; r < this.dim; r++) {
-      for (int q = 0; q < this.dim; q++) {
-        Tile tile = getTileAt(q, r);
-        // if the tile is empty, check if it is a valid move
-        if (tile != null && tile.getPlayerAt() == Player.EMPTY) {
-          List<int[]> directions = getValidDirections(q, r, player);
-          if (!directions.isEmpty()) {
-            return true;
-          }
+    return player == this.turn && !movesFor(player).isEmpty();
+  }
+
+  @Override
+  public void doMove(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    if (!movesFor(this.turn).get(r * this.dim + q)) {
+      throw new IllegalStateException("Invalid move");
+    }
+    makeMove(q, r);
+    long record = 0;
+    for (int d = 0; d < this.flips.length; d++) {
+      record |= (long) this.flips[d] << (8 * d);
+    }
+    pushUndo(r * this.dim + q, record);
+  }
+
+  @Override
+  public void doPass() {
+    synchronized (this.lock) {
+      this.turn = this.nextTurn();
+      this.positionKey ^= Zobrist.WHITE_TO_MOVE;
+    }
+    pushUndo(-1, 0);
+  }
+
+  @Override
+  public void undoMove() {
+    if (this.history == null) {
+      takeBackMove();
+    } else {
+      synchronized (this.lock) {
+        takeBackMove();
+      }
+    }
+  }
+
+  /**
+   * Takes back the last move or pass made with doMove or doPass.
+   *
+   * @throws IllegalStateException if there is no move to take back
+   */
+  private void takeBackMove() {
+    if (this.undoSize == 0) {
+      throw new IllegalStateException("No move to undo");
+    }
+    this.undoSize--;
+    int index = this.undoMoves[this.undoSize];
+    long record = this.undoFlips[this.undoSize];
+    this.turn = this.nextTurn();
+    this.positionKey ^= Zobrist.WHITE_TO_MOVE;
+    if (index < 0) {
+      return;
+    }
+
+    Player opponent = this.nextTurn();
+    int[] ray = this.rays.rays;
+    int flipped = 0;
+    // give the flipped discs back to the opponent, and empty the played cell
+    for (int d = 0; d < this.flips.length; d++) {
+      int count = (int) (record >>> (8 * d)) & 0xFF;
+      int start = this.rays.start(index, d);
+      for (int i = start; i < start + count; i++) {
+        setPlayerAt(ray[i], opponent);
+        this.positionKey ^= this.zobrist.flip(ray[i]);
+        if (this.cellListener != null) {
+          this.cellListener.cellChanged(ray[i], this.turn, opponent);
+        }
+        if (this.history != null) {
+          this.history.set(ray[i], opponent);
         }
       }
+      flipped += count;
+    }
+    setPlayerAt(index, Player.EMPTY);
+    this.positionKey ^= this.zobrist.key(index, this.turn);
+    if (this.cellListener != null) {
+      this.cellListener.cellChanged(index, this.turn, Player.EMPTY);
+    }
+    if (this.history != null) {
+      this.history.set(index, Player.EMPTY);
+    }
+    countTile(Player.EMPTY, 1);
+    countTile(this.turn, -flipped - 1);
+    countTile(opponent, flipped);
+
+    refreshMovesAround(index);
+    for (int d = 0; d < this.flips.length; d++) {
+      int count = (int) (record >>> (8 * d)) & 0xFF;
+      int start = this.rays.start(index, d);
+      for (int i = start; i < start + count; i++) {
+        refreshMovesAround(ray[i]);
+      }
     }
+  }
 
-    return false;
+  @Override
+  public int fillLegalMoves(int[] moves) {
+    BitSet legal = movesFor(this.turn);
+    int count = 0;
+    for (int i = legal.nextSetBit(0); i >= 0; i = legal.nextSetBit(i + 1)) {
+      moves[count++] = i;
+    }
+    return count;
+  }
+
+  @Override
+  public void setCellListener(CellListener listener) {
+    this.cellListener = listener;
+  }
+
+  /**
+   * Records how to undo a move or pass, growing the undo stack if it is full.
+   *
+   * @param index  the index r * dim + q of the move, or -1 for a pass
+   * @param record the number of discs flipped in each direction, one byte per direction
+   */
+  private void pushUndo(int index, long record) {
+    if (this.undoMoves == null) {
+      // every move fills a cell, and a search passes at most once between moves
+      this.undoMoves = new int[2 * this.dim * this.dim + 2];
+      this.undoFlips = new long[this.undoMoves.length];
+    } else if (this.undoSize == this.undoMoves.length) {
+      this.undoMoves = Arrays.copyOf(this.undoMoves, this.undoSize * 2);
+      this.undoFlips = Arrays.copyOf(this.undoFlips, this.undoSize * 2);
+    }
+    this.undoMoves[this.undoSize] = index;
+    this.undoFlips[this.undoSize] = record;
+    this.undoSize++;
   }
 
   /**
@@ -313,144 +619,212 @@ public class AbstractReversi implements ReversiModel {
    * @param r the y coordinate
    */
   protected void makeMove(int q, int r) {
-    Tile tile = getTileAt(q, r);
-    tile.changePlayer(this.turn);
-
-    List<Tile> flippedTiles = new ArrayList<>();
-
-    int[][] directions = determineDirection();
-
-    for (int[] direction : directions) {
-
-      List<Tile> tiles = getTilesInDirection(q, r, direction);
-      // after tiles are collected, trim the list such that it starts and ends
-      // with the current player's tiles
-      if (isValidDirection(tiles, this.turn)) {
-        for (Tile t : tiles) {
-          if (t.getPlayerAt() == Player.EMPTY) {
-            break; // skip empty tiles
-          } else if (t.getPlayerAt() == this.turn) {
-            break; // stop when we reach a tile of the current player
-          } else {
-            flippedTiles.add(t);
-          }
+    if (this.history == null) {
+      placeDisc(q, r);
+    } else {
+      synchronized (this.lock) {
+        placeDisc(q, r);
+      }
+    }
+  }
+
+  /**
+   * Places a disc at the specified coordinates for the current player and flips every captured
+   * disc, keeping the counts, key, legal moves and history of the game up to date.
+   *
+   * @param q the x coordinate
+   * @param r the y coordinate
+   */
+  private void placeDisc(int q, int r) {
+    int index = r * this.dim + q;
+    int[] ray = this.rays.rays;
+    int flipped = 0;
+    if (this.packed != null) {
+      flipped = this.packed.applyMove(q, r, this.turn, this.flips);
+    } else {
+      this.tiles[index].changePlayer(this.turn);
+      for (int d = 0; d < this.flips.length; d++) {
+        // flip the line in this direction, if it is closed off by the current player
+        this.flips[d] = flipsInDirection(index, d, this.turn);
+        int start = this.rays.start(index, d);
+        for (int i = start; i < start + this.flips[d]; i++) {
+          this.tiles[ray[i]].changePlayer(this.turn);
         }
+        flipped += this.flips[d];
       }
     }
+    countTile(Player.EMPTY, -1);
+    countTile(this.turn, flipped + 1);
+    countTile(this.nextTurn(), -flipped);
+    this.positionKey ^= this.zobrist.key(index, this.turn);
+    if (this.cellListener != null) {
+      this.cellListener.cellChanged(index, Player.EMPTY, this.turn);
+    }
+    if (this.history != null) {
+      this.history.set(index, this.turn);
+    }
 
-    // flip the tiles
-    for (Tile t : flippedTiles) {
-      t.changePlayer(this.turn);
+    // only moves on the rays through a changed tile can have changed
+    refreshMovesAround(index);
+    for (int d = 0; d < this.flips.length; d++) {
+      int start = this.rays.start(index, d);
+      for (int i = start; i < start + this.flips[d]; i++) {
+        this.positionKey ^= this.zobrist.flip(ray[i]);
+        if (this.cellListener != null) {
+          this.cellListener.cellChanged(ray[i], this.nextTurn(), this.turn);
+        }
+        if (this.history != null) {
+          this.history.set(ray[i], this.turn);
+        }
+        refreshMovesAround(ray[i]);
+      }
     }
     // change the turn
     turn = this.nextTurn();
+    this.positionKey ^= Zobrist.WHITE_TO_MOVE;
   }
 
   /**
-   * Returns a list of tiles in the specified direction from the given tile.
-   * The list includes the tile at the given position, at index[0].
+   * Updates the legal moves of both players at the given coordinates, and at the first empty
+   * tile along every ray out of them. A tile's legality only depends on the unbroken lines of
+   * discs next to it, so these are the only moves that a change at the given coordinates can
+   * affect.
    *
-   * @param q         the x coordinate of the starting hex
-   * @param r         the y coordinate of the starting hex
-   * @param direction the direction vector
-   * @return list of tiles in the specified direction
+   * @param index the index r * dim + q of the changed tile
    */
-  protected List<Tile> getTilesInDirection(int q, int r, int[] direction) {
-    List<Tile> tiles = new ArrayList<>();
-    // validate coordinates
-    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
-      return tiles;
-    }
-    // add the starting tile to the list
-    tiles.add(getTileAt(q, r));
-
-    // get the appropriate direction vector
-    int dq = direction[0];
-    int dr = direction[1];
-    while (true) {
-      // move in the direction vector
-      q += dq;
-      r += dr;
-      // ensure the coordinates are valid
-      if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
-        break;
-      }
-      // add the tile to the list
-      Tile tile = getTileAt(q, r);
-      if (tile == null) {
-        break;
+  protected void refreshMovesAround(int index) {
+    refreshMoves(index);
+    int[] ray = this.rays.rays;
+    for (int d = 0; d < this.flips.length; d++) {
+      int end = this.rays.end(index, d);
+      for (int i = this.rays.start(index, d); i < end; i++) {
+        if (playerAt(ray[i]) == Player.EMPTY) {
+          refreshMoves(ray[i]);
+          break;
+        }
       }
-      tiles.add(tile);
     }
+  }
 
-    return tiles;
+  /**
+   * Recomputes whether each player could place a disc at the given cell.
+   *
+   * @param index the index r * dim + q of the cell
+   */
+  protected void refreshMoves(int index) {
+    if (!this.cells[index] || playerAt(index) != Player.EMPTY) {
+      this.blackMoves.clear(index);
+      this.whiteMoves.clear(index);
+      return;
+    }
+    this.blackMoves.set(index, isLegalFor(index, Player.BLACK));
+    this.whiteMoves.set(index, isLegalFor(index, Player.WHITE));
   }
 
   /**
-   * Returns true if the specified direction contains a valid move for the current player.
-   * A valid move is a move that is adjacent (in at least one direction)
-   * to a straight line of the opponent player's disks,
-   * at the far end of which is another player's disk.
+   * Returns true if the given player could place a disc at the given empty cell, regardless of
+   * whose turn it is.
    *
-   * @param tiles  the list of tiles in the direction
+   * @param index  the index r * dim + q of the cell
    * @param player the player making the move
-   * @return true if the direction is valid, false otherwise
+   * @return true if the move would capture in at least one direction
    */
-  protected boolean isValidDirection(List<Tile> tiles, Player player) {
-    if (tiles.size() < 3) {
-      return false;
+  private boolean isLegalFor(int index, Player player) {
+    if (this.packed != null) {
+      return this.packed.isLegalMove(index % this.dim, index / this.dim, player);
     }
-
-    Player otherPlayer = this.nextTurn();
-    boolean foundOtherPlayer = false;
-    boolean foundCurrPlayer = false;
-    // ignore the first tile, since it is the starting tile.
-    // we only care about the tiles after it.
-    tiles.remove(0);
-    for (Tile tile : tiles) {
-      // if the tile is empty, the tiles are not consecutive, the move is not valid
-      if (tile.getPlayerAt() == Player.EMPTY) {
-        return false;
-      }
-      // if the tile is the other player's, we have found the other player
-      else if (tile.getPlayerAt() == otherPlayer) {
-        foundOtherPlayer = true;
+    for (int d = 0; d < this.flips.length; d++) {
+      if (flipsInDirection(index, d, player) > 0) {
+        return true;
       }
-      // if the tile is the current player's, we have found the current player
-      else if (tile.getPlayerAt() == player) {
-        foundCurrPlayer = true;
+    }
+    return false;
+  }
+
+  /**
+   * Sets the player at the given cell of the board.
+   *
+   * @param index  the index r * dim + q of the cell
+   * @param player the player to place, or {@code Player.EMPTY} to clear the cell
+   */
+  private void setPlayerAt(int index, Player player) {
+    if (this.packed != null) {
+      this.packed.setPlayerAt(index % this.dim, index / this.dim, player);
+    } else {
+      this.tiles[index].changePlayer(player);
+    }
+  }
+
+  /**
+   * Returns the player at the given cell of the board.
+   *
+   * @param index the index r * dim + q of the cell
+   * @return the player at the given cell
+   */
+  private Player playerAt(int index) {
+    if (this.packed != null) {
+      return this.packed.getPlayerAt(index % this.dim, index / this.dim);
+    }
+    return this.tiles[index].getPlayerAt();
+  }
+
+  /**
+   * Adds the given amount to the running count of cells in the given state.
+   *
+   * @param player the state of the cells
+   * @param amount the amount to add, negative to remove cells
+   */
+  private void countTile(Player player, int amount) {
+    switch (player) {
+      case BLACK:
+        this.blackCount += amount;
+        break;
+      case WHITE:
+        this.whiteCount += amount;
+        break;
+      default:
+        this.emptyCount += amount;
         break;
-      } else {
-        foundOtherPlayer = false;
-      }
     }
-    // only return true if we have found both the other player and the current player
-    return (foundOtherPlayer && foundCurrPlayer);
   }
 
   /**
-   * Returns a list of valid directions for the current player at the specified coordinates.
+   * Returns the set of cells where the given player could place a disc.
+   *
+   * @param player the player
+   * @return the set of legal moves for the given player, indexed r * dim + q
+   */
+  private BitSet movesFor(Player player) {
+    return player == Player.BLACK ? this.blackMoves : this.whiteMoves;
+  }
+
+  /**
+   * Returns the number of opponent tiles that the given player would flip in the specified
+   * direction by playing on the given cell. The tiles along the precomputed ray are walked in
+   * place, starting next to the given cell and stopping at the first tile that is not the
+   * opponent's.
+   * A valid direction is one that is adjacent to a straight line of the opponent player's disks,
+   * at the far end of which is another of the given player's disks.
    *
-   * @param q      the x coordinate
-   * @param r      the y coordinate
-   * @param player the current player
-   * @return a list of valid directions for the current player at the specified coordinates
+   * @param index     the index r * dim + q of the starting cell
+   * @param direction the index of the direction in the board's direction vectors
+   * @param player    the player making the move
+   * @return the number of tiles flipped in that direction, 0 if the direction is not valid
    */
-  protected List<int[]> getValidDirections(int q, int r, Player player) {
-    List<int[]> validDirections = new ArrayList<>();
-    // use the appropriate directions depending on the game type
-    int[][] directions = determineDirection();
-    // check all directions
-    for (int[] direction : directions) {
-      // get the tiles in the direction
-      List<Tile> tiles = getTilesInDirection(q, r, direction);
-      // if the direction is valid, add it to the list
-      if (isValidDirection(tiles, player)) {
-        validDirections.add(direction);
+  protected int flipsInDirection(int index, int direction, Player player) {
+    int[] ray = this.rays.rays;
+    int start = this.rays.start(index, direction);
+    int end = this.rays.end(index, direction);
+    for (int i = start; i < end; i++) {
+      Player owner = this.tiles[ray[i]].getPlayerAt();
+      if (owner == player) {
+        return i - start;
+      }
+      if (owner == Player.EMPTY) {
+        return 0;
       }
     }
-
-    return validDirections;
+    return 0;
   }
 
   /**
@@ -0,0 +1,284 @@
+package model.model;
+
+import java.util.Arrays;
+
+import model.player.Player;
+
+/**
+ * Represents a hex or square board of any size stored as one byte per cell. The cell at (q, r) is
+ * byte {@code r * dim + q}, holding {@code EMPTY}, {@code BLACK} or {@code WHITE}. Which bytes are
+ * cells of the board, and the cells along every ray, come from the {@link RayTable} shared by
+ * every board of the same shape and dimension, so a board is nothing but its bytes and a copy is
+ * a single array copy. Tiles are views onto the bytes, made the first time each one is asked for
+ * and then reused.
+ */
+public class ArrayBoard implements PackedBoard {
+  private static final byte EMPTY = 0;
+  private static final byte BLACK = 1;
+  private static final byte WHITE = 2;
+  // the player each cell state stands for
+  private static final Player[] PLAYERS = {Player.EMPTY, Player.BLACK, Player.WHITE};
+
+  private final int dim;
+  private final boolean isHex;
+  private final RayTable table;
+  // true for every index that is a cell of the board
+  private final boolean[] valid;
+  private final byte[] cells;
+  // the view of each cell, made when first asked for
+  private Tile[] tiles;
+
+  /**
+   * Constructs an empty ArrayBoard with the given dimension.
+   *
+   * @param dim   dimension of the board
+   * @param isHex true if the board is hexagonal, false if it is square
+   * @throws IllegalArgumentException if the dimension is not positive
+   */
+  public ArrayBoard(int dim, boolean isHex) {
+    if (dim < 1) {
+      throw new IllegalArgumentException("Invalid dimension");
+    }
+    this.dim = dim;
+    this.isHex = isHex;
+    this.table = RayTable.forBoard(dim, isHex);
+    this.valid = this.table.valid;
+    this.cells = new byte[dim * dim];
+  }
+
+  @Override
+  public int getHeight() {
+    return this.dim;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.dim;
+  }
+
+  @Override
+  public int getDim() {
+    return this.dim;
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim || !this.valid[r * this.dim + q]) {
+      return null;
+    }
+    if (this.tiles == null) {
+      this.tiles = new Tile[this.cells.length];
+    }
+    Tile tile = this.tiles[r * this.dim + q];
+    if (tile == null) {
+      tile = new PackedTile(this, q, r, this.isHex);
+      this.tiles[r * this.dim + q] = tile;
+    }
+    return tile;
+  }
+
+  @Override
+  public void setTileAt(int q, int r) {
+    this.setPlayerAt(q, r, Player.EMPTY);
+  }
+
+  @Override
+  public void addStartingCells(int dim, int sideLength) {
+    Arrays.fill(this.cells, EMPTY);
+    if (this.isHex) {
+      this.setPlayerAt(sideLength - 1, sideLength - 2, Player.BLACK);
+      this.setPlayerAt(sideLength - 2, sideLength - 1, Player.WHITE);
+      this.setPlayerAt(sideLength - 2, sideLength, Player.BLACK);
+      this.setPlayerAt(sideLength - 1, sideLength, Player.WHITE);
+      this.setPlayerAt(sideLength, sideLength - 1, Player.BLACK);
+      this.setPlayerAt(sideLength, sideLength - 2, Player.WHITE);
+    } else {
+      int half = sideLength / 2;
+      this.setPlayerAt(half - 1, half - 1, Player.BLACK);
+      this.setPlayerAt(half - 1, half, Player.WHITE);
+      this.setPlayerAt(half, half - 1, Player.WHITE);
+      this.setPlayerAt(half, half, Player.BLACK);
+    }
+  }
+
+  @Override
+  public Player getPlayerAt(int q, int r) {
+    return PLAYERS[this.cells[this.index(q, r)]];
+  }
+
+  @Override
+  public void setPlayerAt(int q, int r, Player player) {
+    this.cells[this.index(q, r)] = state(player);
+  }
+
+  @Override
+  public boolean isLegalMove(int q, int r, Player player) {
+    int index = this.index(q, r);
+    if (this.cells[index] != EMPTY) {
+      return false;
+    }
+    byte own = state(player);
+    for (int d = 0; d < this.table.directions; d++) {
+      if (this.flipsInDirection(index, d, own) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int countFlips(int q, int r, Player player) {
+    int index = this.index(q, r);
+    byte own = state(player);
+    int count = 0;
+    for (int d = 0; d < this.table.directions; d++) {
+      count += this.flipsInDirection(index, d, own);
+    }
+    return count;
+  }
+
+  @Override
+  public int applyMove(int q, int r, Player player, int[] flips) {
+    int index = this.index(q, r);
+    byte own = state(player);
+    int count = 0;
+    int[] rays = this.table.rays;
+    for (int d = 0; d < this.table.directions; d++) {
+      int flipped = this.flipsInDirection(index, d, own);
+      int start = this.table.start(index, d);
+      for (int i = start; i < start + flipped; i++) {
+        this.cells[rays[i]] = own;
+      }
+      if (flips != null) {
+        flips[d] = flipped;
+      }
+      count += flipped;
+    }
+    this.cells[index] = own;
+    return count;
+  }
+
+  @Override
+  public boolean hasLegalMove(Player player) {
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        if (this.valid[r * this.dim + q] && this.isLegalMove(q, r, player)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int countDiscs(Player player) {
+    byte state = state(player);
+    int count = 0;
+    for (int i = 0; i < this.cells.length; i++) {
+      if (this.valid[i] && this.cells[i] == state) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public PackedBoard copy() {
+    ArrayBoard copy = new ArrayBoard(this.dim, this.isHex);
+    System.arraycopy(this.cells, 0, copy.cells, 0, this.cells.length);
+    return copy;
+  }
+
+  /**
+   * Returns the number of discs the given player would flip in one direction by playing on the
+   * given cell. The ray is walked from the cell next to the move until one is not the
+   * opponent's; the line is captured if that cell is ours.
+   *
+   * @param index     the index of the cell of the move
+   * @param direction the index of the direction
+   * @param own       the cell state of the player making the move
+   * @return the number of discs flipped in that direction
+   */
+  private int flipsInDirection(int index, int direction, byte own) {
+    int[] rays = this.table.rays;
+    int start = this.table.start(index, direction);
+    int end = this.table.end(index, direction);
+    for (int i = start; i < end; i++) {
+      byte state = this.cells[rays[i]];
+      if (state == own) {
+        return i - start;
+      }
+      if (state == EMPTY) {
+        return 0;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the cell state of the given player.
+   *
+   * @param player the player, or {@code Player.EMPTY}
+   * @return the cell state
+   */
+  private static byte state(Player player) {
+    switch (player) {
+      case BLACK:
+        return BLACK;
+      case WHITE:
+        return WHITE;
+      default:
+        return EMPTY;
+    }
+  }
+
+  /**
+   * Returns the index of the given coordinates.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return the index {@code r * dim + q}
+   * @throws IllegalArgumentException if the coordinates are not a cell of this board
+   */
+  private int index(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim || !this.valid[r * this.dim + q]) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    return r * this.dim + q;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (!(other instanceof ArrayBoard)) {
+      return false;
+    }
+    ArrayBoard otherBoard = (ArrayBoard) other;
+    return this.dim == otherBoard.dim && this.isHex == otherBoard.isHex
+            && Arrays.equals(this.cells, otherBoard.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 17;
+    result = 31 * result + this.dim;
+    result = 31 * result + Boolean.hashCode(this.isHex);
+    result = 31 * result + Arrays.hashCode(this.cells);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = this.getTileAt(q, r);
+        result.append(tile == null ? " " : tile.toString()).append(" ");
+      }
+      result.append("\n");
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,23 @@
+package model.model;
+
+/**
+ * Represents the way a game of Reversi stores the discs on its board.
+ * TILES keeps one {@link Tile} object per cell, BITSET packs the discs into primitive bitsets
+ * and computes moves with word-level operations, and ARRAY keeps one byte per cell in a single
+ * array, for boards of any size.
+ */
+public enum BoardRepresentation {
+  TILES, BITSET, ARRAY;
+
+  /**
+   * Returns the fastest representation that supports a board of the given size: bitsets
+   * wherever they fit, and a byte array for square boards too large for a bitboard.
+   *
+   * @param sideLength the side length of the board
+   * @param isHex      true if the board is hexagonal
+   * @return the representation
+   */
+  public static BoardRepresentation fastest(int sideLength, boolean isHex) {
+    return isHex || sideLength <= SquareBitBoard.MAX_DIM ? BITSET : ARRAY;
+  }
+}
@@ -0,0 +1,238 @@
+package model.model;
+
+import java.awt.Point;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.player.Player;
+
+/**
+ * Represents the symmetries of a board: the rotations and reflections that map the board onto
+ * itself. A square board has 8, and a hex board 12, its 6 rotations with and without a reflection.
+ * Positions that are the same up to a symmetry play the same, so they can share one entry in a
+ * cache or a book under a canonical key: the smallest Zobrist key of the position under any
+ * symmetry. The moves of the canonical position map back to the original one through the inverse
+ * of that symmetry.
+ *
+ * <p>The cell permutation of each symmetry, its inverse and the Zobrist keys of the permuted cells
+ * are computed once per board and shared, since they are immutable.
+ */
+public final class BoardSymmetry {
+  // one table per board, keyed by the side length and negated for square boards
+  private static final Map<Integer, BoardSymmetry> TABLES = new ConcurrentHashMap<>();
+
+  private final int dim;
+  // the cell each cell is moved to by each symmetry, and back again; -1 off the board
+  private final int[][] forward;
+  private final int[][] inverse;
+  // the Zobrist key of a black and a white disc on each cell after each symmetry
+  private final long[][] keys;
+
+  /**
+   * Computes the symmetries of the given board.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   */
+  private BoardSymmetry(int sideLen, boolean isHex) {
+    this.dim = isHex ? 2 * sideLen - 1 : sideLen;
+    int count = isHex ? 12 : 8;
+    int cells = this.dim * this.dim;
+    this.forward = new int[count][cells];
+    this.inverse = new int[count][cells];
+    this.keys = new long[count][2 * cells];
+    Zobrist zobrist = Zobrist.forDim(this.dim);
+    for (int s = 0; s < count; s++) {
+      for (int cell = 0; cell < cells; cell++) {
+        int q = cell % this.dim;
+        int r = cell / this.dim;
+        this.inverse[s][cell] = -1;
+        if (isHex && (q + r < sideLen - 1 || q + r > 3 * sideLen - 3)) {
+          this.forward[s][cell] = -1;
+          continue;
+        }
+        this.forward[s][cell] = isHex ? this.hexImage(s, q, r, sideLen - 1)
+                : this.squareImage(s, q, r);
+      }
+      for (int cell = 0; cell < cells; cell++) {
+        int image = this.forward[s][cell];
+        if (image >= 0) {
+          this.inverse[s][image] = cell;
+          this.keys[s][2 * cell] = zobrist.key(image, Player.BLACK);
+          this.keys[s][2 * cell + 1] = zobrist.key(image, Player.WHITE);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the symmetries of the given board, computing them the first time they are needed.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @return the shared symmetries of the board
+   */
+  public static BoardSymmetry forBoard(int sideLen, boolean isHex) {
+    return TABLES.computeIfAbsent(isHex ? sideLen : -sideLen,
+        key -> new BoardSymmetry(sideLen, isHex));
+  }
+
+  /**
+   * Returns the image of a cell of a square board under a symmetry: bit 0 of the symmetry
+   * mirrors q, bit 1 mirrors r and bit 2 swaps them.
+   *
+   * @param symmetry the symmetry
+   * @param q        the q coordinate of the cell
+   * @param r        the r coordinate of the cell
+   * @return the index of the image
+   */
+  private int squareImage(int symmetry, int q, int r) {
+    int x = (symmetry & 1) == 0 ? q : this.dim - 1 - q;
+    int y = (symmetry & 2) == 0 ? r : this.dim - 1 - r;
+    return (symmetry & 4) == 0 ? y * this.dim + x : x * this.dim + y;
+  }
+
+  /**
+   * Returns the image of a cell of a hex board under a symmetry: symmetries 6 to 11 swap the
+   * axes first, then every symmetry rotates by 60 degrees around the center cell
+   * {@code symmetry % 6} times.
+   *
+   * @param symmetry the symmetry
+   * @param q        the q coordinate of the cell
+   * @param r        the r coordinate of the cell
+   * @param center   the q and r coordinate of the center cell
+   * @return the index of the image
+   */
+  private int hexImage(int symmetry, int q, int r, int center) {
+    int x = q - center;
+    int y = r - center;
+    if (symmetry >= 6) {
+      int swap = x;
+      x = y;
+      y = swap;
+    }
+    for (int turn = 0; turn < symmetry % 6; turn++) {
+      // (x, y, z) to (-z, -x, -y) in cube coordinates
+      int rotated = x + y;
+      y = -x;
+      x = rotated;
+    }
+    return (y + center) * this.dim + x + center;
+  }
+
+  /**
+   * Returns the number of symmetries of the board, including the identity, which is symmetry 0.
+   *
+   * @return 8 for a square board or 12 for a hex board
+   */
+  public int count() {
+    return this.forward.length;
+  }
+
+  /**
+   * Returns the image of a cell under a symmetry.
+   *
+   * @param symmetry the symmetry
+   * @param cell     the index r * dim + q of the cell
+   * @return the index of the image, or -1 if the cell is not on the board
+   */
+  public int map(int symmetry, int cell) {
+    return this.forward[symmetry][cell];
+  }
+
+  /**
+   * Returns the cell whose image under a symmetry is the given cell.
+   *
+   * @param symmetry the symmetry
+   * @param cell     the index r * dim + q of the image
+   * @return the index of the original cell, or -1 if the cell is not on the board
+   */
+  public int unmap(int symmetry, int cell) {
+    return this.inverse[symmetry][cell];
+  }
+
+  /**
+   * Returns the Zobrist key of a board after a symmetry.
+   *
+   * @param symmetry the symmetry
+   * @param board    the board
+   * @param toMove   the player whose turn it is
+   * @return the key of the board's image
+   */
+  public long key(int symmetry, Board board, Player toMove) {
+    long[] cellKeys = this.keys[symmetry];
+    long key = toMove == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0;
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = board.getTileAt(q, r);
+        if (tile != null && tile.hasPlayer()) {
+          key ^= cellKeys[2 * (r * this.dim + q) + (tile.getPlayerAt() == Player.WHITE ? 1 : 0)];
+        }
+      }
+    }
+    return key;
+  }
+
+  /**
+   * Returns the canonical key of a board: the smallest Zobrist key of its images under every
+   * symmetry. Boards that are the same up to a symmetry have the same canonical key.
+   *
+   * @param board    the board
+   * @param toMove   the player whose turn it is
+   * @param symmetry where to put a symmetry whose image has the canonical key, or null
+   * @return the canonical key
+   */
+  public long canonicalKey(Board board, Player toMove, int[] symmetry) {
+    long[] images = new long[this.count()];
+    long start = toMove == Player.WHITE ? Zobrist.WHITE_TO_MOVE : 0;
+    for (int s = 0; s < images.length; s++) {
+      images[s] = start;
+    }
+    // one pass over the board fills in every image
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = board.getTileAt(q, r);
+        if (tile != null && tile.hasPlayer()) {
+          int index = 2 * (r * this.dim + q) + (tile.getPlayerAt() == Player.WHITE ? 1 : 0);
+          for (int s = 0; s < images.length; s++) {
+            images[s] ^= this.keys[s][index];
+          }
+        }
+      }
+    }
+    int best = 0;
+    for (int s = 1; s < images.length; s++) {
+      if (images[s] < images[best]) {
+        best = s;
+      }
+    }
+    if (symmetry != null) {
+      symmetry[0] = best;
+    }
+    return images[best];
+  }
+
+  /**
+   * Maps a move on a board to the same move on the board's image under a symmetry.
+   *
+   * @param symmetry the symmetry
+   * @param move     the move on the original board
+   * @return the move on the image
+   */
+  public Point toImage(int symmetry, Point move) {
+    int cell = this.forward[symmetry][move.y * this.dim + move.x];
+    return new Point(cell % this.dim, cell / this.dim);
+  }
+
+  /**
+   * Maps a move on the image of a board under a symmetry back to the original board.
+   *
+   * @param symmetry the symmetry
+   * @param move     the move on the image
+   * @return the move on the original board
+   */
+  public Point toOriginal(int symmetry, Point move) {
+    int cell = this.inverse[symmetry][move.y * this.dim + move.x];
+    return new Point(cell % this.dim, cell / this.dim);
+  }
+}
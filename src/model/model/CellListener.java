@@ -0,0 +1,19 @@
+package model.model;
+
+import model.player.Player;
+
+/**
+ * Represents an observer of the cells of a {@link SearchableReversiModel}, told about every cell
+ * that a move or an undone move changes, so it can keep its own view of the board up to date
+ * without scanning it.
+ */
+public interface CellListener {
+  /**
+   * Called after a cell changes.
+   *
+   * @param index  the index {@code r * width + q} of the cell
+   * @param before the player that was on the cell, or {@code Player.EMPTY}
+   * @param after  the player now on the cell, or {@code Player.EMPTY}
+   */
+  void cellChanged(int index, Player before, Player after);
+}
@@ -0,0 +1,475 @@
+package model.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.player.Player;
+
+/**
+ * Represents a hexagonal board stored as a pair of multi-word bitsets, one per player.
+ * The cell at (q, r) is bit {@code r * (dim + 1) + q}. The extra column in each row is never a
+ * cell, so moving off the edge of a row always lands on a bit that is masked out, and each of the
+ * HEX_DIRECTIONS is a plain shift of the whole bitset.
+ * For each cell and direction, a precomputed mask holds every cell along that ray, so a single
+ * move is checked by scanning words for the first cell that is not the opponent's.
+ */
+public class HexBitBoard implements PackedBoard {
+
+  // geometries are immutable, so every board of the same dimension shares one
+  private static final Map<Integer, Geometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+  private final int dim;
+  private final Geometry geometry;
+  // the discs of each player
+  private final long[] black;
+  private final long[] white;
+  // scratch space for move generation, so that it does not allocate
+  private final long[] run;
+  private final long[] shifted;
+
+  /**
+   * Constructs an empty HexBitBoard with the given dimension.
+   *
+   * @param dim dimension of the board
+   */
+  public HexBitBoard(int dim) {
+    this.dim = dim;
+    this.geometry = GEOMETRIES.computeIfAbsent(dim, Geometry::new);
+    this.black = new long[this.geometry.words];
+    this.white = new long[this.geometry.words];
+    this.run = new long[this.geometry.words];
+    this.shifted = new long[this.geometry.words];
+  }
+
+  @Override
+  public int getHeight() {
+    return this.dim;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.dim;
+  }
+
+  @Override
+  public int getDim() {
+    return this.dim;
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim
+            || !this.geometry.isCell(this.geometry.bit(q, r))) {
+      return null;
+    }
+    return new PackedTile(this, q, r, true);
+  }
+
+  @Override
+  public void setTileAt(int q, int r) {
+    this.setPlayerAt(q, r, Player.EMPTY);
+  }
+
+  @Override
+  public void addStartingCells(int dim, int sideLength) {
+    Arrays.fill(this.black, 0);
+    Arrays.fill(this.white, 0);
+    this.setPlayerAt(sideLength - 1, sideLength - 2, Player.BLACK);
+    this.setPlayerAt(sideLength - 2, sideLength - 1, Player.WHITE);
+    this.setPlayerAt(sideLength - 2, sideLength, Player.BLACK);
+    this.setPlayerAt(sideLength - 1, sideLength, Player.WHITE);
+    this.setPlayerAt(sideLength, sideLength - 1, Player.BLACK);
+    this.setPlayerAt(sideLength, sideLength - 2, Player.WHITE);
+  }
+
+  @Override
+  public Player getPlayerAt(int q, int r) {
+    int bit = this.index(q, r);
+    if (get(this.black, bit)) {
+      return Player.BLACK;
+    } else if (get(this.white, bit)) {
+      return Player.WHITE;
+    }
+    return Player.EMPTY;
+  }
+
+  @Override
+  public void setPlayerAt(int q, int r, Player player) {
+    this.set(this.index(q, r), player);
+  }
+
+  @Override
+  public boolean isLegalMove(int q, int r, Player player) {
+    int bit = this.index(q, r);
+    if (get(this.black, bit) || get(this.white, bit)) {
+      return false;
+    }
+    for (int d = 0; d < Geometry.DIRECTIONS; d++) {
+      if (this.flipsInDirection(bit, d, player) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int countFlips(int q, int r, Player player) {
+    int bit = this.index(q, r);
+    int count = 0;
+    for (int d = 0; d < Geometry.DIRECTIONS; d++) {
+      count += this.flipsInDirection(bit, d, player);
+    }
+    return count;
+  }
+
+  @Override
+  public int applyMove(int q, int r, Player player, int[] flips) {
+    int bit = this.index(q, r);
+    int count = 0;
+    for (int d = 0; d < Geometry.DIRECTIONS; d++) {
+      int flipped = this.flipsInDirection(bit, d, player);
+      int step = this.geometry.shifts[d];
+      for (int i = 1; i <= flipped; i++) {
+        this.set(bit + i * step, player);
+      }
+      if (flips != null) {
+        flips[d] = flipped;
+      }
+      count += flipped;
+    }
+    this.set(bit, player);
+    return count;
+  }
+
+  @Override
+  public boolean hasLegalMove(Player player) {
+    long[] own = player == Player.BLACK ? this.black : this.white;
+    long[] opp = player == Player.BLACK ? this.white : this.black;
+    for (int d = 0; d < Geometry.DIRECTIONS; d++) {
+      this.extendRun(own, opp, d);
+      this.geometry.shift(this.run, d, this.shifted);
+      for (int w = 0; w < this.geometry.words; w++) {
+        if ((this.shifted[w] & ~(own[w] | opp[w])) != 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Writes the set of cells where the given player may move into the given bitset.
+   *
+   * @param player the player making the move
+   * @param moves  the bitset to fill, at least as long as the board's bitsets
+   */
+  public void legalMoves(Player player, long[] moves) {
+    long[] own = player == Player.BLACK ? this.black : this.white;
+    long[] opp = player == Player.BLACK ? this.white : this.black;
+    Arrays.fill(moves, 0);
+    for (int d = 0; d < Geometry.DIRECTIONS; d++) {
+      this.extendRun(own, opp, d);
+      this.geometry.shift(this.run, d, this.shifted);
+      for (int w = 0; w < this.geometry.words; w++) {
+        moves[w] |= this.shifted[w] & ~(own[w] | opp[w]);
+      }
+    }
+  }
+
+  @Override
+  public int countDiscs(Player player) {
+    int count = 0;
+    for (int w = 0; w < this.geometry.words; w++) {
+      long word;
+      switch (player) {
+        case BLACK:
+          word = this.black[w];
+          break;
+        case WHITE:
+          word = this.white[w];
+          break;
+        default:
+          word = this.geometry.valid[w] & ~(this.black[w] | this.white[w]);
+          break;
+      }
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  @Override
+  public PackedBoard copy() {
+    HexBitBoard copy = new HexBitBoard(this.dim);
+    System.arraycopy(this.black, 0, copy.black, 0, this.black.length);
+    System.arraycopy(this.white, 0, copy.white, 0, this.white.length);
+    return copy;
+  }
+
+  /**
+   * Fills {@code run} with every opponent disc that lies on an unbroken line of opponent discs
+   * starting next to one of our own discs, moving in the given direction.
+   *
+   * @param own       our discs
+   * @param opp       the opponent's discs
+   * @param direction the index of the direction in {@code HEX_DIRECTIONS}
+   */
+  private void extendRun(long[] own, long[] opp, int direction) {
+    this.geometry.shift(own, direction, this.run);
+    for (int w = 0; w < this.geometry.words; w++) {
+      this.run[w] &= opp[w];
+    }
+    for (int i = 0; i < this.dim - 3; i++) {
+      this.geometry.shift(this.run, direction, this.shifted);
+      for (int w = 0; w < this.geometry.words; w++) {
+        this.run[w] |= this.shifted[w] & opp[w];
+      }
+    }
+  }
+
+  /**
+   * Returns the number of discs the given player would flip in one direction by playing on the
+   * given bit. The ray mask for the direction is scanned a word at a time for the first cell that
+   * is not the opponent's; the line is captured if that cell is ours.
+   *
+   * @param bit       the bit of the cell being played
+   * @param direction the index of the direction in {@code HEX_DIRECTIONS}
+   * @param player    the player making the move
+   * @return the number of discs flipped in that direction
+   */
+  private int flipsInDirection(int bit, int direction, Player player) {
+    long[] own = player == Player.BLACK ? this.black : this.white;
+    long[] opp = player == Player.BLACK ? this.white : this.black;
+    long[] rays = this.geometry.rays;
+    int base = this.geometry.rayOffset(bit, direction);
+    int step = this.geometry.shifts[direction];
+    int last = this.geometry.rayEnds[bit * Geometry.DIRECTIONS + direction];
+    int blocker = -1;
+    if (step > 0) {
+      for (int w = bit >>> 6; w <= last && blocker < 0; w++) {
+        long stops = rays[base + w] & ~opp[w];
+        if (stops != 0) {
+          blocker = (w << 6) + Long.numberOfTrailingZeros(stops);
+        }
+      }
+    } else {
+      for (int w = bit >>> 6; w >= last && blocker < 0; w--) {
+        long stops = rays[base + w] & ~opp[w];
+        if (stops != 0) {
+          blocker = (w << 6) + 63 - Long.numberOfLeadingZeros(stops);
+        }
+      }
+    }
+    if (blocker < 0 || !get(own, blocker)) {
+      return 0;
+    }
+    return (blocker - bit) / step - 1;
+  }
+
+  /**
+   * Sets the cell at the given bit to the given player.
+   *
+   * @param bit    the bit of the cell
+   * @param player the player to place, or {@code Player.EMPTY} to clear the cell
+   */
+  private void set(int bit, Player player) {
+    long mask = 1L << bit;
+    int w = bit >>> 6;
+    this.black[w] &= ~mask;
+    this.white[w] &= ~mask;
+    if (player == Player.BLACK) {
+      this.black[w] |= mask;
+    } else if (player == Player.WHITE) {
+      this.white[w] |= mask;
+    }
+  }
+
+  /**
+   * Returns true if the given bit is set in the given bitset.
+   *
+   * @param bits the bitset
+   * @param bit  the bit to check
+   * @return true if the bit is set
+   */
+  private static boolean get(long[] bits, int bit) {
+    return (bits[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  /**
+   * Returns the bit of the given coordinates.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return the bit of the given coordinates
+   * @throws IllegalArgumentException if the coordinates are not a cell of this board
+   */
+  private int index(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    int bit = this.geometry.bit(q, r);
+    if (!this.geometry.isCell(bit)) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    return bit;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (!(other instanceof HexBitBoard)) {
+      return false;
+    }
+    HexBitBoard otherBoard = (HexBitBoard) other;
+    return this.dim == otherBoard.dim && Arrays.equals(this.black, otherBoard.black)
+            && Arrays.equals(this.white, otherBoard.white);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 17;
+    result = 31 * result + this.dim;
+    result = 31 * result + Arrays.hashCode(this.black);
+    result = 31 * result + Arrays.hashCode(this.white);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = this.getTileAt(q, r);
+        result.append(tile == null ? " " : tile.toString()).append(" ");
+      }
+      result.append("\n");
+    }
+    return result.toString();
+  }
+
+  /**
+   * Represents the fixed layout of a hexagonal board of one dimension: which bits are cells,
+   * the shift for each direction, and the ray mask for every cell and direction.
+   */
+  private static final class Geometry {
+    static final int DIRECTIONS = ReadonlyReversiModel.HEX_DIRECTIONS.length;
+
+    final int stride;
+    final int words;
+    // every bit that is a cell of the board
+    final long[] valid;
+    // the bit offset of one step in each direction
+    final int[] shifts;
+    // for every bit and direction, the cells along that ray, excluding the starting cell
+    final long[] rays;
+    // for every bit and direction, the word holding the last cell of the ray
+    final int[] rayEnds;
+
+    /**
+     * Precomputes the layout of a hexagonal board with the given dimension.
+     *
+     * @param dim dimension of the board
+     */
+    Geometry(int dim) {
+      int sideLength = (dim + 1) / 2;
+      this.stride = dim + 1;
+      int bits = dim * this.stride;
+      this.words = (bits + 63) >>> 6;
+      this.valid = new long[this.words];
+      for (int r = 0; r < dim; r++) {
+        for (int q = 0; q < dim; q++) {
+          if (q + r >= dim - sideLength && q + r <= dim + sideLength - 2) {
+            int bit = this.bit(q, r);
+            this.valid[bit >>> 6] |= 1L << bit;
+          }
+        }
+      }
+
+      int[][] directions = ReadonlyReversiModel.HEX_DIRECTIONS;
+      this.shifts = new int[DIRECTIONS];
+      for (int d = 0; d < DIRECTIONS; d++) {
+        this.shifts[d] = directions[d][0] + directions[d][1] * this.stride;
+      }
+
+      this.rays = new long[bits * DIRECTIONS * this.words];
+      this.rayEnds = new int[bits * DIRECTIONS];
+      for (int r = 0; r < dim; r++) {
+        for (int q = 0; q < dim; q++) {
+          int start = this.bit(q, r);
+          if (!this.isCell(start)) {
+            continue;
+          }
+          for (int d = 0; d < DIRECTIONS; d++) {
+            int base = this.rayOffset(start, d);
+            this.rayEnds[start * DIRECTIONS + d] = start >>> 6;
+            int cq = q + directions[d][0];
+            int cr = r + directions[d][1];
+            while (cq >= 0 && cq < dim && cr >= 0 && cr < dim && this.isCell(this.bit(cq, cr))) {
+              int bit = this.bit(cq, cr);
+              this.rays[base + (bit >>> 6)] |= 1L << bit;
+              this.rayEnds[start * DIRECTIONS + d] = bit >>> 6;
+              cq += directions[d][0];
+              cr += directions[d][1];
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the bit of the given coordinates.
+     */
+    int bit(int q, int r) {
+      return r * this.stride + q;
+    }
+
+    /**
+     * Returns true if the given bit is a cell of the board.
+     */
+    boolean isCell(int bit) {
+      return (this.valid[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Returns the index in {@code rays} of the first word of the ray mask for the given bit and
+     * direction.
+     */
+    int rayOffset(int bit, int direction) {
+      return (bit * DIRECTIONS + direction) * this.words;
+    }
+
+    /**
+     * Writes the given bitset moved one cell in the given direction into {@code dst}, dropping
+     * bits that leave the board.
+     *
+     * @param src       the bitset to shift
+     * @param direction the index of the direction in {@code HEX_DIRECTIONS}
+     * @param dst       the bitset to write, distinct from {@code src}
+     */
+    void shift(long[] src, int direction, long[] dst) {
+      int s = this.shifts[direction];
+      int n = this.words;
+      int wordShift = Math.abs(s) >>> 6;
+      int bitShift = Math.abs(s) & 63;
+      for (int i = 0; i < n; i++) {
+        long word;
+        if (s > 0) {
+          int j = i - wordShift;
+          word = j >= 0 ? src[j] << bitShift : 0;
+          if (bitShift != 0 && j - 1 >= 0) {
+            word |= src[j - 1] >>> (64 - bitShift);
+          }
+        } else {
+          int j = i + wordShift;
+          word = j < n ? src[j] >>> bitShift : 0;
+          if (bitShift != 0 && j + 1 < n) {
+            word |= src[j + 1] << (64 - bitShift);
+          }
+        }
+        dst[i] = word & this.valid[i];
+      }
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package model.model;
 
-import java.util.Objects;
-
 import model.player.Player;
 
 /**
@@ -133,15 +131,15 @@ public class HexBoard implements Board {
 
   @Override
   public int hashCode() {
-    int result = 0;
+    int result = 17;
+    result = 31 * result + this.dim;
     for (int r = 0; r < this.dim; r++) {
       for (int q = 0; q < this.dim; q++) {
-        if (this.getTileAt(q, r) != null) {
-          result += 1;
-        }
+        Tile tile = this.getTileAt(q, r);
+        result = 31 * result + (tile == null ? 0 : tile.hashCode());
       }
     }
-    return Objects.hash(result);
+    return result;
   }
 
   /**
@@ -20,4 +20,14 @@ public class HexReversi extends AbstractReversi {
   public HexReversi(int sideLength) {
     super(sideLength, true);
   }
+
+  /**
+   * Constructor that takes in a sideLength and the way the board should store its discs.
+   *
+   * @param sideLength     length of one side of the board
+   * @param representation how the board stores its discs
+   */
+  public HexReversi(int sideLength, BoardRepresentation representation) {
+    super(sideLength, true, representation);
+  }
 }
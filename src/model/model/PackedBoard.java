@@ -0,0 +1,92 @@
+package model.model;
+
+import model.player.Player;
+
+/**
+ * Represents a board that stores its discs in packed primitive form. A packed board applies the
+ * rules of Reversi itself, so the model does not have to walk {@link Tile} objects to validate
+ * or make a move. Tiles returned by {@code getTileAt} are lightweight views onto the packed state.
+ */
+public interface PackedBoard extends Board {
+
+  /**
+   * Returns the player at the given coordinates, or {@code Player.EMPTY} if the cell is empty.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return the player at the given coordinates
+   * @throws IllegalArgumentException if the coordinates are not a cell of this board
+   */
+  Player getPlayerAt(int q, int r);
+
+  /**
+   * Sets the player at the given coordinates, {@code Player.EMPTY} clears the cell.
+   *
+   * @param q      the q coordinate
+   * @param r      the r coordinate
+   * @param player the player to place
+   * @throws IllegalArgumentException if the coordinates are not a cell of this board
+   */
+  void setPlayerAt(int q, int r, Player player);
+
+  /**
+   * Returns true if the given player may place a disc at the given coordinates, that is, the cell
+   * is empty and at least one line of the opponent's discs would be captured.
+   *
+   * @param q      the q coordinate
+   * @param r      the r coordinate
+   * @param player the player making the move
+   * @return true if the move is legal for the given player
+   */
+  boolean isLegalMove(int q, int r, Player player);
+
+  /**
+   * Returns the number of opponent discs that would be flipped if the given player placed a disc
+   * at the given coordinates. The cell itself is not checked for emptiness.
+   *
+   * @param q      the q coordinate
+   * @param r      the r coordinate
+   * @param player the player making the move
+   * @return the number of discs that would be flipped
+   */
+  int countFlips(int q, int r, Player player);
+
+  /**
+   * Places a disc for the given player at the given coordinates and flips every captured disc.
+   * The discs flipped in each direction are the cells directly after the played cell, so the
+   * number flipped per direction is enough to find every changed cell.
+   *
+   * @param q      the q coordinate
+   * @param r      the r coordinate
+   * @param player the player making the move
+   * @param flips  receives the number of discs flipped in each of the board's directions,
+   *               in the order of {@code HEX_DIRECTIONS} or {@code SQUARE_DIRECTIONS};
+   *               may be null
+   * @return the number of discs flipped
+   */
+  int applyMove(int q, int r, Player player, int[] flips);
+
+  /**
+   * Returns true if the given player has at least one legal move on this board.
+   *
+   * @param player the player
+   * @return true if the given player has at least one legal move
+   */
+  boolean hasLegalMove(Player player);
+
+  /**
+   * Returns the number of cells held by the given player, or the number of empty cells for
+   * {@code Player.EMPTY}.
+   *
+   * @param player the player
+   * @return the number of cells in the given state
+   */
+  int countDiscs(Player player);
+
+  /**
+   * Returns an independent copy of this board.
+   *
+   * @return a copy of this board
+   */
+  PackedBoard copy();
+}
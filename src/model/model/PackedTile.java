@@ -0,0 +1,96 @@
+package model.model;
+
+import java.util.Objects;
+
+import model.player.Player;
+
+/**
+ * Represents a view of a single cell of a {@link PackedBoard}. The tile holds no state of its own,
+ * reads and writes go straight through to the board it was created from.
+ */
+public class PackedTile implements Tile {
+  private final PackedBoard board;
+  private final int q;
+  private final int r;
+  // true if the tile lives on a hex board, and so has an s coordinate
+  private final boolean isHex;
+
+  /**
+   * Constructs a view of the cell at the given coordinates of the given board.
+   *
+   * @param board the board that holds the cell
+   * @param q     the q coordinate of the cell
+   * @param r     the r coordinate of the cell
+   * @param isHex true if the board is hexagonal
+   */
+  public PackedTile(PackedBoard board, int q, int r, boolean isHex) {
+    this.board = board;
+    this.q = q;
+    this.r = r;
+    this.isHex = isHex;
+  }
+
+  @Override
+  public int getQ() {
+    return this.q;
+  }
+
+  @Override
+  public int getR() {
+    return this.r;
+  }
+
+  @Override
+  public int getS() {
+    if (!this.isHex) {
+      throw new UnsupportedOperationException("cell does not have S coordinate");
+    }
+    return -this.q - this.r;
+  }
+
+  @Override
+  public void changePlayer(Player player) {
+    this.board.setPlayerAt(this.q, this.r, player);
+  }
+
+  @Override
+  public void placePlayerEmpty(Player player) {
+    if (this.hasPlayer()) {
+      throw new IllegalStateException("Tile is already occupied");
+    }
+    this.board.setPlayerAt(this.q, this.r, player);
+  }
+
+  @Override
+  public boolean hasPlayer() {
+    return this.getPlayerAt() != Player.EMPTY;
+  }
+
+  @Override
+  public Player getPlayerAt() {
+    return this.board.getPlayerAt(this.q, this.r);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (!(other instanceof PackedTile)) {
+      return false;
+    }
+    PackedTile otherTile = (PackedTile) other;
+    return this.q == otherTile.q && this.r == otherTile.r && this.isHex == otherTile.isHex
+            && this.getPlayerAt() == otherTile.getPlayerAt();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.q, this.r, this.getPlayerAt());
+  }
+
+  @Override
+  public String toString() {
+    return this.getPlayerAt().toString();
+  }
+}
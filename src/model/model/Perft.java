@@ -0,0 +1,131 @@
+package model.model;
+
+import java.util.Locale;
+
+/**
+ * Counts every sequence of moves of a given length from a position (perft), to check that move
+ * generation is right and to measure how fast it is. A player with no moves passes, and the pass
+ * counts as a move of the sequence. A game that ends, after two passes in a row, before the
+ * sequence is long enough is not counted. Two board representations that generate the same
+ * moves give the same counts at every depth, so the counts are an oracle for a new board.
+ *
+ * <p>The moves are played and taken back in place with {@link SearchableReversiModel}, with one
+ * move buffer per ply, so counting does not allocate. A Perft is not thread safe.
+ */
+public final class Perft {
+  private final SearchableReversiModel model;
+  // one move buffer per ply, made as the search first reaches each ply
+  private int[][] moveBuffers;
+  private long nodes;
+
+  /**
+   * Constructs a Perft of the current position of the given model.
+   *
+   * @param model the position to count from, which the count plays moves on and takes back
+   */
+  public Perft(SearchableReversiModel model) {
+    this.model = model;
+    this.moveBuffers = new int[0][];
+  }
+
+  /**
+   * Returns the number of move sequences of the given length from the position.
+   *
+   * @param depth the number of moves, passes included, in each sequence
+   * @return the number of sequences, 1 for depth 0
+   * @throws IllegalArgumentException if the depth is negative
+   */
+  public long count(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth must not be negative");
+    }
+    if (this.moveBuffers.length < depth) {
+      this.moveBuffers = new int[depth][];
+    }
+    return this.count(depth, false);
+  }
+
+  /**
+   * Returns the number of positions visited by every count so far, the leaves and every position
+   * on the way to them.
+   *
+   * @return the number of positions
+   */
+  public long getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Counts the sequences of the given length from the current position.
+   *
+   * @param depth  the number of moves left to play
+   * @param passed whether the last move was a pass
+   * @return the number of sequences
+   */
+  private long count(int depth, boolean passed) {
+    this.nodes++;
+    if (depth == 0) {
+      return 1;
+    }
+    int[] moves = this.moveBuffers[depth - 1];
+    if (moves == null) {
+      moves = new int[this.model.getWidth() * this.model.getHeight()];
+      this.moveBuffers[depth - 1] = moves;
+    }
+    int count = this.model.fillLegalMoves(moves);
+    if (count == 0) {
+      if (passed) {
+        // the game ended with two passes in a row
+        return 0;
+      }
+      this.model.doPass();
+      long leaves = this.count(depth - 1, true);
+      this.model.undoMove();
+      return leaves;
+    }
+    if (depth == 1) {
+      this.nodes += count;
+      return count;
+    }
+    int dim = this.model.getWidth();
+    long leaves = 0;
+    for (int i = 0; i < count; i++) {
+      this.model.doMove(moves[i] % dim, moves[i] / dim);
+      leaves += this.count(depth - 1, false);
+      this.model.undoMove();
+    }
+    return leaves;
+  }
+
+  /**
+   * Prints the counts of every depth up to the given one from the start of a game, with the
+   * positions visited per second. The arguments are the shape ({@code hex} or {@code square}),
+   * the side length, the greatest depth and, optionally, the board representation, which
+   * otherwise is the fastest one that fits the board.
+   *
+   * @param args the command line arguments
+   */
+  public static void main(String[] args) {
+    if (args.length < 3) {
+      System.out.println("Usage: Perft <hex|square> <side length> <depth> [tiles|bitset|array]");
+      return;
+    }
+    boolean isHex = args[0].equalsIgnoreCase("hex");
+    int sideLen = Integer.parseInt(args[1]);
+    int maxDepth = Integer.parseInt(args[2]);
+    BoardRepresentation representation = args.length > 3
+            ? BoardRepresentation.valueOf(args[3].toUpperCase(Locale.ROOT))
+            : BoardRepresentation.fastest(sideLen, isHex);
+    AbstractReversi game = new AbstractReversi(sideLen, isHex, representation);
+    game.startGame();
+    System.out.printf("%s %d, %s%n", isHex ? "hex" : "square", sideLen, representation);
+    for (int depth = 1; depth <= maxDepth; depth++) {
+      Perft perft = new Perft(game);
+      long start = System.nanoTime();
+      long leaves = perft.count(depth);
+      long nanos = Math.max(1, System.nanoTime() - start);
+      System.out.printf("depth %2d: %,15d leaves, %,15d nodes, %,13.0f nodes/s%n", depth, leaves,
+              perft.getNodes(), perft.getNodes() * 1e9 / nanos);
+    }
+  }
+}
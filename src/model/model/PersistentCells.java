@@ -0,0 +1,102 @@
+package model.model;
+
+import model.player.Player;
+
+/**
+ * Represents the cells of a live game as a copy-on-write array, so that the game can hand out
+ * frozen copies of its cells in constant time. The cells are split into chunks of
+ * {@code CHUNK_SIZE} bytes behind a table of chunks. Freezing hands out the current table and
+ * marks everything in it shared; the next write copies the table, and the first write to each
+ * chunk copies that chunk, so a frozen table is never written again and the memory a frozen copy
+ * keeps alive grows only with the chunks changed since it was frozen.
+ *
+ * <p>Frozen tables are only read, with {@link #get}, and may be read from any thread. The live
+ * cells are not thread safe: the game holds its lock around every change and every freeze.
+ */
+final class PersistentCells {
+  private static final int CHUNK_BITS = 4;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final byte EMPTY = 0;
+  private static final byte BLACK = 1;
+  private static final byte WHITE = 2;
+  // the player each cell state stands for
+  private static final Player[] PLAYERS = {Player.EMPTY, Player.BLACK, Player.WHITE};
+
+  private byte[][] chunks;
+  // true if the table of chunks has been frozen since it was last copied
+  private boolean shared;
+  // the generation in which each chunk was last copied; only chunks copied in the current
+  // generation, that is since the last freeze, are written in place
+  private final int[] copied;
+  private int generation;
+
+  /**
+   * Constructs a set of empty cells.
+   *
+   * @param size the number of cells
+   */
+  PersistentCells(int size) {
+    this.chunks = new byte[(size + CHUNK_MASK) >>> CHUNK_BITS][CHUNK_SIZE];
+    this.copied = new int[this.chunks.length];
+  }
+
+  /**
+   * Sets the player at the given cell, first copying the table and the cell's chunk if they were
+   * frozen.
+   *
+   * @param index  the index of the cell
+   * @param player the player to place, or {@code Player.EMPTY} to clear the cell
+   */
+  void set(int index, Player player) {
+    int chunk = index >>> CHUNK_BITS;
+    if (this.copied[chunk] != this.generation) {
+      if (this.shared) {
+        this.chunks = this.chunks.clone();
+        this.shared = false;
+      }
+      this.chunks[chunk] = this.chunks[chunk].clone();
+      this.copied[chunk] = this.generation;
+    }
+    this.chunks[chunk][index & CHUNK_MASK] = state(player);
+  }
+
+  /**
+   * Returns the current cells, which from now on are never changed. Takes constant time.
+   *
+   * @return the frozen table of chunks, to be read with {@link #get}
+   */
+  byte[][] freeze() {
+    this.shared = true;
+    this.generation++;
+    return this.chunks;
+  }
+
+  /**
+   * Returns the player at the given cell of a frozen table.
+   *
+   * @param chunks the table returned by {@link #freeze}
+   * @param index  the index of the cell
+   * @return the player at the cell, or {@code Player.EMPTY}
+   */
+  static Player get(byte[][] chunks, int index) {
+    return PLAYERS[chunks[index >>> CHUNK_BITS][index & CHUNK_MASK]];
+  }
+
+  /**
+   * Returns the cell state of the given player.
+   *
+   * @param player the player, or {@code Player.EMPTY}
+   * @return the cell state
+   */
+  private static byte state(Player player) {
+    switch (player) {
+      case BLACK:
+        return BLACK;
+      case WHITE:
+        return WHITE;
+      default:
+        return EMPTY;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package model.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the fixed layout of a hex or square board of one dimension: which indices
+ * {@code r * dim + q} are cells, and for every cell and direction the indices of the cells along
+ * that ray, in order from the cell next to the start to the edge of the board. Walking a ray is
+ * then a loop over a slice of one int array, with no coordinate arithmetic or bounds checks.
+ *
+ * <p>The rays of every cell sit one after another in a single array, ordered by cell and then by
+ * direction, so the ray of cell {@code i} in direction {@code d} runs from {@code start(i, d)} up
+ * to {@code start(i, d + 1)}. Tables never change once built, so every board of the same shape
+ * and dimension shares one. The arrays are only read inside this package.
+ */
+final class RayTable {
+  // hex tables are keyed by their dimension and square tables by its negation
+  private static final Map<Integer, RayTable> TABLES = new ConcurrentHashMap<>();
+
+  final int dim;
+  final int directions;
+  // true for every index that is a cell of the board
+  final boolean[] valid;
+  // the cells along every ray, one ray after another
+  final int[] rays;
+  // where the ray of each cell and direction starts in rays, and one past the last ray
+  final int[] starts;
+
+  /**
+   * Precomputes the layout of a board with the given shape and dimension. Indices that are not
+   * cells have empty rays.
+   *
+   * @param dim   dimension of the board
+   * @param isHex true if the board is hexagonal
+   */
+  private RayTable(int dim, boolean isHex) {
+    int[][] vectors = isHex ? ReadonlyReversiModel.HEX_DIRECTIONS
+            : ReadonlyReversiModel.SQUARE_DIRECTIONS;
+    int sideLength = (dim + 1) / 2;
+    this.dim = dim;
+    this.directions = vectors.length;
+    this.valid = new boolean[dim * dim];
+    for (int r = 0; r < dim; r++) {
+      for (int q = 0; q < dim; q++) {
+        this.valid[r * dim + q] = !isHex
+                || (q + r >= dim - sideLength && q + r <= dim + sideLength - 2);
+      }
+    }
+
+    this.starts = new int[dim * dim * this.directions + 1];
+    // no ray is longer than the board is wide
+    int[] buffer = new int[dim * dim * this.directions * (dim - 1)];
+    int size = 0;
+    for (int i = 0; i < dim * dim; i++) {
+      for (int d = 0; d < this.directions; d++) {
+        this.starts[i * this.directions + d] = size;
+        if (!this.valid[i]) {
+          continue;
+        }
+        int q = i % dim + vectors[d][0];
+        int r = i / dim + vectors[d][1];
+        while (q >= 0 && q < dim && r >= 0 && r < dim && this.valid[r * dim + q]) {
+          buffer[size++] = r * dim + q;
+          q += vectors[d][0];
+          r += vectors[d][1];
+        }
+      }
+    }
+    this.starts[dim * dim * this.directions] = size;
+    this.rays = new int[size];
+    System.arraycopy(buffer, 0, this.rays, 0, size);
+  }
+
+  /**
+   * Returns the table of a board with the given shape and dimension.
+   *
+   * @param dim   dimension of the board
+   * @param isHex true if the board is hexagonal
+   * @return the shared table
+   */
+  static RayTable forBoard(int dim, boolean isHex) {
+    return TABLES.computeIfAbsent(isHex ? dim : -dim, key -> new RayTable(dim, isHex));
+  }
+
+  /**
+   * Returns where the ray of the given cell in the given direction starts in {@code rays}.
+   *
+   * @param cell      the index of the cell
+   * @param direction the index of the direction in {@code HEX_DIRECTIONS} or
+   *                  {@code SQUARE_DIRECTIONS}
+   * @return the position of the first cell of the ray
+   */
+  int start(int cell, int direction) {
+    return this.starts[cell * this.directions + direction];
+  }
+
+  /**
+   * Returns where the ray of the given cell in the given direction ends in {@code rays}.
+   *
+   * @param cell      the index of the cell
+   * @param direction the index of the direction
+   * @return the position one past the last cell of the ray
+   */
+  int end(int cell, int direction) {
+    return this.starts[cell * this.directions + direction + 1];
+  }
+}
@@ -1,5 +1,8 @@
 package model.model;
 
+import java.awt.Point;
+import java.util.List;
+
 import model.player.Player;
 
 /**
@@ -63,6 +66,15 @@ public interface ReadonlyReversiModel {
    */
   int getScore(Player player);
 
+  /**
+   * Returns the 64-bit Zobrist key of the current position, which covers every disc on the
+   * board and the player whose turn it is. Equal positions have equal keys; different positions
+   * collide with negligible probability. See {@link Zobrist}.
+   *
+   * @return the Zobrist key of the current position
+   */
+  long getPositionKey();
+
   /**
    * Returns the player whose turn it is.
    * @return the player whose turn it is
@@ -108,6 +120,20 @@ public interface ReadonlyReversiModel {
    */
   Board copyBoard();
 
+  /**
+   * Returns an immutable copy of the current state of the game, which stays the same as the game
+   * goes on and can be read from any thread. Unlike {@link #copyBoard}, the copy shares the
+   * board with the game until the game changes it, so it is made in constant time.
+   *
+   * <p>Taking a snapshot is not a plain read, since it marks the shared board as frozen. Call it
+   * on the thread that changes the game, unless the implementation says otherwise; a started
+   * {@link AbstractReversi} allows any thread.
+   *
+   * @return a snapshot of the game
+   * @throws IllegalStateException if the game has not started
+   */
+  ReadonlyReversiModel snapshot();
+
   /**
    * Returns true if the game is over, false otherwise.
    * @param q the q coordinate (row)
@@ -134,6 +160,15 @@ public interface ReadonlyReversiModel {
    */
   boolean hasValidMoves(Player player);
 
+  /**
+   * Returns every valid move for the given player, ordered by row and then by column. As with
+   * {@code isValidMove}, only the player whose turn it is has valid moves.
+   *
+   * @param player the player
+   * @return the coordinates (q, r) of every valid move for the given player
+   */
+  List<Point> getLegalMoves(Player player);
+
   /**
    * Returns true if this game of reversi is hex-based or not.
    * @return true if this game of reversi is hex-based
@@ -0,0 +1,196 @@
+package model.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.player.Player;
+
+/**
+ * Represents an immutable copy of a game of Reversi at one moment, made by
+ * {@link ReadonlyReversiModel#snapshot}. A snapshot shares its cells with the live game until the
+ * game changes them, so it is made in constant time and keeps alive only the cells changed since.
+ * Nothing about it ever changes, so it can be read, or copied into an {@link AbstractReversi} to
+ * be searched, on any thread while the game goes on.
+ *
+ * <p>Legal moves are worked out from the cells each time they are asked for, rather than kept
+ * up to date as the live game does.
+ */
+public final class ReversiSnapshot implements ReadonlyReversiModel {
+  private final int sideLength;
+  private final boolean isHex;
+  private final Status status;
+  private final Player turn;
+  private final int blackCount;
+  private final int whiteCount;
+  private final int emptyCount;
+  private final long positionKey;
+  private final SnapshotBoard board;
+
+  /**
+   * Constructs a snapshot of a game with the given state.
+   *
+   * @param sideLength  the side length of the board
+   * @param isHex       true if the board is hexagonal
+   * @param status      the status of the game
+   * @param turn        the player whose turn it is
+   * @param blackCount  the number of black discs
+   * @param whiteCount  the number of white discs
+   * @param emptyCount  the number of empty cells
+   * @param positionKey the Zobrist key of the position
+   * @param board       the frozen cells of the game
+   */
+  ReversiSnapshot(int sideLength, boolean isHex, Status status, Player turn, int blackCount,
+                  int whiteCount, int emptyCount, long positionKey, SnapshotBoard board) {
+    this.sideLength = sideLength;
+    this.isHex = isHex;
+    this.status = status;
+    this.turn = turn;
+    this.blackCount = blackCount;
+    this.whiteCount = whiteCount;
+    this.emptyCount = emptyCount;
+    this.positionKey = positionKey;
+    this.board = board;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.board.getDim();
+  }
+
+  @Override
+  public int getWidth() {
+    return this.board.getDim();
+  }
+
+  @Override
+  public int getSideLen() {
+    return this.sideLength;
+  }
+
+  @Override
+  public Status getStatus() {
+    return this.status;
+  }
+
+  /**
+   * Returns the frozen board of this snapshot. The board and its tiles throw
+   * {@link UnsupportedOperationException} on any attempt to change them.
+   *
+   * @return the board
+   */
+  @Override
+  public Board getBoard() {
+    return this.board;
+  }
+
+  @Override
+  public int getScore(Player player) {
+    switch (player) {
+      case BLACK:
+        return this.blackCount;
+      case WHITE:
+        return this.whiteCount;
+      default:
+        return this.emptyCount;
+    }
+  }
+
+  @Override
+  public long getPositionKey() {
+    return this.positionKey;
+  }
+
+  @Override
+  public Player getTurn() {
+    return this.turn;
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r) {
+    if (q < 0 || q >= this.board.getDim() || r < 0 || r >= this.board.getDim()) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    return this.board.getTileAt(q, r);
+  }
+
+  @Override
+  public Player nextTurn() {
+    return this.turn == Player.BLACK ? Player.WHITE : Player.BLACK;
+  }
+
+  @Override
+  public Player determineWinner() {
+    if (this.status == Status.Playing) {
+      throw new IllegalStateException("Game is not over");
+    }
+    if (this.blackCount > this.whiteCount) {
+      return Player.BLACK;
+    } else if (this.blackCount < this.whiteCount) {
+      return Player.WHITE;
+    } else {
+      return Player.EMPTY;
+    }
+  }
+
+  @Override
+  public Board copyBoard() {
+    return this.board.copy();
+  }
+
+  @Override
+  public boolean isValidMove(int q, int r, Player player) {
+    if (q < 0 || q >= this.board.getDim() || r < 0 || r >= this.board.getDim()) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    // moves are only ever valid for the player whose turn it is
+    return player == this.turn && this.board.isCell(q, r)
+            && this.board.isLegalMove(q, r, player);
+  }
+
+  @Override
+  public int moveScore(int q, int r) {
+    if (!this.board.isCell(q, r)) {
+      return 0;
+    }
+    int flipped = this.board.countFlips(q, r, this.turn);
+    return flipped == 0 ? 0 : flipped + 1;
+  }
+
+  @Override
+  public boolean hasValidMoves(Player player) {
+    return player == this.turn && this.board.hasLegalMove(player);
+  }
+
+  @Override
+  public List<Point> getLegalMoves(Player player) {
+    List<Point> moves = new ArrayList<>();
+    if (player != this.turn) {
+      return moves;
+    }
+    int dim = this.board.getDim();
+    for (int r = 0; r < dim; r++) {
+      for (int q = 0; q < dim; q++) {
+        if (this.board.isCell(q, r) && this.board.isLegalMove(q, r, player)) {
+          moves.add(new Point(q, r));
+        }
+      }
+    }
+    return moves;
+  }
+
+  @Override
+  public boolean isHex() {
+    return this.isHex;
+  }
+
+  /**
+   * Returns this snapshot, which never changes.
+   *
+   * @return this snapshot
+   */
+  @Override
+  public ReadonlyReversiModel snapshot() {
+    return this;
+  }
+}
@@ -0,0 +1,49 @@
+package model.model;
+
+/**
+ * Represents a game of Reversi that a search can play forwards and backwards in place.
+ * Moves made with {@code doMove} and {@code doPass} are undone in reverse order with
+ * {@code undoMove}, so a tree search explores every node on one board with no copying.
+ * These methods do not notify listeners or end the game, so they are meant for private copies
+ * of a game (see {@link AbstractReversi#AbstractReversi(ReadonlyReversiModel)}), not for the
+ * game that the players are playing.
+ */
+public interface SearchableReversiModel extends ReadonlyReversiModel {
+  /**
+   * Plays a move for the player whose turn it is and records how to undo it.
+   *
+   * @param q the q coordinate of the move
+   * @param r the r coordinate of the move
+   * @throws IllegalArgumentException if the coordinates are invalid
+   * @throws IllegalStateException    if the move is not valid for the player whose turn it is
+   */
+  void doMove(int q, int r);
+
+  /**
+   * Passes the turn to the other player and records how to undo it.
+   */
+  void doPass();
+
+  /**
+   * Undoes the most recent move or pass made with {@code doMove} or {@code doPass}.
+   *
+   * @throws IllegalStateException if there is nothing to undo
+   */
+  void undoMove();
+
+  /**
+   * Writes the valid moves of the player whose turn it is into the given array, as cell indices
+   * {@code r * getWidth() + q}, ordered by row and then by column.
+   *
+   * @param moves the array to fill, with room for every empty cell of the board
+   * @return the number of valid moves written
+   */
+  int fillLegalMoves(int[] moves);
+
+  /**
+   * Sets the listener told about every cell changed by {@code doMove} and {@code undoMove}.
+   *
+   * @param listener the listener, or null for none
+   */
+  void setCellListener(CellListener listener);
+}
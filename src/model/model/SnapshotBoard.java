@@ -0,0 +1,239 @@
+package model.model;
+
+import model.player.Player;
+
+/**
+ * Represents a read-only view of the cells of a game frozen by {@link PersistentCells}. The view
+ * shares the frozen chunks with the game it came from and with every other snapshot frozen
+ * before the game next changed those cells, so making one takes constant time. It can be read
+ * from any thread while the game goes on; every method that would change it throws
+ * {@link UnsupportedOperationException}, and so do the tiles it hands out.
+ */
+final class SnapshotBoard implements PackedBoard {
+  private final int dim;
+  private final boolean isHex;
+  private final RayTable table;
+  private final byte[][] chunks;
+
+  /**
+   * Constructs a view of the given frozen cells.
+   *
+   * @param dim    dimension of the board
+   * @param isHex  true if the board is hexagonal
+   * @param chunks the cells, as returned by {@link PersistentCells#freeze}
+   */
+  SnapshotBoard(int dim, boolean isHex, byte[][] chunks) {
+    this.dim = dim;
+    this.isHex = isHex;
+    this.table = RayTable.forBoard(dim, isHex);
+    this.chunks = chunks;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.dim;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.dim;
+  }
+
+  @Override
+  public int getDim() {
+    return this.dim;
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r) {
+    if (!this.isCell(q, r)) {
+      return null;
+    }
+    return new PackedTile(this, q, r, this.isHex);
+  }
+
+  /**
+   * Returns true if the given coordinates are a cell of this board.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return true if there is a cell at the given coordinates
+   */
+  boolean isCell(int q, int r) {
+    return q >= 0 && q < this.dim && r >= 0 && r < this.dim && this.table.valid[r * this.dim + q];
+  }
+
+  @Override
+  public void setTileAt(int q, int r) {
+    throw new UnsupportedOperationException("Snapshot cannot be changed");
+  }
+
+  @Override
+  public void addStartingCells(int dim, int sideLength) {
+    throw new UnsupportedOperationException("Snapshot cannot be changed");
+  }
+
+  @Override
+  public Player getPlayerAt(int q, int r) {
+    return PersistentCells.get(this.chunks, this.index(q, r));
+  }
+
+  @Override
+  public void setPlayerAt(int q, int r, Player player) {
+    throw new UnsupportedOperationException("Snapshot cannot be changed");
+  }
+
+  @Override
+  public boolean isLegalMove(int q, int r, Player player) {
+    int index = this.index(q, r);
+    if (PersistentCells.get(this.chunks, index) != Player.EMPTY) {
+      return false;
+    }
+    for (int d = 0; d < this.table.directions; d++) {
+      if (this.flipsInDirection(index, d, player) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int countFlips(int q, int r, Player player) {
+    int index = this.index(q, r);
+    int count = 0;
+    for (int d = 0; d < this.table.directions; d++) {
+      count += this.flipsInDirection(index, d, player);
+    }
+    return count;
+  }
+
+  @Override
+  public int applyMove(int q, int r, Player player, int[] flips) {
+    throw new UnsupportedOperationException("Snapshot cannot be changed");
+  }
+
+  @Override
+  public boolean hasLegalMove(Player player) {
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        if (this.table.valid[r * this.dim + q] && this.isLegalMove(q, r, player)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int countDiscs(Player player) {
+    int count = 0;
+    for (int index = 0; index < this.dim * this.dim; index++) {
+      if (this.table.valid[index] && PersistentCells.get(this.chunks, index) == player) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns a byte array board holding the same discs, which unlike this view can be changed.
+   *
+   * @return an independent copy of this board
+   */
+  @Override
+  public PackedBoard copy() {
+    ArrayBoard copy = new ArrayBoard(this.dim, this.isHex);
+    for (int index = 0; index < this.dim * this.dim; index++) {
+      if (this.table.valid[index]) {
+        copy.setPlayerAt(index % this.dim, index / this.dim,
+                PersistentCells.get(this.chunks, index));
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * Returns the number of discs the given player would flip in one direction by playing on the
+   * given cell.
+   *
+   * @param index     the index of the cell of the move
+   * @param direction the index of the direction
+   * @param player    the player making the move
+   * @return the number of discs flipped in that direction
+   */
+  private int flipsInDirection(int index, int direction, Player player) {
+    int[] rays = this.table.rays;
+    int start = this.table.start(index, direction);
+    int end = this.table.end(index, direction);
+    for (int i = start; i < end; i++) {
+      Player owner = PersistentCells.get(this.chunks, rays[i]);
+      if (owner == player) {
+        return i - start;
+      }
+      if (owner == Player.EMPTY) {
+        return 0;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the index of the given coordinates.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return the index {@code r * dim + q}
+   * @throws IllegalArgumentException if the coordinates are not a cell of this board
+   */
+  private int index(int q, int r) {
+    if (!this.isCell(q, r)) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    return r * this.dim + q;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (!(other instanceof SnapshotBoard)) {
+      return false;
+    }
+    SnapshotBoard otherBoard = (SnapshotBoard) other;
+    if (this.dim != otherBoard.dim || this.isHex != otherBoard.isHex) {
+      return false;
+    }
+    for (int index = 0; index < this.dim * this.dim; index++) {
+      if (PersistentCells.get(this.chunks, index)
+              != PersistentCells.get(otherBoard.chunks, index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 17;
+    result = 31 * result + this.dim;
+    result = 31 * result + Boolean.hashCode(this.isHex);
+    for (int index = 0; index < this.dim * this.dim; index++) {
+      result = 31 * result + PersistentCells.get(this.chunks, index).ordinal();
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = this.getTileAt(q, r);
+        result.append(tile == null ? " " : tile.toString()).append(" ");
+      }
+      result.append("\n");
+    }
+    return result.toString();
+  }
+}
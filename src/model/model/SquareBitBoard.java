@@ -0,0 +1,304 @@
+package model.model;
+
+import model.player.Player;
+
+/**
+ * Represents a square board of up to 8x8 cells stored as a pair of bitboards, one {@code long}
+ * per player. The cell at (q, r) is bit {@code r * dim + q}. Moves are generated and discs are
+ * flipped with shifts and masks instead of by walking tiles.
+ */
+public class SquareBitBoard implements PackedBoard {
+  // the largest dimension that fits in a single long
+  public static final int MAX_DIM = 8;
+
+  private final int dim;
+  // every bit that is a cell of the board
+  private final long full;
+  // the shift amount and the wrap-around mask for each of the SQUARE_DIRECTIONS
+  private final int[] shifts;
+  private final long[] masks;
+  // the discs of each player
+  private long black;
+  private long white;
+
+  /**
+   * Constructs an empty SquareBitBoard with the given dimension.
+   *
+   * @param dim dimension of the board
+   * @throws IllegalArgumentException if the dimension is larger than {@code MAX_DIM}
+   */
+  public SquareBitBoard(int dim) {
+    if (dim < 1 || dim > MAX_DIM) {
+      throw new IllegalArgumentException("Bitboards only support square boards up to "
+              + MAX_DIM + "x" + MAX_DIM);
+    }
+    this.dim = dim;
+    this.full = dim == MAX_DIM ? -1L : (1L << (dim * dim)) - 1;
+
+    long firstCol = 0;
+    for (int r = 0; r < dim; r++) {
+      firstCol |= 1L << (r * dim);
+    }
+    long lastCol = firstCol << (dim - 1);
+
+    int[][] directions = ReadonlyReversiModel.SQUARE_DIRECTIONS;
+    this.shifts = new int[directions.length];
+    this.masks = new long[directions.length];
+    for (int d = 0; d < directions.length; d++) {
+      this.shifts[d] = directions[d][0] + directions[d][1] * dim;
+      // a disc that moves right must not land in the first column, and vice versa
+      long mask = this.full;
+      if (directions[d][0] == 1) {
+        mask &= ~firstCol;
+      } else if (directions[d][0] == -1) {
+        mask &= ~lastCol;
+      }
+      this.masks[d] = mask;
+    }
+  }
+
+  @Override
+  public int getHeight() {
+    return this.dim;
+  }
+
+  @Override
+  public int getWidth() {
+    return this.dim;
+  }
+
+  @Override
+  public int getDim() {
+    return this.dim;
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
+      return null;
+    }
+    return new PackedTile(this, q, r, false);
+  }
+
+  @Override
+  public void setTileAt(int q, int r) {
+    this.setPlayerAt(q, r, Player.EMPTY);
+  }
+
+  @Override
+  public void addStartingCells(int dim, int sideLength) {
+    this.black = 0;
+    this.white = 0;
+    int half = sideLength / 2;
+    this.setPlayerAt(half - 1, half - 1, Player.BLACK);
+    this.setPlayerAt(half - 1, half, Player.WHITE);
+    this.setPlayerAt(half, half - 1, Player.WHITE);
+    this.setPlayerAt(half, half, Player.BLACK);
+  }
+
+  @Override
+  public Player getPlayerAt(int q, int r) {
+    long bit = 1L << this.index(q, r);
+    if ((this.black & bit) != 0) {
+      return Player.BLACK;
+    } else if ((this.white & bit) != 0) {
+      return Player.WHITE;
+    }
+    return Player.EMPTY;
+  }
+
+  @Override
+  public void setPlayerAt(int q, int r, Player player) {
+    long bit = 1L << this.index(q, r);
+    this.black &= ~bit;
+    this.white &= ~bit;
+    if (player == Player.BLACK) {
+      this.black |= bit;
+    } else if (player == Player.WHITE) {
+      this.white |= bit;
+    }
+  }
+
+  @Override
+  public boolean isLegalMove(int q, int r, Player player) {
+    long move = 1L << this.index(q, r);
+    if (((this.black | this.white) & move) != 0) {
+      return false;
+    }
+    return this.flips(move, player) != 0;
+  }
+
+  @Override
+  public int countFlips(int q, int r, Player player) {
+    return Long.bitCount(this.flips(1L << this.index(q, r), player));
+  }
+
+  @Override
+  public int applyMove(int q, int r, Player player, int[] flips) {
+    long move = 1L << this.index(q, r);
+    long flipped = 0;
+    for (int d = 0; d < this.shifts.length; d++) {
+      long line = this.flipsInDirection(move, d, player);
+      if (flips != null) {
+        flips[d] = Long.bitCount(line);
+      }
+      flipped |= line;
+    }
+    if (player == Player.BLACK) {
+      this.black |= move | flipped;
+      this.white &= ~flipped;
+    } else {
+      this.white |= move | flipped;
+      this.black &= ~flipped;
+    }
+    return Long.bitCount(flipped);
+  }
+
+  @Override
+  public boolean hasLegalMove(Player player) {
+    return this.legalMoves(player) != 0;
+  }
+
+  @Override
+  public int countDiscs(Player player) {
+    switch (player) {
+      case BLACK:
+        return Long.bitCount(this.black);
+      case WHITE:
+        return Long.bitCount(this.white);
+      default:
+        return Long.bitCount(~(this.black | this.white) & this.full);
+    }
+  }
+
+  @Override
+  public PackedBoard copy() {
+    SquareBitBoard copy = new SquareBitBoard(this.dim);
+    copy.black = this.black;
+    copy.white = this.white;
+    return copy;
+  }
+
+  /**
+   * Returns the set of cells where the given player may move, as a bitboard.
+   *
+   * @param player the player making the move
+   * @return a bitboard of every legal move for the given player
+   */
+  public long legalMoves(Player player) {
+    long own = player == Player.BLACK ? this.black : this.white;
+    long opp = player == Player.BLACK ? this.white : this.black;
+    long empty = ~(own | opp) & this.full;
+    long moves = 0;
+    for (int d = 0; d < this.shifts.length; d++) {
+      // grow runs of opponent discs away from our own discs, one cell at a time
+      long run = this.shift(own, d) & opp;
+      for (int i = 0; i < this.dim - 3; i++) {
+        run |= this.shift(run, d) & opp;
+      }
+      moves |= this.shift(run, d) & empty;
+    }
+    return moves;
+  }
+
+  /**
+   * Returns the discs that would be flipped by placing a disc for the given player on the given
+   * bit, as a bitboard.
+   *
+   * @param move   the bit of the cell being played
+   * @param player the player making the move
+   * @return a bitboard of every disc that would be flipped
+   */
+  private long flips(long move, Player player) {
+    long flipped = 0;
+    for (int d = 0; d < this.shifts.length; d++) {
+      flipped |= this.flipsInDirection(move, d, player);
+    }
+    return flipped;
+  }
+
+  /**
+   * Returns the discs that would be flipped in one direction by placing a disc for the given
+   * player on the given bit, as a bitboard.
+   *
+   * @param move      the bit of the cell being played
+   * @param direction the index of the direction in {@code SQUARE_DIRECTIONS}
+   * @param player    the player making the move
+   * @return a bitboard of every disc that would be flipped in that direction
+   */
+  private long flipsInDirection(long move, int direction, Player player) {
+    long own = player == Player.BLACK ? this.black : this.white;
+    long opp = player == Player.BLACK ? this.white : this.black;
+    long line = 0;
+    long cell = this.shift(move, direction);
+    while ((cell & opp) != 0) {
+      line |= cell;
+      cell = this.shift(cell, direction);
+    }
+    // the line is only captured if it is closed off by one of our own discs
+    return (cell & own) != 0 ? line : 0;
+  }
+
+  /**
+   * Moves every bit of the given bitboard one cell in the given direction, dropping bits that
+   * leave the board.
+   *
+   * @param bits      the bitboard to shift
+   * @param direction the index of the direction in {@code SQUARE_DIRECTIONS}
+   * @return the shifted bitboard
+   */
+  private long shift(long bits, int direction) {
+    int s = this.shifts[direction];
+    long shifted = s > 0 ? bits << s : bits >>> -s;
+    return shifted & this.masks[direction];
+  }
+
+  /**
+   * Returns the bit index of the given coordinates.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return the bit index of the given coordinates
+   * @throws IllegalArgumentException if the coordinates are invalid
+   */
+  private int index(int q, int r) {
+    if (q < 0 || q >= this.dim || r < 0 || r >= this.dim) {
+      throw new IllegalArgumentException("Invalid coordinates");
+    }
+    return r * this.dim + q;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (!(other instanceof SquareBitBoard)) {
+      return false;
+    }
+    SquareBitBoard otherBoard = (SquareBitBoard) other;
+    return this.dim == otherBoard.dim && this.black == otherBoard.black
+            && this.white == otherBoard.white;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 17;
+    result = 31 * result + this.dim;
+    result = 31 * result + Long.hashCode(this.black);
+    result = 31 * result + Long.hashCode(this.white);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    for (int r = 0; r < this.dim; r++) {
+      for (int q = 0; q < this.dim; q++) {
+        result.append(this.getPlayerAt(q, r)).append(" ");
+      }
+      result.append("\n");
+    }
+    return result.toString();
+  }
+}
@@ -20,4 +20,14 @@ public class SquareReversi extends AbstractReversi {
   public SquareReversi(int sideLength) {
     super(sideLength, false);
   }
+
+  /**
+   * Constructor that takes in a sideLength and the way the board should store its discs.
+   *
+   * @param sideLength     length of one side of the board
+   * @param representation how the board stores its discs
+   */
+  public SquareReversi(int sideLength, BoardRepresentation representation) {
+    super(sideLength, false, representation);
+  }
 }
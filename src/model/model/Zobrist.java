@@ -0,0 +1,101 @@
+package model.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.player.Player;
+
+/**
+ * Represents the Zobrist keys for boards with a given number of cells. A position's key is the
+ * XOR of one random 64-bit key per occupied cell and color, and of {@code WHITE_TO_MOVE} when it
+ * is white's turn, so a move changes the key with a handful of XORs.
+ * The keys come from a fixed seed, so a position has the same key in every run of the program.
+ */
+public class Zobrist {
+  // XORed into the key of every position where white is to move
+  public static final long WHITE_TO_MOVE = 0x9E3779B97F4A7C15L;
+
+  // the keys are immutable, so every board with the same number of cells shares one table
+  private static final Map<Integer, Zobrist> TABLES = new ConcurrentHashMap<>();
+
+  // two keys per cell index: black at 2 * index, white at 2 * index + 1
+  private final long[] keys;
+
+  /**
+   * Generates the keys for the given number of cells.
+   *
+   * @param cells the number of cell indices, {@code dim * dim} for a board indexed r * dim + q
+   */
+  private Zobrist(int cells) {
+    this.keys = new long[cells * 2];
+    long state = 0x5DEECE66DL;
+    for (int i = 0; i < this.keys.length; i++) {
+      // splitmix64
+      state += 0x9E3779B97F4A7C15L;
+      long z = state;
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      this.keys[i] = z ^ (z >>> 31);
+    }
+  }
+
+  /**
+   * Returns the keys for a board indexed r * dim + q with the given dimension.
+   *
+   * @param dim dimension of the board
+   * @return the keys for boards of that dimension
+   */
+  public static Zobrist forDim(int dim) {
+    return TABLES.computeIfAbsent(dim * dim, Zobrist::new);
+  }
+
+  /**
+   * Returns the key of a disc of the given player on the given cell.
+   *
+   * @param index  the index r * dim + q of the cell
+   * @param player the player, {@code Player.EMPTY} has a key of 0
+   * @return the key of the disc
+   */
+  public long key(int index, Player player) {
+    switch (player) {
+      case BLACK:
+        return this.keys[2 * index];
+      case WHITE:
+        return this.keys[2 * index + 1];
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Returns the value to XOR into a key when the disc on the given cell changes color.
+   *
+   * @param index the index r * dim + q of the cell
+   * @return the key of a black disc XORed with the key of a white disc
+   */
+  public long flip(int index) {
+    return this.keys[2 * index] ^ this.keys[2 * index + 1];
+  }
+
+  /**
+   * Computes the key of the given board from scratch.
+   *
+   * @param board  the board
+   * @param toMove the player whose turn it is
+   * @return the Zobrist key of the position
+   */
+  public static long hash(Board board, Player toMove) {
+    int dim = board.getWidth();
+    Zobrist zobrist = forDim(dim);
+    long hash = toMove == Player.WHITE ? WHITE_TO_MOVE : 0;
+    for (int r = 0; r < dim; r++) {
+      for (int q = 0; q < dim; q++) {
+        Tile tile = board.getTileAt(q, r);
+        if (tile != null) {
+          hash ^= zobrist.key(r * dim + q, tile.getPlayerAt());
+        }
+      }
+    }
+    return hash;
+  }
+}
@@ -1,9 +1,11 @@
 package model.player;
 
 import java.awt.Point;
+import java.util.Optional;
 
 import model.model.ReadonlyReversiModel;
 import strategy.InfallibleReversiStrategy;
+import strategy.OpeningBook;
 
 /**
  * Represents a machine player in a game of Reversi.
@@ -14,6 +16,7 @@ public class MachineReversiPlayer implements ReversiPlayer {
   private final ReadonlyReversiModel model;
   private PlayerFeatures features;
   private final Player piece;
+  private final OpeningBook book;
 
   /**
    * Constructs a MachineReversiPlayer.
@@ -23,9 +26,23 @@ public class MachineReversiPlayer implements ReversiPlayer {
    */
   public MachineReversiPlayer(ReadonlyReversiModel model, InfallibleReversiStrategy strategy,
                               Player piece) {
+    this(model, strategy, piece, null);
+  }
+
+  /**
+   * Constructs a MachineReversiPlayer that plays the moves of an opening book while the game is
+   * in the book, and the moves of its strategy after that.
+   * @param model the model for the game
+   * @param strategy the strategy to use
+   * @param piece the piece to represent the player
+   * @param book the opening book to consult before the strategy, or null for none
+   */
+  public MachineReversiPlayer(ReadonlyReversiModel model, InfallibleReversiStrategy strategy,
+                              Player piece, OpeningBook book) {
     this.model = model;
     this.strategy = strategy;
     this.piece = piece;
+    this.book = book;
   }
 
   @Override
@@ -35,6 +52,13 @@ public class MachineReversiPlayer implements ReversiPlayer {
 
   @Override
   public void makeMove() {
+    if (book != null) {
+      Optional<Point> booked = book.lookup(model);
+      if (booked.isPresent() && model.isValidMove(booked.get().x, booked.get().y, piece)) {
+        features.makeMove(booked.get().x, booked.get().y);
+        return;
+      }
+    }
     try {
       Point coords = strategy.chooseMove(model, piece);
       features.makeMove(coords.x, coords.y);
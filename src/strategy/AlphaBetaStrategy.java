@@ -0,0 +1,195 @@
+package strategy;
+
+import java.awt.Point;
+
+import model.model.AbstractReversi;
+import model.model.ReadonlyReversiModel;
+import model.player.Player;
+
+/**
+ * Represents a strategy for an AI player that looks ahead with a negamax search with alpha-beta
+ * pruning. The search deepens one ply at a time until its time budget runs out, and plays the best
+ * move of the deepest search it finished, so every move is chosen within the budget no matter the
+ * size of the board.
+ */
+public class AlphaBetaStrategy implements InfallibleReversiStrategy {
+  // the deepest search, in plies, when the time budget allows it
+  public static final int DEFAULT_MAX_DEPTH = 64;
+  // the size of the default transposition table, 2^18 buckets or 8 MiB
+  public static final int DEFAULT_TABLE_BITS = 18;
+
+  private final long timeBudgetMillis;
+  private final int maxDepth;
+  private final PositionEvaluator evaluator;
+  private final TranspositionTable table;
+  private final MoveOrderer orderer;
+  private int lastDepth;
+  private long lastNodes;
+
+  /**
+   * Constructs an AlphaBetaStrategy with the given time budget per move, using the
+   * {@link StandardEvaluator}, a transposition table of the default size and a
+   * {@link MoveOrderer} with every heuristic, both of which are kept from move to move.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   */
+  public AlphaBetaStrategy(long timeBudgetMillis) {
+    this(timeBudgetMillis, DEFAULT_MAX_DEPTH, new StandardEvaluator(),
+            new TranspositionTable(DEFAULT_TABLE_BITS), new MoveOrderer());
+  }
+
+  /**
+   * Constructs an AlphaBetaStrategy without a transposition table or move orderer.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   * @param maxDepth         the deepest search in plies
+   * @param evaluator        the evaluation of positions at the end of the search
+   * @throws IllegalArgumentException if the budget is negative or the depth is not positive
+   */
+  public AlphaBetaStrategy(long timeBudgetMillis, int maxDepth, PositionEvaluator evaluator) {
+    this(timeBudgetMillis, maxDepth, evaluator, null, null);
+  }
+
+  /**
+   * Constructs an AlphaBetaStrategy.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   * @param maxDepth         the deepest search in plies
+   * @param evaluator        the evaluation of positions at the end of the search
+   * @param table            the transposition table to share results through, or null for none
+   * @param orderer          the ordering of moves inside the search, or null to search the
+   *                         stored best move first and the rest in row order
+   * @throws IllegalArgumentException if the budget is negative or the depth is not positive
+   */
+  public AlphaBetaStrategy(long timeBudgetMillis, int maxDepth, PositionEvaluator evaluator,
+                           TranspositionTable table, MoveOrderer orderer) {
+    if (timeBudgetMillis < 0 || maxDepth < 1) {
+      throw new IllegalArgumentException("Invalid time budget or depth");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.maxDepth = maxDepth;
+    this.evaluator = evaluator;
+    this.table = table;
+    this.orderer = orderer;
+  }
+
+  @Override
+  public Point chooseMove(ReadonlyReversiModel model, Player player) throws IllegalStateException {
+    long deadline = System.nanoTime() + this.timeBudgetMillis * 1_000_000;
+    if (!model.hasValidMoves(player)) {
+      throw new IllegalStateException("No valid moves");
+    }
+    NegamaxSearch search = new NegamaxSearch(new AbstractReversi(model), this.evaluator);
+    search.setTable(this.table);
+    search.setOrderer(this.orderer);
+    if (this.orderer != null) {
+      this.orderer.newSearch();
+    }
+    int[] moves = new int[model.getWidth() * model.getHeight()];
+    int count = search.getModel().fillLegalMoves(moves);
+    int dim = model.getWidth();
+
+    // the moves are kept sorted best first, so each iteration searches the last best move first
+    int[] scores = new int[count];
+    this.lastDepth = 0;
+    for (int depth = 1; depth <= this.maxDepth && count > 1; depth++) {
+      search.setDeadline(deadline);
+      if (!searchRoot(search, moves, scores, count, depth)) {
+        break;
+      }
+      this.lastDepth = depth;
+      if (Math.abs(scores[0]) >= NegamaxSearch.WIN_SCORE) {
+        // the outcome is already decided
+        break;
+      }
+    }
+    this.lastNodes = search.getNodes();
+    return new Point(moves[0] % dim, moves[0] / dim);
+  }
+
+  /**
+   * Returns the depth in plies of the deepest search finished for the last chosen move.
+   *
+   * @return the depth of the last move's search
+   */
+  public int getLastDepth() {
+    return this.lastDepth;
+  }
+
+  /**
+   * Returns the number of positions searched for the last chosen move.
+   *
+   * @return the node count of the last move's search
+   */
+  public long getLastNodes() {
+    return this.lastNodes;
+  }
+
+  /**
+   * Returns the transposition table of this strategy.
+   *
+   * @return the table, or null if the strategy searches without one
+   */
+  public TranspositionTable getTable() {
+    return this.table;
+  }
+
+  /**
+   * Scores every move at the root of a search to the given depth and sorts the moves best first.
+   * The first move is searched with a full window, and the others with a null window around the
+   * best score so far, re-searching only the moves that beat it.
+   *
+   * @param search the search to use, positioned at the root
+   * @param moves  the moves to score, with the most promising first
+   * @param scores receives the score of each move, sorted along with them
+   * @param count  the number of moves
+   * @param depth  the depth of the search, counting the root move
+   * @return false if the search was aborted, in which case the moves and scores are unchanged
+   */
+  static boolean searchRoot(NegamaxSearch search, int[] moves, int[] scores, int count,
+                            int depth) {
+    int[] iteration = new int[count];
+    int alpha = -NegamaxSearch.INFINITY;
+    for (int i = 0; i < count; i++) {
+      int score;
+      if (i == 0) {
+        score = search.searchMove(moves[i], depth - 1, alpha, NegamaxSearch.INFINITY);
+      } else {
+        score = search.searchMove(moves[i], depth - 1, alpha, alpha + 1);
+        if (score > alpha && !search.isAborted()) {
+          score = search.searchMove(moves[i], depth - 1, alpha, NegamaxSearch.INFINITY);
+        }
+      }
+      if (search.isAborted()) {
+        return false;
+      }
+      iteration[i] = score;
+      alpha = Math.max(alpha, score);
+    }
+    System.arraycopy(iteration, 0, scores, 0, count);
+    sortBestFirst(moves, scores, count);
+    return true;
+  }
+
+  /**
+   * Sorts the moves by descending score, keeping the order of moves with equal scores.
+   *
+   * @param moves  the moves to sort
+   * @param scores the score of each move, sorted along with them
+   * @param count  the number of moves
+   */
+  static void sortBestFirst(int[] moves, int[] scores, int count) {
+    for (int i = 1; i < count; i++) {
+      int move = moves[i];
+      int score = scores[i];
+      int j = i - 1;
+      while (j >= 0 && scores[j] < score) {
+        moves[j + 1] = moves[j];
+        scores[j + 1] = scores[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      scores[j + 1] = score;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package strategy;
+
+import model.model.ReadonlyReversiModel;
+import model.model.SearchableReversiModel;
+import model.model.Tile;
+import model.player.Player;
+
+/**
+ * Represents an exact search of a position to the end of the game, for positions with few empty
+ * cells left. It returns the final disc differential under perfect play rather than an estimate.
+ *
+ * <p>Two move orderings keep the search small. While many cells are empty, the moves that leave
+ * the opponent the fewest replies are searched first (fastest-first), which finds cutoffs early.
+ * Throughout, moves into regions with an odd number of empty cells come first (parity), since
+ * whoever moves last into a region tends to keep it. The regions are the connected groups of empty
+ * cells when the solve starts. A solver is not thread safe.
+ */
+public class EndgameSolver {
+  // above this many empty cells, moves are ordered by the opponent's replies
+  private static final int FASTEST_FIRST_EMPTIES = 6;
+  private static final int CLOCK_INTERVAL = 1024;
+  private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+  private final SearchableReversiModel model;
+  private final int dim;
+  // the region of every empty cell at the start of the solve, and how many of its cells are empty
+  private final int[] region;
+  private final int[] regionEmpties;
+  // one move buffer and one key buffer per number of empty cells
+  private final int[][] moveBuffers;
+  private final int[][] keyBuffers;
+  private long deadline = Long.MAX_VALUE;
+  private boolean aborted;
+  private long nodes;
+
+  /**
+   * Constructs an EndgameSolver for the current position of the given model.
+   *
+   * @param model the position to solve, which the solver plays moves on and takes back
+   */
+  public EndgameSolver(SearchableReversiModel model) {
+    this.model = model;
+    this.dim = model.getWidth();
+    int cells = this.dim * model.getHeight();
+    this.region = new int[cells];
+    this.regionEmpties = new int[cells];
+    int empties = this.findRegions();
+    this.moveBuffers = new int[empties + 1][];
+    this.keyBuffers = new int[empties + 1][];
+  }
+
+  /**
+   * Sets the time, as a value of {@link System#nanoTime()}, after which the solve aborts.
+   *
+   * @param deadline the deadline in nanoseconds
+   */
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+    this.aborted = false;
+  }
+
+  /**
+   * Returns whether the solve ran out of time, in which case its results are meaningless.
+   *
+   * @return true if the solve was aborted
+   */
+  public boolean isAborted() {
+    return this.aborted;
+  }
+
+  /**
+   * Returns the number of positions searched by this solver so far.
+   *
+   * @return the number of nodes searched
+   */
+  public long getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Returns the final disc differential of the position under perfect play, for the player whose
+   * turn it is.
+   *
+   * @return the exact final disc differential
+   */
+  public int solve() {
+    return this.solve(-INFINITY, INFINITY);
+  }
+
+  /**
+   * Returns the final disc differential of the position under perfect play, for the player whose
+   * turn it is, if it lies strictly between alpha and beta, and otherwise a bound on the side of
+   * the window it falls on.
+   *
+   * @param alpha the differential the player to move is already guaranteed
+   * @param beta  the differential the opponent is already guaranteed, negated
+   * @return the final disc differential, or a bound on it
+   */
+  public int solve(int alpha, int beta) {
+    return this.search(alpha, beta, false, this.model.getScore(Player.EMPTY));
+  }
+
+  /**
+   * Finds the best move of the player whose turn it is.
+   *
+   * @param result receives the exact final disc differential after the best move at index 0
+   * @return the cell index {@code r * width + q} of the best move, or -1 if the player to move
+   *         has no moves
+   */
+  public int bestMove(int[] result) {
+    int empties = this.model.getScore(Player.EMPTY);
+    int[] moves = this.moveBuffer(empties);
+    int count = this.model.fillLegalMoves(moves);
+    if (count == 0) {
+      return -1;
+    }
+    this.order(moves, count, empties);
+    int alpha = -INFINITY;
+    int best = moves[0];
+    for (int i = 0; i < count; i++) {
+      this.play(moves[i]);
+      int score = -this.search(-INFINITY, -alpha, false, empties - 1);
+      this.undo(moves[i]);
+      if (this.aborted) {
+        return best;
+      }
+      if (score > alpha) {
+        alpha = score;
+        best = moves[i];
+      }
+    }
+    result[0] = alpha;
+    return best;
+  }
+
+  /**
+   * Searches the position to the end of the game.
+   *
+   * @param alpha   the differential the player to move is already guaranteed
+   * @param beta    the differential the opponent is already guaranteed, negated
+   * @param passed  whether the previous player passed
+   * @param empties the number of empty cells
+   * @return the final disc differential for the player to move, or a bound on it
+   */
+  private int search(int alpha, int beta, boolean passed, int empties) {
+    this.nodes++;
+    if (this.nodes % CLOCK_INTERVAL == 0 && System.nanoTime() > this.deadline) {
+      this.aborted = true;
+    }
+    if (this.aborted) {
+      return 0;
+    }
+
+    int[] moves = this.moveBuffer(empties);
+    int count = this.model.fillLegalMoves(moves);
+    if (count == 0) {
+      if (passed || empties == 0) {
+        Player me = this.model.getTurn();
+        return this.model.getScore(me) - this.model.getScore(this.model.nextTurn());
+      }
+      // a pass leaves the cells as they are, so the buffers of this many empties are free
+      this.model.doPass();
+      int score = -this.search(-beta, -alpha, true, empties);
+      this.model.undoMove();
+      return score;
+    }
+
+    this.order(moves, count, empties);
+    int best = -INFINITY;
+    for (int i = 0; i < count; i++) {
+      this.play(moves[i]);
+      int score = -this.search(-beta, -alpha, false, empties - 1);
+      this.undo(moves[i]);
+      if (this.aborted) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Sorts the moves so that, while many cells are empty, the moves leaving the opponent the
+   * fewest replies come first, and otherwise moves into odd regions come before even ones.
+   *
+   * @param moves   the moves to sort
+   * @param count   the number of moves
+   * @param empties the number of empty cells
+   */
+  private void order(int[] moves, int count, int empties) {
+    int[] keys = this.keyBuffers[empties];
+    if (keys == null) {
+      keys = new int[this.moveBuffers[empties].length];
+      this.keyBuffers[empties] = keys;
+    }
+    int[] replies = empties > FASTEST_FIRST_EMPTIES ? this.moveBuffer(empties - 1) : null;
+    for (int i = 0; i < count; i++) {
+      int key = (this.regionEmpties[this.region[moves[i]]] & 1) == 1 ? 0 : 1;
+      if (replies != null) {
+        this.play(moves[i]);
+        key += 2 * this.model.fillLegalMoves(replies);
+        this.undo(moves[i]);
+      }
+      keys[i] = key;
+    }
+    for (int i = 1; i < count; i++) {
+      int move = moves[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        moves[j + 1] = moves[j];
+        keys[j + 1] = keys[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      keys[j + 1] = key;
+    }
+  }
+
+  /**
+   * Plays a move and takes its cell out of its region.
+   *
+   * @param move the cell index of the move
+   */
+  private void play(int move) {
+    this.model.doMove(move % this.dim, move / this.dim);
+    this.regionEmpties[this.region[move]]--;
+  }
+
+  /**
+   * Takes back a move and puts its cell back in its region.
+   *
+   * @param move the cell index of the move
+   */
+  private void undo(int move) {
+    this.model.undoMove();
+    this.regionEmpties[this.region[move]]++;
+  }
+
+  /**
+   * Returns the move buffer for the given number of empty cells, allocating it if needed.
+   *
+   * @param empties the number of empty cells
+   * @return an array with room for every empty cell
+   */
+  private int[] moveBuffer(int empties) {
+    if (this.moveBuffers[empties] == null) {
+      this.moveBuffers[empties] = new int[Math.max(1, this.moveBuffers.length - 1)];
+    }
+    return this.moveBuffers[empties];
+  }
+
+  /**
+   * Splits the empty cells into connected regions by flood fill, and counts the cells of each.
+   *
+   * @return the number of empty cells
+   */
+  private int findRegions() {
+    int[][] directions = this.model.isHex() ? ReadonlyReversiModel.HEX_DIRECTIONS
+            : ReadonlyReversiModel.SQUARE_DIRECTIONS;
+    boolean[] empty = new boolean[this.region.length];
+    for (int r = 0; r < this.model.getHeight(); r++) {
+      for (int q = 0; q < this.dim; q++) {
+        Tile tile = this.model.getTileAt(q, r);
+        empty[r * this.dim + q] = tile != null && tile.getPlayerAt() == Player.EMPTY;
+      }
+    }
+    int empties = 0;
+    int regions = 0;
+    int[] stack = new int[this.region.length];
+    for (int start = 0; start < empty.length; start++) {
+      if (!empty[start]) {
+        continue;
+      }
+      int size = 0;
+      stack[size++] = start;
+      empty[start] = false;
+      while (size > 0) {
+        int cell = stack[--size];
+        this.region[cell] = regions;
+        this.regionEmpties[regions]++;
+        empties++;
+        for (int[] direction : directions) {
+          int q = cell % this.dim + direction[0];
+          int r = cell / this.dim + direction[1];
+          if (q >= 0 && q < this.dim && r >= 0 && r < this.model.getHeight()
+                  && empty[r * this.dim + q]) {
+            empty[r * this.dim + q] = false;
+            stack[size++] = r * this.dim + q;
+          }
+        }
+      }
+      regions++;
+    }
+    return empties;
+  }
+}
@@ -0,0 +1,106 @@
+package strategy;
+
+import java.awt.Point;
+
+import model.model.AbstractReversi;
+import model.model.ReadonlyReversiModel;
+import model.player.Player;
+
+/**
+ * Represents a strategy that plays perfectly once few cells are empty. Above a configurable number
+ * of empty cells it plays the moves of another strategy. At or below it, it solves the rest of the
+ * game with an {@link EndgameSolver} and plays the move with the best final disc differential. If
+ * the solve runs out of time, it falls back to the other strategy.
+ */
+public class EndgameStrategy implements InfallibleReversiStrategy {
+  // the number of empty cells at which the solver takes over by default
+  public static final int DEFAULT_EMPTIES = 12;
+
+  private final InfallibleReversiStrategy midgame;
+  private final int maxEmpties;
+  private final long timeBudgetMillis;
+  private boolean lastSolved;
+  private int lastScore;
+  private long lastNodes;
+
+  /**
+   * Constructs an EndgameStrategy that solves from {@code DEFAULT_EMPTIES} empty cells with no time
+   * limit.
+   *
+   * @param midgame the strategy to play while more cells are empty
+   */
+  public EndgameStrategy(InfallibleReversiStrategy midgame) {
+    this(midgame, DEFAULT_EMPTIES, 0);
+  }
+
+  /**
+   * Constructs an EndgameStrategy.
+   *
+   * @param midgame          the strategy to play while more cells are empty
+   * @param maxEmpties       the number of empty cells at which the solver takes over
+   * @param timeBudgetMillis the time in milliseconds a solve may take, or 0 for no limit
+   * @throws IllegalArgumentException if the number of empty cells or the budget is negative
+   */
+  public EndgameStrategy(InfallibleReversiStrategy midgame, int maxEmpties,
+                         long timeBudgetMillis) {
+    if (maxEmpties < 0 || timeBudgetMillis < 0) {
+      throw new IllegalArgumentException("Invalid number of empty cells or time budget");
+    }
+    this.midgame = midgame;
+    this.maxEmpties = maxEmpties;
+    this.timeBudgetMillis = timeBudgetMillis;
+  }
+
+  @Override
+  public Point chooseMove(ReadonlyReversiModel model, Player player) throws IllegalStateException {
+    this.lastSolved = false;
+    if (!model.hasValidMoves(player)) {
+      throw new IllegalStateException("No valid moves");
+    }
+    if (model.getScore(Player.EMPTY) > this.maxEmpties) {
+      return this.midgame.chooseMove(model, player);
+    }
+    // only copy the position once it is known that the solver will search it
+    EndgameSolver solver = new EndgameSolver(new AbstractReversi(model));
+    if (this.timeBudgetMillis > 0) {
+      solver.setDeadline(System.nanoTime() + this.timeBudgetMillis * 1_000_000);
+    }
+    int[] result = new int[1];
+    int move = solver.bestMove(result);
+    this.lastNodes = solver.getNodes();
+    if (solver.isAborted()) {
+      return this.midgame.chooseMove(model, player);
+    }
+    this.lastSolved = true;
+    this.lastScore = result[0];
+    return new Point(move % model.getWidth(), move / model.getWidth());
+  }
+
+  /**
+   * Returns whether the last move was chosen by solving the game.
+   *
+   * @return true if the solver chose the last move
+   */
+  public boolean wasLastSolved() {
+    return this.lastSolved;
+  }
+
+  /**
+   * Returns the final disc differential, for the player who moved, that the last solved move
+   * leads to under perfect play.
+   *
+   * @return the exact final disc differential of the last solved move
+   */
+  public int getLastScore() {
+    return this.lastScore;
+  }
+
+  /**
+   * Returns the number of positions the last solve searched.
+   *
+   * @return the node count of the last solve
+   */
+  public long getLastNodes() {
+    return this.lastNodes;
+  }
+}
@@ -0,0 +1,207 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import model.model.AbstractReversi;
+import model.model.ReadonlyReversiModel;
+import model.player.Player;
+
+/**
+ * Represents an alpha-beta strategy that searches with many threads in the style of Lazy SMP.
+ * Every thread runs its own iterative deepening search of the whole root on its own copy of the
+ * game, and they share one lock-free {@link TranspositionTable}. The helper threads start at
+ * different depths and in different root move orders, so they fill the table with results the
+ * other threads soon need. Unlike splitting the root, this keeps every thread busy even when the
+ * position has only a few moves. The move played is the best move of the deepest search any
+ * thread finished.
+ */
+public class LazySmpStrategy implements InfallibleReversiStrategy {
+  private final long timeBudgetMillis;
+  private final int maxDepth;
+  private final int threads;
+  private final Supplier<PositionEvaluator> evaluators;
+  private final TranspositionTable table;
+  private final ExecutorService helpers;
+  // the best move of the deepest search finished so far for the current move
+  private int bestDepth;
+  private int bestMove;
+  private volatile int lastDepth;
+  private volatile long lastNodes;
+
+  /**
+   * Constructs a LazySmpStrategy with the given number of threads, using the
+   * {@link StandardEvaluator} and a shared transposition table of the default size.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   * @param threads          the number of threads to search with, including the calling thread
+   * @throws IllegalArgumentException if the budget is negative or the thread count is not positive
+   */
+  public LazySmpStrategy(long timeBudgetMillis, int threads) {
+    this(timeBudgetMillis, AlphaBetaStrategy.DEFAULT_MAX_DEPTH, threads, StandardEvaluator::new,
+            new TranspositionTable(AlphaBetaStrategy.DEFAULT_TABLE_BITS + 2));
+  }
+
+  /**
+   * Constructs a LazySmpStrategy.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   * @param maxDepth         the deepest search in plies
+   * @param threads          the number of threads to search with, including the calling thread
+   * @param evaluators       makes an evaluator for each thread, since evaluators are not
+   *                         thread safe
+   * @param table            the transposition table the threads share
+   * @throws IllegalArgumentException if the budget is negative, or the depth or thread count is
+   *                                  not positive
+   */
+  public LazySmpStrategy(long timeBudgetMillis, int maxDepth, int threads,
+                         Supplier<PositionEvaluator> evaluators, TranspositionTable table) {
+    if (timeBudgetMillis < 0 || maxDepth < 1 || threads < 1) {
+      throw new IllegalArgumentException("Invalid time budget, depth or thread count");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.maxDepth = maxDepth;
+    this.threads = threads;
+    this.evaluators = evaluators;
+    this.table = table;
+    this.helpers = Executors.newFixedThreadPool(Math.max(1, threads - 1), runnable -> {
+      Thread thread = new Thread(runnable, "lazy-smp-helper");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public Point chooseMove(ReadonlyReversiModel model, Player player) throws IllegalStateException {
+    long deadline = System.nanoTime() + this.timeBudgetMillis * 1_000_000;
+    if (!model.hasValidMoves(player)) {
+      throw new IllegalStateException("No valid moves");
+    }
+    // the threads copy this private copy, which nothing changes while they run
+    AbstractReversi root = new AbstractReversi(model);
+    int[] moves = new int[model.getWidth() * model.getHeight()];
+    int count = root.fillLegalMoves(moves);
+    int dim = model.getWidth();
+    synchronized (this) {
+      this.bestDepth = 0;
+      this.bestMove = moves[0];
+    }
+    if (count == 1) {
+      this.lastDepth = 0;
+      this.lastNodes = 0;
+      return new Point(moves[0] % dim, moves[0] / dim);
+    }
+
+    List<NegamaxSearch> searches = new ArrayList<>();
+    for (int id = 0; id < this.threads; id++) {
+      NegamaxSearch search = new NegamaxSearch(new AbstractReversi(root), this.evaluators.get());
+      search.setTable(this.table);
+      search.setOrderer(new MoveOrderer());
+      search.setDeadline(deadline);
+      searches.add(search);
+    }
+    List<Future<?>> running = new ArrayList<>();
+    for (int id = 1; id < this.threads; id++) {
+      int helper = id;
+      running.add(this.helpers.submit(() -> this.iterate(searches.get(helper), helper, moves,
+              count)));
+    }
+    this.iterate(searches.get(0), 0, moves, count);
+
+    for (NegamaxSearch search : searches) {
+      search.stop();
+    }
+    for (Future<?> future : running) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Search failed", e.getCause());
+      }
+    }
+    long nodes = 0;
+    for (NegamaxSearch search : searches) {
+      nodes += search.getNodes();
+    }
+    this.lastNodes = nodes;
+    synchronized (this) {
+      this.lastDepth = this.bestDepth;
+      return new Point(this.bestMove % dim, this.bestMove / dim);
+    }
+  }
+
+  /**
+   * Runs one thread's iterative deepening search of the root, reporting each finished depth.
+   *
+   * @param search the thread's search
+   * @param id     the number of the thread, 0 for the calling thread
+   * @param root   the moves at the root, which the thread copies
+   * @param count  the number of moves
+   */
+  private void iterate(NegamaxSearch search, int id, int[] root, int count) {
+    int[] moves = new int[count];
+    int[] scores = new int[count];
+    // helpers try the moves in a different order, and every other helper starts a ply deeper
+    for (int i = 0; i < count; i++) {
+      moves[i] = root[(i + id) % count];
+    }
+    for (int depth = 1 + (id & 1); depth <= this.maxDepth; depth++) {
+      if (!AlphaBetaStrategy.searchRoot(search, moves, scores, count, depth)) {
+        return;
+      }
+      this.finish(depth, moves[0], id);
+      if (Math.abs(scores[0]) >= NegamaxSearch.WIN_SCORE) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Records the best move of a finished search if it is the deepest so far. The calling thread
+   * wins ties, since its search is the one that ordered its moves from its previous iterations.
+   *
+   * @param depth the depth of the finished search
+   * @param move  the best move it found
+   * @param id    the number of the thread that finished it
+   */
+  private synchronized void finish(int depth, int move, int id) {
+    if (depth > this.bestDepth || (depth == this.bestDepth && id == 0)) {
+      this.bestDepth = depth;
+      this.bestMove = move;
+    }
+  }
+
+  /**
+   * Returns the depth in plies of the deepest search finished for the last chosen move.
+   *
+   * @return the depth of the last move's search
+   */
+  public int getLastDepth() {
+    return this.lastDepth;
+  }
+
+  /**
+   * Returns the number of positions searched by all threads for the last chosen move.
+   *
+   * @return the node count of the last move's search
+   */
+  public long getLastNodes() {
+    return this.lastNodes;
+  }
+
+  /**
+   * Returns the transposition table the threads share.
+   *
+   * @return the shared table
+   */
+  public TranspositionTable getTable() {
+    return this.table;
+  }
+}
@@ -0,0 +1,391 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.model.AbstractReversi;
+import model.model.ReadonlyReversiModel;
+import model.model.SearchableReversiModel;
+import model.player.Player;
+
+/**
+ * Represents a strategy for an AI player that uses Monte Carlo tree search with the UCT rule.
+ * Each iteration walks down a tree of the positions seen so far, picking the move that best
+ * balances its results against how little it has been tried, then plays the game out to the end
+ * and counts the outcome for every position on the way. The move played is the one tried most.
+ * Playouts follow a {@link Playout} policy, and the search can spread over several threads either
+ * as one shared tree or as an independent tree per thread whose root counts are added up.
+ * The search stops after a number of playouts, after a time budget, or at whichever comes first.
+ */
+public class MctsStrategy implements InfallibleReversiStrategy {
+  // the weight of exploration in the UCT rule
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  /**
+   * Represents how moves are chosen during a playout.
+   */
+  public enum Playout {
+    // the move that flips the most discs, as CaptureMax plays, with ties broken at random
+    GREEDY,
+    // any valid move, with equal chances
+    RANDOM
+  }
+
+  /**
+   * Represents how the search uses more than one thread.
+   */
+  public enum Parallelism {
+    // every thread grows its own tree, and the visits to the root moves are added up
+    ROOT,
+    // every thread grows one shared tree
+    TREE
+  }
+
+  private final long timeBudgetMillis;
+  private final long playoutBudget;
+  private final Playout playout;
+  private final Parallelism parallelism;
+  private final int threads;
+  private final ExecutorService helpers;
+  private volatile long lastPlayouts;
+  private volatile double lastPlayoutsPerSecond;
+
+  /**
+   * Constructs a single-threaded MctsStrategy with greedy playouts and the given time budget per
+   * move.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   */
+  public MctsStrategy(long timeBudgetMillis) {
+    this(timeBudgetMillis, 0, Playout.GREEDY, Parallelism.TREE, 1);
+  }
+
+  /**
+   * Constructs a MctsStrategy.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move, or 0 for no limit
+   * @param playoutBudget    the number of playouts for each move, or 0 for no limit
+   * @param playout          how moves are chosen during playouts
+   * @param parallelism      how the threads share the search
+   * @param threads          the number of threads to search with, including the calling thread
+   * @throws IllegalArgumentException if a budget is negative, neither budget is set, or the
+   *                                  thread count is not positive
+   */
+  public MctsStrategy(long timeBudgetMillis, long playoutBudget, Playout playout,
+                      Parallelism parallelism, int threads) {
+    if (timeBudgetMillis < 0 || playoutBudget < 0 || (timeBudgetMillis == 0 && playoutBudget == 0)
+            || threads < 1) {
+      throw new IllegalArgumentException("Invalid budget or thread count");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.playoutBudget = playoutBudget;
+    this.playout = playout;
+    this.parallelism = parallelism;
+    this.threads = threads;
+    this.helpers = Executors.newFixedThreadPool(Math.max(1, threads - 1), runnable -> {
+      Thread thread = new Thread(runnable, "mcts-helper");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public Point chooseMove(ReadonlyReversiModel model, Player player) throws IllegalStateException {
+    long start = System.nanoTime();
+    long deadline = this.timeBudgetMillis == 0 ? Long.MAX_VALUE
+            : start + this.timeBudgetMillis * 1_000_000;
+    if (!model.hasValidMoves(player)) {
+      throw new IllegalStateException("No valid moves");
+    }
+    AbstractReversi root = new AbstractReversi(model);
+    int dim = model.getWidth();
+    int[] moves = new int[model.getWidth() * model.getHeight()];
+    if (root.fillLegalMoves(moves) == 1) {
+      this.lastPlayouts = 0;
+      this.lastPlayoutsPerSecond = 0;
+      return new Point(moves[0] % dim, moves[0] / dim);
+    }
+
+    // a shared budget of playouts, counted down by every thread
+    AtomicLong remaining = new AtomicLong(this.playoutBudget == 0 ? Long.MAX_VALUE
+            : this.playoutBudget);
+    List<Node> trees = new ArrayList<>();
+    trees.add(new Node(-1, null));
+    for (int id = 1; id < this.threads; id++) {
+      trees.add(this.parallelism == Parallelism.TREE ? trees.get(0) : new Node(-1, null));
+    }
+    List<Future<Long>> running = new ArrayList<>();
+    for (int id = 1; id < this.threads; id++) {
+      Node tree = trees.get(id);
+      AbstractReversi board = new AbstractReversi(root);
+      long seed = start + id;
+      running.add(this.helpers.submit(() -> this.search(tree, board, deadline, remaining,
+              seed)));
+    }
+    long playouts = this.search(trees.get(0), new AbstractReversi(root), deadline, remaining,
+            start);
+    for (Future<Long> future : running) {
+      try {
+        playouts += future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Search failed", e.getCause());
+      }
+    }
+
+    // add up the visits to each root move over every distinct tree
+    int[] visits = new int[moves.length];
+    for (int id = 0; id < trees.size(); id++) {
+      if (id > 0 && trees.get(id) == trees.get(0)) {
+        break;
+      }
+      Node tree = trees.get(id);
+      if (tree.children != null) {
+        for (Node child : tree.children) {
+          visits[child.move] += child.visits;
+        }
+      }
+    }
+    int best = moves[0];
+    for (int i = 0; i < visits.length; i++) {
+      if (visits[i] > visits[best]) {
+        best = i;
+      }
+    }
+    this.lastPlayouts = playouts;
+    this.lastPlayoutsPerSecond = playouts / Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+    return new Point(best % dim, best / dim);
+  }
+
+  /**
+   * Returns the number of playouts run by all threads for the last chosen move.
+   *
+   * @return the playout count of the last move's search
+   */
+  public long getLastPlayouts() {
+    return this.lastPlayouts;
+  }
+
+  /**
+   * Returns the number of playouts per second run by all threads for the last chosen move.
+   *
+   * @return the playout rate of the last move's search
+   */
+  public double getLastPlayoutsPerSecond() {
+    return this.lastPlayoutsPerSecond;
+  }
+
+  /**
+   * Runs iterations of the search on one thread until a budget runs out.
+   *
+   * @param tree      the root of the tree to grow, locked while it is read or changed
+   * @param board     the thread's own copy of the root position
+   * @param deadline  the time, as a value of {@link System#nanoTime()}, to stop at
+   * @param remaining the playouts left for all threads
+   * @param seed      the seed of the thread's random choices
+   * @return the number of playouts this thread ran
+   */
+  private long search(Node tree, AbstractReversi board, long deadline, AtomicLong remaining,
+                      long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    int[] moves = new int[board.getWidth() * board.getHeight()];
+    long playouts = 0;
+    while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+      Node node = tree;
+      int plies = 0;
+      synchronized (tree) {
+        // every visit is counted on the way down but its result only on the way back up, so
+        // other threads sharing the tree see a loss in the meantime and spread out
+        node.visits++;
+        while (true) {
+          if (node.children == null && (node == tree || node.visits > 1)) {
+            node.expand(board, moves);
+          }
+          if (node.children == null || node.children.length == 0) {
+            break;
+          }
+          node = node.select(board.getTurn() == Player.BLACK);
+          play(board, node.move);
+          plies++;
+          node.visits++;
+        }
+      }
+
+      plies += this.playOut(board, moves, random);
+      double black = blackResult(board);
+      for (int i = 0; i < plies; i++) {
+        board.undoMove();
+      }
+      synchronized (tree) {
+        for (Node visited = node; visited != null; visited = visited.parent) {
+          visited.blackWins += black;
+          visited.whiteWins += 1 - black;
+        }
+      }
+      playouts++;
+    }
+    return playouts;
+  }
+
+  /**
+   * Plays the game out to the end from the current position.
+   *
+   * @param board  the position to play out
+   * @param moves  a buffer for the valid moves
+   * @param random the source of random choices
+   * @return the number of moves and passes played
+   */
+  private int playOut(SearchableReversiModel board, int[] moves, SplittableRandom random) {
+    int plies = 0;
+    boolean passed = false;
+    while (true) {
+      int count = board.fillLegalMoves(moves);
+      if (count == 0) {
+        if (passed) {
+          return plies;
+        }
+        board.doPass();
+        passed = true;
+      } else {
+        int move = this.playout == Playout.RANDOM ? moves[random.nextInt(count)]
+                : greedyMove(board, moves, count, random);
+        play(board, move);
+        passed = false;
+      }
+      plies++;
+    }
+  }
+
+  /**
+   * Returns a move that flips the most discs, chosen at random among ties.
+   *
+   * @param board  the position to move in
+   * @param moves  the valid moves
+   * @param count  the number of valid moves
+   * @param random the source of random choices
+   * @return the chosen move
+   */
+  private static int greedyMove(SearchableReversiModel board, int[] moves, int count,
+                                SplittableRandom random) {
+    int dim = board.getWidth();
+    int best = -1;
+    int bestScore = -1;
+    int ties = 0;
+    for (int i = 0; i < count; i++) {
+      int score = board.moveScore(moves[i] % dim, moves[i] / dim);
+      if (score > bestScore) {
+        best = moves[i];
+        bestScore = score;
+        ties = 1;
+      } else if (score == bestScore && random.nextInt(++ties) == 0) {
+        best = moves[i];
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Plays a move or a pass.
+   *
+   * @param board the position to play on
+   * @param move  the cell index of the move, or -1 to pass
+   */
+  private static void play(SearchableReversiModel board, int move) {
+    if (move < 0) {
+      board.doPass();
+    } else {
+      board.doMove(move % board.getWidth(), move / board.getWidth());
+    }
+  }
+
+  /**
+   * Returns the outcome of a finished game for black: 1 for a win, 0.5 for a tie, 0 for a loss.
+   *
+   * @param board the finished game
+   * @return the result for black
+   */
+  private static double blackResult(ReadonlyReversiModel board) {
+    int diff = board.getScore(Player.BLACK) - board.getScore(Player.WHITE);
+    return diff > 0 ? 1 : diff < 0 ? 0 : 0.5;
+  }
+
+  /**
+   * Represents a position in the search tree, reached by a move from its parent.
+   */
+  private static final class Node {
+    private final int move;
+    private final Node parent;
+    // null until the node is expanded, and empty if the game is over
+    private Node[] children;
+    private int visits;
+    // the results of the playouts through this position, for each player
+    private double blackWins;
+    private double whiteWins;
+
+    /**
+     * Constructs a Node.
+     *
+     * @param move   the cell index of the move that reaches this position, or -1 for a pass
+     * @param parent the position the move is made from, or null for the root
+     */
+    Node(int move, Node parent) {
+      this.move = move;
+      this.parent = parent;
+    }
+
+    /**
+     * Adds a child for every move from this position, or a single pass if the player to move
+     * has none but the other player does.
+     *
+     * @param board the board, at this position
+     * @param moves a buffer for the valid moves
+     */
+    void expand(SearchableReversiModel board, int[] moves) {
+      int count = board.fillLegalMoves(moves);
+      if (count > 0) {
+        this.children = new Node[count];
+        for (int i = 0; i < count; i++) {
+          this.children[i] = new Node(moves[i], this);
+        }
+        return;
+      }
+      board.doPass();
+      boolean over = board.fillLegalMoves(moves) == 0;
+      board.undoMove();
+      this.children = over ? new Node[0] : new Node[]{new Node(-1, this)};
+    }
+
+    /**
+     * Returns the child with the best UCT value for the player to move, trying every child once
+     * before comparing them.
+     *
+     * @param blackToMove whether black is the player to move
+     * @return the selected child
+     */
+    Node select(boolean blackToMove) {
+      double logVisits = Math.log(this.visits);
+      Node best = null;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (Node child : this.children) {
+        if (child.visits == 0) {
+          return child;
+        }
+        double wins = blackToMove ? child.blackWins : child.whiteWins;
+        double value = wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+        if (value > bestValue) {
+          best = child;
+          bestValue = value;
+        }
+      }
+      return best;
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import model.model.SearchableReversiModel;
+
+/**
+ * Represents the ordering of moves inside a search, so the moves most likely to be best are
+ * searched first and alpha-beta cuts off the rest sooner. The ordering combines any set of
+ * {@link Heuristic}s, each of which ranks below the ones listed before it. The orderer learns from
+ * the cutoffs the search reports, and counts how often the first move searched caused the cutoff,
+ * which measures how good the ordering is. An orderer is not thread safe; concurrent searches each
+ * need their own.
+ */
+public class MoveOrderer {
+  // below this depth, moves are not ordered by mobility because it costs a move per move
+  private static final int MOBILITY_MIN_DEPTH = 3;
+  // the number of killer moves remembered per ply
+  private static final int KILLERS = 2;
+  // history scores are halved once one of them passes this value
+  private static final int HISTORY_LIMIT = 1 << 24;
+
+  /**
+   * Represents one way to rank moves, in order of priority.
+   */
+  public enum Heuristic {
+    // the best move stored in the transposition table for the position
+    TABLE_MOVE,
+    // the corners of the board, which can never be flipped
+    CORNERS,
+    // the moves that caused the latest cutoffs at the same ply in sibling positions
+    KILLERS,
+    // the moves that fewest replies are left after, for the opponent
+    MOBILITY,
+    // the moves that caused the most cutoffs anywhere, weighted by depth
+    HISTORY
+  }
+
+  private final Set<Heuristic> heuristics;
+  private int width;
+  private int height;
+  private boolean isHex;
+  private boolean[] corners;
+  private int[][] killers;
+  private int[] history;
+  private int[] replies;
+  private long[] keys;
+  private long cutoffs;
+  private long firstMoveCutoffs;
+
+  /**
+   * Constructs a MoveOrderer that uses every heuristic.
+   */
+  public MoveOrderer() {
+    this(EnumSet.allOf(Heuristic.class));
+  }
+
+  /**
+   * Constructs a MoveOrderer that uses the given heuristics.
+   *
+   * @param heuristics the heuristics to order moves by
+   */
+  public MoveOrderer(Set<Heuristic> heuristics) {
+    this.heuristics = heuristics.isEmpty() ? EnumSet.noneOf(Heuristic.class)
+            : EnumSet.copyOf(heuristics);
+  }
+
+  /**
+   * Sorts the moves of the current position, most promising first.
+   *
+   * @param model     the position, which is played on and restored to rank by mobility
+   * @param moves     the cell indices of the moves to sort
+   * @param count     the number of moves
+   * @param ply       the distance from the root of the search
+   * @param depth     the number of plies left to search
+   * @param tableMove the best move stored for the position, or -1 if there is none
+   */
+  public void order(SearchableReversiModel model, int[] moves, int count, int ply, int depth,
+                    int tableMove) {
+    this.setUp(model, ply);
+    boolean mobility = this.heuristics.contains(Heuristic.MOBILITY)
+            && depth >= MOBILITY_MIN_DEPTH;
+    for (int i = 0; i < count; i++) {
+      int move = moves[i];
+      // each heuristic gets its own bits, so it only decides between moves tied on the ones above
+      long key = 0;
+      if (move == tableMove && this.heuristics.contains(Heuristic.TABLE_MOVE)) {
+        key |= 1L << 62;
+      }
+      if (this.corners[move] && this.heuristics.contains(Heuristic.CORNERS)) {
+        key |= 1L << 61;
+      }
+      if (this.heuristics.contains(Heuristic.KILLERS)) {
+        for (int k = 0; k < KILLERS; k++) {
+          if (this.killers[ply][k] == move) {
+            key |= 1L << (60 - k);
+          }
+        }
+      }
+      if (mobility) {
+        model.doMove(move % this.width, move / this.width);
+        key |= (long) (this.replies.length - model.fillLegalMoves(this.replies)) << 32;
+        model.undoMove();
+      }
+      if (this.heuristics.contains(Heuristic.HISTORY)) {
+        key |= this.history[move];
+      }
+      this.keys[i] = key;
+    }
+    for (int i = 1; i < count; i++) {
+      int move = moves[i];
+      long key = this.keys[i];
+      int j = i - 1;
+      while (j >= 0 && this.keys[j] < key) {
+        moves[j + 1] = moves[j];
+        this.keys[j + 1] = this.keys[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      this.keys[j + 1] = key;
+    }
+  }
+
+  /**
+   * Learns from a move that caused a beta cutoff, in a position this orderer ordered.
+   *
+   * @param move  the cell index of the move
+   * @param index the position of the move in the ordered moves, 0 for the first
+   * @param ply   the distance from the root of the search
+   * @param depth the number of plies left to search
+   */
+  public void recordCutoff(int move, int index, int ply, int depth) {
+    this.cutoffs++;
+    if (index == 0) {
+      this.firstMoveCutoffs++;
+    }
+    if (this.killers == null || ply >= this.killers.length) {
+      return;
+    }
+    int[] slots = this.killers[ply];
+    if (slots[0] != move) {
+      System.arraycopy(slots, 0, slots, 1, KILLERS - 1);
+      slots[0] = move;
+    }
+    this.history[move] += depth * depth;
+    if (this.history[move] > HISTORY_LIMIT) {
+      for (int i = 0; i < this.history.length; i++) {
+        this.history[i] >>= 1;
+      }
+    }
+  }
+
+  /**
+   * Forgets the killer moves, which belong to one search, and ages the history scores, which
+   * carry over from move to move.
+   */
+  public void newSearch() {
+    if (this.killers != null) {
+      for (int[] slots : this.killers) {
+        Arrays.fill(slots, -1);
+      }
+      for (int i = 0; i < this.history.length; i++) {
+        this.history[i] >>= 2;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of beta cutoffs reported since the orderer was made.
+   *
+   * @return the number of cutoffs
+   */
+  public long getCutoffs() {
+    return this.cutoffs;
+  }
+
+  /**
+   * Returns the fraction of beta cutoffs caused by the first move searched.
+   *
+   * @return the first-move cutoff rate, or 0 if there were no cutoffs
+   */
+  public double getFirstMoveCutoffRate() {
+    return this.cutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.cutoffs;
+  }
+
+  /**
+   * Allocates the tables of the orderer for the board of the given model, and grows the killer
+   * table to reach the given ply.
+   *
+   * @param model the position being searched
+   * @param ply   the distance from the root of the search
+   */
+  private void setUp(SearchableReversiModel model, int ply) {
+    if (this.corners == null || this.width != model.getWidth()
+            || this.height != model.getHeight() || this.isHex != model.isHex()) {
+      this.width = model.getWidth();
+      this.height = model.getHeight();
+      this.isHex = model.isHex();
+      int cells = this.width * this.height;
+      this.corners = new boolean[cells];
+      int last = this.width - 1;
+      int[][] corners;
+      if (this.isHex) {
+        int side = model.getSideLen() - 1;
+        corners = new int[][]{{side, 0}, {last, 0}, {0, side}, {last, side}, {0, last},
+          {side, last}};
+      } else {
+        corners = new int[][]{{0, 0}, {last, 0}, {0, last}, {last, last}};
+      }
+      for (int[] corner : corners) {
+        this.corners[corner[1] * this.width + corner[0]] = true;
+      }
+      this.killers = new int[0][];
+      this.history = new int[cells];
+      this.replies = new int[cells];
+      this.keys = new long[cells];
+    }
+    if (ply >= this.killers.length) {
+      int old = this.killers.length;
+      this.killers = Arrays.copyOf(this.killers, Math.max(16, ply * 2));
+      for (int i = old; i < this.killers.length; i++) {
+        this.killers[i] = new int[KILLERS];
+        Arrays.fill(this.killers[i], -1);
+      }
+    }
+  }
+}
@@ -0,0 +1,260 @@
+package strategy;
+
+import java.util.Arrays;
+
+import model.model.SearchableReversiModel;
+import model.player.Player;
+
+/**
+ * Represents a depth-limited negamax search with alpha-beta pruning over a single
+ * {@link SearchableReversiModel}, which it plays forwards and backwards in place. A search may be
+ * given a deadline, after which it stops early and reports that it was aborted. A search is not
+ * thread safe; concurrent searches each need their own instance and their own model.
+ */
+public class NegamaxSearch {
+  // the score of a won game, before the final disc differential is added to it
+  public static final int WIN_SCORE = 1 << 20;
+  // larger than the score of any position
+  public static final int INFINITY = WIN_SCORE << 2;
+  // how many nodes are searched between checks of the clock
+  private static final int CLOCK_INTERVAL = 1024;
+
+  private final SearchableReversiModel model;
+  private final PositionEvaluator evaluator;
+  private final int dim;
+  private TranspositionTable table;
+  private MoveOrderer orderer;
+  // one move buffer per ply, allocated the first time the search gets that deep
+  private int[][] moveBuffers = new int[16][];
+  private long deadline = Long.MAX_VALUE;
+  // set by another thread to abort the search before its deadline
+  private volatile boolean stopped;
+  private boolean aborted;
+  private long nodes;
+
+  /**
+   * Constructs a NegamaxSearch over the given model.
+   *
+   * @param model     the position to search, which the search plays moves on and takes back
+   * @param evaluator the evaluation of positions at the end of the search
+   */
+  public NegamaxSearch(SearchableReversiModel model, PositionEvaluator evaluator) {
+    this.model = model;
+    this.evaluator = evaluator;
+    this.dim = model.getWidth();
+  }
+
+  /**
+   * Sets the time, as a value of {@link System#nanoTime()}, after which the search aborts.
+   *
+   * @param deadline the deadline in nanoseconds
+   */
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+    this.stopped = false;
+    this.aborted = false;
+  }
+
+  /**
+   * Aborts the search at its next check of the clock. Unlike the other methods of a search, this
+   * may be called from any thread, and the search stays aborted until its deadline is set again.
+   */
+  public void stop() {
+    this.stopped = true;
+  }
+
+  /**
+   * Sets the table the search reuses results from and stores its results in.
+   *
+   * @param table the transposition table, or null to search without one
+   */
+  public void setTable(TranspositionTable table) {
+    this.table = table;
+  }
+
+  /**
+   * Sets how the search orders the moves of each position.
+   *
+   * @param orderer the move orderer, or null to search the stored best move first and the rest
+   *                in row order
+   */
+  public void setOrderer(MoveOrderer orderer) {
+    this.orderer = orderer;
+  }
+
+  /**
+   * Returns whether the search ran out of time, in which case the scores it returned since the
+   * deadline was set are meaningless.
+   *
+   * @return true if the search was aborted
+   */
+  public boolean isAborted() {
+    return this.aborted;
+  }
+
+  /**
+   * Returns the number of positions searched by this search so far.
+   *
+   * @return the number of nodes searched
+   */
+  public long getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Returns the model this search plays on.
+   *
+   * @return the searched model
+   */
+  public SearchableReversiModel getModel() {
+    return this.model;
+  }
+
+  /**
+   * Scores one move of the player whose turn it is by searching the position after it.
+   *
+   * @param move  the cell index {@code r * width + q} of the move
+   * @param depth the number of plies to search after the move
+   * @param alpha the score the player to move is already guaranteed
+   * @param beta  the score the opponent is already guaranteed, negated
+   * @return the score of the move for the player whose turn it is
+   */
+  public int searchMove(int move, int depth, int alpha, int beta) {
+    this.model.doMove(move % this.dim, move / this.dim);
+    int score = -this.negamax(depth, -beta, -alpha, 1, false);
+    this.model.undoMove();
+    return score;
+  }
+
+  /**
+   * Scores the current position for the player whose turn it is.
+   *
+   * @param depth  the number of plies left to search
+   * @param alpha  the score the player to move is already guaranteed
+   * @param beta   the score the opponent is already guaranteed, negated
+   * @param ply    the distance from the root of the search
+   * @param passed whether the previous player passed
+   * @return the score of the position, exact if it lies strictly between alpha and beta, and
+   *         otherwise a bound on the side of the window it fell on
+   */
+  public int negamax(int depth, int alpha, int beta, int ply, boolean passed) {
+    this.nodes++;
+    if (this.nodes % CLOCK_INTERVAL == 0
+            && (this.stopped || System.nanoTime() > this.deadline)) {
+      this.aborted = true;
+    }
+    if (this.aborted) {
+      return 0;
+    }
+
+    int[] moves = this.moveBuffer(ply);
+    int count = this.model.fillLegalMoves(moves);
+    if (count == 0) {
+      if (passed) {
+        return this.finalScore();
+      }
+      this.model.doPass();
+      int score = -this.negamax(depth, -beta, -alpha, ply + 1, true);
+      this.model.undoMove();
+      return score;
+    }
+    if (depth <= 0) {
+      return this.evaluator.evaluate(this.model);
+    }
+
+    long key = 0;
+    int tableMove = -1;
+    if (this.table != null) {
+      key = this.model.getPositionKey();
+      long entry = this.table.probe(key);
+      if (entry != 0) {
+        if (TranspositionTable.depthOf(entry) >= depth) {
+          int score = TranspositionTable.scoreOf(entry);
+          int bound = TranspositionTable.boundOf(entry);
+          if (bound == TranspositionTable.EXACT
+                  || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                  || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+            return score;
+          }
+        }
+        tableMove = TranspositionTable.moveOf(entry);
+      }
+    }
+    if (this.orderer != null) {
+      this.orderer.order(this.model, moves, count, ply, depth, tableMove);
+    } else if (tableMove >= 0) {
+      // search the best move of the earlier search first
+      for (int i = 1; i < count; i++) {
+        if (moves[i] == tableMove) {
+          moves[i] = moves[0];
+          moves[0] = tableMove;
+          break;
+        }
+      }
+    }
+
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    int bestMove = -1;
+    for (int i = 0; i < count; i++) {
+      this.model.doMove(moves[i] % this.dim, moves[i] / this.dim);
+      int score = -this.negamax(depth - 1, -beta, -alpha, ply + 1, false);
+      this.model.undoMove();
+      if (this.aborted) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestMove = moves[i];
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            if (this.orderer != null) {
+              this.orderer.recordCutoff(moves[i], i, ply, depth);
+            }
+            break;
+          }
+        }
+      }
+    }
+    if (this.table != null) {
+      int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+              : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+      this.table.store(key, depth, bound, best, bestMove);
+    }
+    return best;
+  }
+
+  /**
+   * Returns the score of a finished game for the player whose turn it is: a win or loss outranks
+   * every evaluation, and among wins or losses a larger disc differential is better.
+   *
+   * @return the score of the finished game
+   */
+  public int finalScore() {
+    Player me = this.model.getTurn();
+    int diff = this.model.getScore(me) - this.model.getScore(this.model.nextTurn());
+    if (diff > 0) {
+      return WIN_SCORE + diff;
+    } else if (diff < 0) {
+      return -WIN_SCORE + diff;
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the move buffer of the given ply, allocating it if needed.
+   *
+   * @param ply the distance from the root of the search
+   * @return an array with room for every cell of the board
+   */
+  private int[] moveBuffer(int ply) {
+    if (ply >= this.moveBuffers.length) {
+      this.moveBuffers = Arrays.copyOf(this.moveBuffers, ply * 2);
+    }
+    if (this.moveBuffers[ply] == null) {
+      this.moveBuffers[ply] = new int[this.dim * this.model.getHeight()];
+    }
+    return this.moveBuffers[ply];
+  }
+}
@@ -0,0 +1,254 @@
+package strategy;
+
+import java.awt.Point;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import model.model.AbstractReversi;
+import model.model.BoardSymmetry;
+import model.model.ReadonlyReversiModel;
+
+/**
+ * Represents a book of opening moves for one board, so that machine players need not search the
+ * first moves of every game again. Each position is stored once for all of its symmetric copies:
+ * it is keyed by its canonical key (see {@link BoardSymmetry}), and its move is stored in the
+ * orientation with that key, then turned back on lookup.
+ *
+ * <p>A book is a binary file: a header of five big-endian ints (a magic number, the format
+ * version, whether the board is hexagonal, its side length and the number of entries), then the
+ * entries sorted by key, each a {@code long} key and an {@code int} cell index. A loaded book maps
+ * the file into memory and binary searches it, so it is never read in whole and may be shared by
+ * any number of players and threads.
+ */
+public final class OpeningBook {
+  // "RVOB", marking a file of reversi opening moves
+  private static final int MAGIC = 0x52564F42;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 5 * Integer.BYTES;
+  private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+  private final int sideLen;
+  private final boolean isHex;
+  private final int dim;
+  private final ByteBuffer entries;
+  private final int size;
+  private final BoardSymmetry symmetries;
+
+  /**
+   * Constructs an OpeningBook over the given entries.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @param entries the entries, sorted by key, starting at index 0
+   * @param size    the number of entries
+   */
+  private OpeningBook(int sideLen, boolean isHex, ByteBuffer entries, int size) {
+    this.sideLen = sideLen;
+    this.isHex = isHex;
+    this.dim = isHex ? 2 * sideLen - 1 : sideLen;
+    this.entries = entries;
+    this.size = size;
+    this.symmetries = BoardSymmetry.forBoard(sideLen, isHex);
+  }
+
+  /**
+   * Loads a book from a file written by {@link #write(Path, int, boolean, Map)}, by mapping it
+   * into memory.
+   *
+   * @param file the book file
+   * @return the book
+   * @throws IOException if the file cannot be read or is not a book
+   */
+  public static OpeningBook load(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      boolean isHex = buffer.getInt() != 0;
+      int sideLen = buffer.getInt();
+      int size = buffer.getInt();
+      if (sideLen < 1 || size < 0 || (long) size * ENTRY_BYTES != buffer.remaining()) {
+        throw new IOException("Invalid opening book: " + file);
+      }
+      return new OpeningBook(sideLen, isHex, buffer.slice(), size);
+    }
+  }
+
+  /**
+   * Writes a book file with the given moves, replacing the file if it exists.
+   *
+   * @param file    the book file
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @param moves   the canonical move of each canonical key, as built by
+   *                {@link #build(int, boolean, InfallibleReversiStrategy, int, int)}
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path file, int sideLen, boolean isHex, Map<Long, Integer> moves)
+          throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(isHex ? 1 : 0);
+      out.writeInt(sideLen);
+      out.writeInt(moves.size());
+      // written in the order binary search expects, whatever the order of the map
+      for (Map.Entry<Long, Integer> entry : new TreeMap<>(moves).entrySet()) {
+        out.writeLong(entry.getKey());
+        out.writeInt(entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Builds the moves of a book by searching from the start of the game. Every position within
+   * {@code widePlies} moves of the start is searched, and from there on only the positions reached
+   * by the strategy's own moves, up to {@code plies} moves in. Symmetric positions are searched
+   * once.
+   *
+   * @param sideLen   the side length of the board
+   * @param isHex     whether the board is hexagonal
+   * @param strategy  the strategy choosing the move of each position
+   * @param plies     the number of moves covered by the book
+   * @param widePlies the number of moves for which every reply is covered
+   * @return the canonical move of each canonical key
+   */
+  public static Map<Long, Integer> build(int sideLen, boolean isHex,
+                                         InfallibleReversiStrategy strategy, int plies,
+                                         int widePlies) {
+    AbstractReversi game = new AbstractReversi(sideLen, isHex);
+    game.startGame();
+    OpeningBook empty = new OpeningBook(sideLen, isHex, ByteBuffer.allocate(0), 0);
+    Map<Long, Integer> moves = new TreeMap<>();
+    empty.expand(game, strategy, 0, plies, widePlies, moves);
+    return moves;
+  }
+
+  /**
+   * Adds the move of a position to a book being built, then the moves of the positions after it.
+   *
+   * @param game      the position, which is played forward and back but left as it was
+   * @param strategy  the strategy choosing the move of each position
+   * @param ply       the number of moves played since the start
+   * @param plies     the number of moves covered by the book
+   * @param widePlies the number of moves for which every reply is covered
+   * @param moves     the book being built
+   */
+  private void expand(AbstractReversi game, InfallibleReversiStrategy strategy, int ply,
+                      int plies, int widePlies, Map<Long, Integer> moves) {
+    int[] symmetry = new int[1];
+    long key = this.symmetries.canonicalKey(game.getBoard(), game.getTurn(), symmetry);
+    if (ply >= plies || moves.containsKey(key)) {
+      return;
+    }
+    int[] legal = new int[this.dim * this.dim];
+    int count = game.fillLegalMoves(legal);
+    if (count == 0) {
+      return;
+    }
+    Point best = strategy.chooseMove(game, game.getTurn());
+    int bestCell = best.y * this.dim + best.x;
+    moves.put(key, this.symmetries.map(symmetry[0], bestCell));
+
+    List<Integer> children = new ArrayList<>();
+    if (ply < widePlies) {
+      for (int i = 0; i < count; i++) {
+        children.add(legal[i]);
+      }
+    } else {
+      children.add(bestCell);
+    }
+    for (int cell : children) {
+      game.doMove(cell % this.dim, cell / this.dim);
+      this.expand(game, strategy, ply + 1, plies, widePlies, moves);
+      game.undoMove();
+    }
+  }
+
+  /**
+   * Looks up the book move of a position.
+   *
+   * @param model the position
+   * @return the book move in the position's own orientation, or empty if the position is not in
+   *     the book or is on another board
+   */
+  public Optional<Point> lookup(ReadonlyReversiModel model) {
+    if (model.getSideLen() != this.sideLen || model.isHex() != this.isHex) {
+      return Optional.empty();
+    }
+    int[] symmetry = new int[1];
+    long key = this.symmetries.canonicalKey(model.getBoard(), model.getTurn(), symmetry);
+    int low = 0;
+    int high = this.size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midKey = this.entries.getLong(mid * ENTRY_BYTES);
+      if (midKey < key) {
+        low = mid + 1;
+      } else if (midKey > key) {
+        high = mid - 1;
+      } else {
+        int cell = this.symmetries.unmap(symmetry[0], this.entries.getInt(mid * ENTRY_BYTES
+                + Long.BYTES));
+        return Optional.of(new Point(cell % this.dim, cell / this.dim));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the number of positions in the book.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Builds a book by search and writes it to a file. The arguments are the board ({@code hex} or
+   * {@code square}), its side length, the book file, and optionally the number of moves covered,
+   * the number of moves for which every reply is covered and the search time per position in
+   * milliseconds.
+   *
+   * @param args the command line arguments
+   * @throws IOException if the book file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.out.println("Usage: OpeningBook <hex|square> <side length> <book file>"
+              + " [plies] [wide plies] [millis per position]");
+      return;
+    }
+    boolean isHex = args[0].equalsIgnoreCase("hex");
+    int sideLen = Integer.parseInt(args[1]);
+    Path file = Paths.get(args[2]);
+    int plies = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+    int widePlies = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+    long millis = args.length > 5 ? Long.parseLong(args[5]) : 250;
+
+    long start = System.nanoTime();
+    Map<Long, Integer> moves = build(sideLen, isHex, new AlphaBetaStrategy(millis), plies,
+            widePlies);
+    write(file, sideLen, isHex, moves);
+    System.out.printf("Wrote %d positions to %s in %.1f s%n", moves.size(), file,
+            (System.nanoTime() - start) / 1e9);
+  }
+}
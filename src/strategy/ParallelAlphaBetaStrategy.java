@@ -0,0 +1,225 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import model.model.AbstractReversi;
+import model.model.ReadonlyReversiModel;
+import model.player.Player;
+
+/**
+ * Represents an alpha-beta strategy that splits the moves at the root of each search over the
+ * threads of a {@link ForkJoinPool}. Each iteration of the search first scores the best move of the
+ * previous iteration on the calling thread, which sets a good alpha, and then scores the remaining
+ * moves in parallel, each on its own copy of the game. The workers share alpha, so a good score
+ * found by one worker narrows the searches of the others.
+ */
+public class ParallelAlphaBetaStrategy implements InfallibleReversiStrategy {
+  private final long timeBudgetMillis;
+  private final int maxDepth;
+  private final Supplier<PositionEvaluator> evaluators;
+  private final ForkJoinPool pool;
+  private volatile int lastDepth;
+  private volatile long lastNodes;
+
+  /**
+   * Constructs a ParallelAlphaBetaStrategy that searches on its own pool of the given number of
+   * threads with the {@link StandardEvaluator}.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   * @param threads          the number of threads to search with
+   * @throws IllegalArgumentException if the budget is negative or the thread count is not positive
+   */
+  public ParallelAlphaBetaStrategy(long timeBudgetMillis, int threads) {
+    this(timeBudgetMillis, AlphaBetaStrategy.DEFAULT_MAX_DEPTH, StandardEvaluator::new,
+            new ForkJoinPool(threads));
+  }
+
+  /**
+   * Constructs a ParallelAlphaBetaStrategy.
+   *
+   * @param timeBudgetMillis the time in milliseconds to spend on each move
+   * @param maxDepth         the deepest search in plies
+   * @param evaluators       makes an evaluator for each worker, since evaluators are not
+   *                         thread safe
+   * @param pool             the pool to search on
+   * @throws IllegalArgumentException if the budget is negative or the depth is not positive
+   */
+  public ParallelAlphaBetaStrategy(long timeBudgetMillis, int maxDepth,
+                                   Supplier<PositionEvaluator> evaluators, ForkJoinPool pool) {
+    if (timeBudgetMillis < 0 || maxDepth < 1) {
+      throw new IllegalArgumentException("Invalid time budget or depth");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.maxDepth = maxDepth;
+    this.evaluators = evaluators;
+    this.pool = pool;
+  }
+
+  @Override
+  public Point chooseMove(ReadonlyReversiModel model, Player player) throws IllegalStateException {
+    long deadline = System.nanoTime() + this.timeBudgetMillis * 1_000_000;
+    if (!model.hasValidMoves(player)) {
+      throw new IllegalStateException("No valid moves");
+    }
+    // the workers copy this private copy, which nothing changes while they run
+    AbstractReversi root = new AbstractReversi(model);
+    int[] moves = new int[model.getWidth() * model.getHeight()];
+    int count = root.fillLegalMoves(moves);
+    int dim = model.getWidth();
+    AtomicLong nodes = new AtomicLong();
+
+    this.lastDepth = 0;
+    for (int depth = 1; depth <= this.maxDepth && count > 1; depth++) {
+      NegamaxSearch first = new NegamaxSearch(new AbstractReversi(root), this.evaluators.get());
+      first.setOrderer(new MoveOrderer());
+      first.setDeadline(deadline);
+      int[] scores = new int[count];
+      boolean[] exact = new boolean[count];
+      exact[0] = true;
+      scores[0] = first.searchMove(moves[0], depth - 1, -NegamaxSearch.INFINITY,
+              NegamaxSearch.INFINITY);
+      nodes.addAndGet(first.getNodes());
+      if (first.isAborted()) {
+        break;
+      }
+
+      AtomicInteger alpha = new AtomicInteger(scores[0]);
+      AtomicBoolean aborted = new AtomicBoolean();
+      this.pool.invoke(new RootSplit(root, moves, scores, exact, 1, count, depth, deadline, alpha,
+              aborted, nodes));
+      if (aborted.get()) {
+        break;
+      }
+
+      // only a move that raised alpha has an exact score, so it goes first even if a move that
+      // failed low reported the same bound
+      int best = 0;
+      for (int i = 1; i < count; i++) {
+        if (exact[i] && scores[i] > scores[best]) {
+          best = i;
+        }
+      }
+      int bestMove = moves[best];
+      int bestScore = scores[best];
+      AlphaBetaStrategy.sortBestFirst(moves, scores, count);
+      for (int i = count - 1; i > 0; i--) {
+        if (moves[i] == bestMove) {
+          moves[i] = moves[i - 1];
+          moves[i - 1] = bestMove;
+        }
+      }
+      this.lastDepth = depth;
+      if (Math.abs(bestScore) >= NegamaxSearch.WIN_SCORE) {
+        break;
+      }
+    }
+    this.lastNodes = nodes.get();
+    return new Point(moves[0] % dim, moves[0] / dim);
+  }
+
+  /**
+   * Returns the depth in plies of the deepest search finished for the last chosen move.
+   *
+   * @return the depth of the last move's search
+   */
+  public int getLastDepth() {
+    return this.lastDepth;
+  }
+
+  /**
+   * Returns the number of positions searched by all threads for the last chosen move.
+   *
+   * @return the node count of the last move's search
+   */
+  public long getLastNodes() {
+    return this.lastNodes;
+  }
+
+  /**
+   * Represents the scoring of a range of root moves, split in half until each task scores one.
+   */
+  private class RootSplit extends RecursiveAction {
+    private final AbstractReversi root;
+    private final int[] moves;
+    private final int[] scores;
+    private final boolean[] exact;
+    private final int from;
+    private final int to;
+    private final int depth;
+    private final long deadline;
+    private final AtomicInteger alpha;
+    private final AtomicBoolean aborted;
+    private final AtomicLong nodes;
+
+    /**
+     * Constructs a RootSplit over the moves from index {@code from} up to {@code to}.
+     */
+    RootSplit(AbstractReversi root, int[] moves, int[] scores, boolean[] exact, int from, int to,
+              int depth, long deadline, AtomicInteger alpha, AtomicBoolean aborted,
+              AtomicLong nodes) {
+      this.root = root;
+      this.moves = moves;
+      this.scores = scores;
+      this.exact = exact;
+      this.from = from;
+      this.to = to;
+      this.depth = depth;
+      this.deadline = deadline;
+      this.alpha = alpha;
+      this.aborted = aborted;
+      this.nodes = nodes;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > 1) {
+        int mid = (this.from + this.to) >>> 1;
+        invokeAll(this.split(this.from, mid), this.split(mid, this.to));
+        return;
+      }
+      if (this.from >= this.to || this.aborted.get()) {
+        return;
+      }
+      NegamaxSearch search = new NegamaxSearch(new AbstractReversi(this.root),
+              ParallelAlphaBetaStrategy.this.evaluators.get());
+      search.setOrderer(new MoveOrderer());
+      search.setDeadline(this.deadline);
+      int move = this.moves[this.from];
+      // search with a null window around the shared alpha, and only re-search if the move beats it
+      int bound = this.alpha.get();
+      int score = search.searchMove(move, this.depth - 1, bound, bound + 1);
+      if (score > bound && !search.isAborted()) {
+        bound = this.alpha.get();
+        score = search.searchMove(move, this.depth - 1, bound, NegamaxSearch.INFINITY);
+        if (score > bound) {
+          // with no upper limit on the window, a score above alpha is exact
+          this.exact[this.from] = true;
+          this.alpha.accumulateAndGet(score, Math::max);
+        }
+      }
+      this.nodes.addAndGet(search.getNodes());
+      if (search.isAborted()) {
+        this.aborted.set(true);
+      }
+      this.scores[this.from] = score;
+    }
+
+    /**
+     * Returns a task for part of this task's moves.
+     *
+     * @param start the index of the first move
+     * @param end   the index after the last move
+     * @return the task for the moves
+     */
+    private RootSplit split(int start, int end) {
+      return new RootSplit(this.root, this.moves, this.scores, this.exact, start, end, this.depth,
+              this.deadline, this.alpha, this.aborted, this.nodes);
+    }
+  }
+}
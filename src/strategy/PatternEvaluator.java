@@ -0,0 +1,120 @@
+package strategy;
+
+import model.model.CellListener;
+import model.model.SearchableReversiModel;
+import model.player.Player;
+
+/**
+ * Represents a position evaluator that sums the weights of the board's patterns (see
+ * {@link PatternSet}), looked up in tables by each pattern's base 3 index. The evaluator listens to
+ * the cells of the model it evaluates and updates the indices of the patterns through each
+ * changed cell, so an evaluation is one table lookup per pattern rather than a scan of the board.
+ * An evaluator follows one model at a time and is not thread safe.
+ */
+public class PatternEvaluator implements PositionEvaluator, CellListener {
+  private final short[][] weights;
+  private final PatternWeights fitted;
+  private PatternSet patterns;
+  // the tables used for the followed model
+  private short[][] tables;
+  private SearchableReversiModel attached;
+  // the current index of every pattern
+  private int[] indices;
+
+  /**
+   * Constructs a PatternEvaluator with the default weights of each board.
+   */
+  public PatternEvaluator() {
+    this(null, null);
+  }
+
+  /**
+   * Constructs a PatternEvaluator with the given weights, scored for black, one table per kind of
+   * pattern. The tables must match the {@link PatternSet} of the boards evaluated.
+   *
+   * @param weights the weight tables
+   */
+  public PatternEvaluator(short[][] weights) {
+    this(weights, null);
+  }
+
+  /**
+   * Constructs a PatternEvaluator with weights fitted for one board, such as those loaded from a
+   * weight file. Other boards are evaluated with their default weights.
+   *
+   * @param fitted the fitted weights
+   */
+  public PatternEvaluator(PatternWeights fitted) {
+    this(null, fitted);
+  }
+
+  /**
+   * Constructs a PatternEvaluator from either kind of weights.
+   *
+   * @param weights the weight tables for every board, or null
+   * @param fitted  the fitted weights of one board, or null
+   */
+  private PatternEvaluator(short[][] weights, PatternWeights fitted) {
+    this.weights = weights;
+    this.fitted = fitted;
+  }
+
+  @Override
+  public int evaluate(SearchableReversiModel model) {
+    if (model != this.attached) {
+      this.attach(model);
+    }
+    short[][] tables = this.tables;
+    int score = 0;
+    for (int p = 0; p < this.indices.length; p++) {
+      score += tables[this.patterns.tableOf(p)][this.indices[p]];
+    }
+    return model.getTurn() == Player.BLACK ? score : -score;
+  }
+
+  @Override
+  public void cellChanged(int index, Player before, Player after) {
+    int change = PatternSet.digit(after) - PatternSet.digit(before);
+    int[] through = this.patterns.patternsAt(index);
+    int[] powers = this.patterns.powersAt(index);
+    for (int i = 0; i < through.length; i++) {
+      this.indices[through[i]] += change * powers[i];
+    }
+  }
+
+  /**
+   * Returns the current index of a pattern on the followed model.
+   *
+   * @param pattern the pattern
+   * @return the base 3 index of the pattern's cells
+   */
+  public int indexOf(int pattern) {
+    return this.indices[pattern];
+  }
+
+  /**
+   * Starts following a model: computes the index of every pattern from scratch and listens to
+   * the model's cells from then on.
+   *
+   * @param model the model to follow
+   */
+  public void attach(SearchableReversiModel model) {
+    if (this.attached != null) {
+      this.attached.setCellListener(null);
+    }
+    this.patterns = PatternSet.forBoard(model.getSideLen(), model.isHex());
+    if (this.weights != null) {
+      this.tables = this.weights;
+    } else if (this.fitted != null && this.fitted.fits(model.getSideLen(), model.isHex())) {
+      this.tables = this.fitted.getTables();
+    } else {
+      this.tables = this.patterns.defaultWeights();
+    }
+    this.indices = new int[this.patterns.patternCount()];
+    for (int p = 0; p < this.indices.length; p++) {
+      this.indices[p] = this.patterns.index(p, model);
+    }
+    this.attached = model;
+    model.setCellListener(this);
+  }
+}
@@ -0,0 +1,342 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.model.ReadonlyReversiModel;
+import model.model.Tile;
+import model.player.Player;
+
+/**
+ * Represents the patterns of a board: short lines of cells, read outward from the corners, whose
+ * contents are scored together by a table lookup. Each pattern reads its cells as a base 3 number,
+ * with an empty cell as 0, black as 1 and white as 2, and the first cell as the lowest digit.
+ * Patterns that are the same up to the symmetry of the board share one weight table.
+ *
+ * <p>From each corner there are three kinds of line, found the same way on hex and square boards:
+ * the two edges, the two lines one cell in from them, and the diagonal (the spoke to the center
+ * on a hex board). Lines are cut off at {@code MAX_LENGTH} cells to keep the tables small. Pattern
+ * sets are immutable and shared by every game of the same board.
+ */
+public final class PatternSet {
+  // the most cells in a pattern, so the largest table has 3^MAX_LENGTH entries
+  public static final int MAX_LENGTH = 8;
+  // the kinds of pattern, which are also the indices of their weight tables
+  public static final int EDGE = 0;
+  public static final int SECOND_LINE = 1;
+  public static final int DIAGONAL = 2;
+
+  // one pattern set per board, keyed by the side length and negated for square boards
+  private static final Map<Integer, PatternSet> CACHE = new ConcurrentHashMap<>();
+
+  private final int sideLen;
+  private final boolean isHex;
+  private final int width;
+  // the cells of each pattern and the table it uses
+  private final int[][] cells;
+  private final int[] tables;
+  // the length of the patterns of each table
+  private final int[] lengths;
+  // for every cell, the patterns through it and the place value of the cell in each
+  private final int[][] cellPatterns;
+  private final int[][] cellPowers;
+  private final short[][] defaultWeights;
+
+  /**
+   * Returns the pattern set of the given board, building it the first time it is needed.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @return the shared pattern set
+   */
+  public static PatternSet forBoard(int sideLen, boolean isHex) {
+    return CACHE.computeIfAbsent(isHex ? sideLen : -sideLen, key -> new PatternSet(sideLen,
+            isHex));
+  }
+
+  /**
+   * Constructs the PatternSet of the given board.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   */
+  private PatternSet(int sideLen, boolean isHex) {
+    this.sideLen = sideLen;
+    this.isHex = isHex;
+    this.width = isHex ? 2 * sideLen - 1 : sideLen;
+    int[][] directions = isHex ? ReadonlyReversiModel.HEX_DIRECTIONS
+            : ReadonlyReversiModel.SQUARE_DIRECTIONS;
+
+    List<int[]> lines = new ArrayList<>();
+    List<Integer> kinds = new ArrayList<>();
+    for (int r = 0; r < this.width; r++) {
+      for (int q = 0; q < this.width; q++) {
+        List<int[]> open = new ArrayList<>();
+        for (int[] direction : directions) {
+          if (this.isCell(q, r) && this.isCell(q + direction[0], r + direction[1])) {
+            open.add(direction);
+          }
+        }
+        // a corner has three neighbors: along its two edges, and the diagonal between them
+        if (open.size() != 3) {
+          continue;
+        }
+        for (int[] side : open) {
+          for (int[] other : open) {
+            if (side == other || findSum(open, side, other) == null) {
+              continue;
+            }
+            lines.add(this.line(q, r, side));
+            kinds.add(EDGE);
+            lines.add(this.line(q + other[0], r + other[1], side));
+            kinds.add(SECOND_LINE);
+            if (side[0] + side[1] * 3 < other[0] + other[1] * 3) {
+              // add the diagonal once, not once per edge
+              int[] diagonal = findSum(open, side, other);
+              lines.add(this.line(q, r, diagonal));
+              kinds.add(DIAGONAL);
+            }
+          }
+        }
+      }
+    }
+
+    this.cells = lines.toArray(new int[0][]);
+    this.tables = new int[this.cells.length];
+    this.lengths = new int[3];
+    int[] counts = new int[this.width * this.width];
+    for (int p = 0; p < this.cells.length; p++) {
+      this.tables[p] = kinds.get(p);
+      this.lengths[this.tables[p]] = Math.max(this.lengths[this.tables[p]], this.cells[p].length);
+      for (int cell : this.cells[p]) {
+        counts[cell]++;
+      }
+    }
+    this.cellPatterns = new int[counts.length][];
+    this.cellPowers = new int[counts.length][];
+    for (int cell = 0; cell < counts.length; cell++) {
+      this.cellPatterns[cell] = new int[counts[cell]];
+      this.cellPowers[cell] = new int[counts[cell]];
+      counts[cell] = 0;
+    }
+    for (int p = 0; p < this.cells.length; p++) {
+      int power = 1;
+      for (int cell : this.cells[p]) {
+        this.cellPatterns[cell][counts[cell]] = p;
+        this.cellPowers[cell][counts[cell]] = power;
+        counts[cell]++;
+        power *= 3;
+      }
+    }
+
+    this.defaultWeights = new short[this.lengths.length][];
+    for (int table = 0; table < this.lengths.length; table++) {
+      this.defaultWeights[table] = new short[this.tableSize(table)];
+      for (int index = 0; index < this.defaultWeights[table].length; index++) {
+        this.defaultWeights[table][index] = defaultWeight(table, index);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of patterns on the board.
+   *
+   * @return the pattern count
+   */
+  public int patternCount() {
+    return this.cells.length;
+  }
+
+  /**
+   * Returns the cells of a pattern, as indices {@code r * width + q}, starting at its corner.
+   *
+   * @param pattern the pattern
+   * @return the cells of the pattern, which must not be changed
+   */
+  public int[] cellsOf(int pattern) {
+    return this.cells[pattern];
+  }
+
+  /**
+   * Returns the weight table a pattern uses.
+   *
+   * @param pattern the pattern
+   * @return {@code EDGE}, {@code SECOND_LINE} or {@code DIAGONAL}
+   */
+  public int tableOf(int pattern) {
+    return this.tables[pattern];
+  }
+
+  /**
+   * Returns the number of weight tables, one per kind of pattern.
+   *
+   * @return the table count
+   */
+  public int tableCount() {
+    return this.lengths.length;
+  }
+
+  /**
+   * Returns the number of entries in a weight table, 3 to the power of its pattern length.
+   *
+   * @param table the table
+   * @return the size of the table
+   */
+  public int tableSize(int table) {
+    int size = 1;
+    for (int i = 0; i < this.lengths[table]; i++) {
+      size *= 3;
+    }
+    return size;
+  }
+
+  /**
+   * Returns the patterns that go through a cell.
+   *
+   * @param cell the index {@code r * width + q} of the cell
+   * @return the patterns through the cell, which must not be changed
+   */
+  public int[] patternsAt(int cell) {
+    return this.cellPatterns[cell];
+  }
+
+  /**
+   * Returns the place value of a cell in each pattern through it, in the order of
+   * {@code patternsAt}.
+   *
+   * @param cell the index {@code r * width + q} of the cell
+   * @return the powers of 3 of the cell, which must not be changed
+   */
+  public int[] powersAt(int cell) {
+    return this.cellPowers[cell];
+  }
+
+  /**
+   * Returns the hand-made weights of every table, scored for black: corners are worth the most,
+   * and cells next to an empty corner are penalized since they give it away.
+   *
+   * @return the default weights, which must not be changed
+   */
+  public short[][] defaultWeights() {
+    return this.defaultWeights;
+  }
+
+  /**
+   * Computes the index of a pattern on the given board from scratch.
+   *
+   * @param pattern the pattern
+   * @param model   the board to read
+   * @return the base 3 index of the pattern's cells
+   */
+  public int index(int pattern, ReadonlyReversiModel model) {
+    int index = 0;
+    int[] line = this.cells[pattern];
+    for (int i = line.length - 1; i >= 0; i--) {
+      Tile tile = model.getTileAt(line[i] % this.width, line[i] / this.width);
+      index = index * 3 + digit(tile.getPlayerAt());
+    }
+    return index;
+  }
+
+  /**
+   * Returns the base 3 digit of a cell's player.
+   *
+   * @param player the player on the cell
+   * @return 0 for empty, 1 for black and 2 for white
+   */
+  public static int digit(Player player) {
+    switch (player) {
+      case BLACK:
+        return 1;
+      case WHITE:
+        return 2;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Returns the hand-made weight of one configuration of a pattern, for black.
+   *
+   * @param table the kind of pattern
+   * @param index the base 3 index of the configuration
+   * @return the weight of the configuration
+   */
+  private static short defaultWeight(int table, int index) {
+    boolean cornerEmpty = index % 3 == 0;
+    int weight = 0;
+    for (int i = 0; index > 0; i++, index /= 3) {
+      int digit = index % 3;
+      if (digit == 0) {
+        continue;
+      }
+      int value;
+      if (table == SECOND_LINE) {
+        // the first two cells touch the corner this line starts beside
+        value = i == 0 ? -2 : i == 1 ? -6 : -1;
+      } else if (i == 0) {
+        value = 30;
+      } else if (i == 1) {
+        value = table == EDGE ? (cornerEmpty ? -8 : 4) : (cornerEmpty ? -15 : 2);
+      } else {
+        value = table == EDGE ? 3 : 1;
+      }
+      weight += digit == 1 ? value : -value;
+    }
+    return (short) weight;
+  }
+
+  /**
+   * Returns the cells from a start cell in one direction, up to {@code MAX_LENGTH} of them.
+   *
+   * @param q         the q coordinate of the first cell
+   * @param r         the r coordinate of the first cell
+   * @param direction the direction of the line
+   * @return the indices of the cells of the line
+   */
+  private int[] line(int q, int r, int[] direction) {
+    int[] line = new int[MAX_LENGTH];
+    int length = 0;
+    while (length < MAX_LENGTH && this.isCell(q, r)) {
+      line[length++] = r * this.width + q;
+      q += direction[0];
+      r += direction[1];
+    }
+    int[] result = new int[length];
+    System.arraycopy(line, 0, result, 0, length);
+    return result;
+  }
+
+  /**
+   * Returns the direction among the given ones that is the sum of two others, or null.
+   *
+   * @param directions the directions to look in
+   * @param first      the first direction of the sum
+   * @param second     the second direction of the sum
+   * @return the matching direction, or null if none matches
+   */
+  private static int[] findSum(List<int[]> directions, int[] first, int[] second) {
+    for (int[] direction : directions) {
+      if (direction[0] == first[0] + second[0] && direction[1] == first[1] + second[1]) {
+        return direction;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether the given coordinates are a cell of the board.
+   *
+   * @param q the q coordinate
+   * @param r the r coordinate
+   * @return true if the coordinates are a cell
+   */
+  private boolean isCell(int q, int r) {
+    if (q < 0 || q >= this.width || r < 0 || r >= this.width) {
+      return false;
+    }
+    return !this.isHex || (q + r >= this.sideLen - 1 && q + r <= 3 * this.sideLen - 3);
+  }
+}
@@ -0,0 +1,144 @@
+package strategy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents the pattern weight tables of one board, as fitted by the {@link SelfPlayTuner}. The
+ * weights are stored in a compact binary file: a header of five big-endian ints (a magic number,
+ * the format version, whether the board is hexagonal, its side length and the number of tables),
+ * then for each table its length followed by that many 16 bit weights. Loading maps the file into
+ * memory and copies the tables out of it in bulk.
+ */
+public final class PatternWeights {
+  // "RVPW", marking a file of reversi pattern weights
+  private static final int MAGIC = 0x52565057;
+  private static final int VERSION = 1;
+
+  private final int sideLen;
+  private final boolean isHex;
+  private final short[][] tables;
+
+  /**
+   * Constructs the PatternWeights of a board.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @param tables  the weight tables, scored for black, one per kind of pattern
+   * @throws IllegalArgumentException if the tables do not match the board's {@link PatternSet}
+   */
+  public PatternWeights(int sideLen, boolean isHex, short[][] tables) {
+    PatternSet patterns = PatternSet.forBoard(sideLen, isHex);
+    if (tables.length != patterns.tableCount()) {
+      throw new IllegalArgumentException("Expected " + patterns.tableCount() + " tables");
+    }
+    for (int t = 0; t < tables.length; t++) {
+      if (tables[t].length != patterns.tableSize(t)) {
+        throw new IllegalArgumentException("Table " + t + " should have "
+                + patterns.tableSize(t) + " weights");
+      }
+    }
+    this.sideLen = sideLen;
+    this.isHex = isHex;
+    this.tables = tables;
+  }
+
+  /**
+   * Loads weights from a file written by {@link #save(Path)}, by mapping it into memory.
+   *
+   * @param file the weight file
+   * @return the weights in the file
+   * @throws IOException if the file cannot be read or is not a weight file of a valid board
+   */
+  public static PatternWeights load(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IOException("Not a pattern weight file: " + file);
+      }
+      boolean isHex = buffer.getInt() != 0;
+      int sideLen = buffer.getInt();
+      short[][] tables = new short[buffer.getInt()][];
+      for (int t = 0; t < tables.length; t++) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / Short.BYTES) {
+          throw new IOException("Truncated pattern weight file: " + file);
+        }
+        tables[t] = new short[length];
+        buffer.asShortBuffer().get(tables[t]);
+        buffer.position(buffer.position() + length * Short.BYTES);
+      }
+      return new PatternWeights(sideLen, isHex, tables);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Invalid pattern weight file: " + file, e);
+    }
+  }
+
+  /**
+   * Writes these weights to a file, replacing it if it exists.
+   *
+   * @param file the weight file
+   * @throws IOException if the file cannot be written
+   */
+  public void save(Path file) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(this.isHex ? 1 : 0);
+      out.writeInt(this.sideLen);
+      out.writeInt(this.tables.length);
+      for (short[] table : this.tables) {
+        out.writeInt(table.length);
+        for (short weight : table) {
+          out.writeShort(weight);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether these are the weights of the given board.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @return true if the weights were fitted for the board
+   */
+  public boolean fits(int sideLen, boolean isHex) {
+    return this.sideLen == sideLen && this.isHex == isHex;
+  }
+
+  /**
+   * Returns the side length of the board these weights are for.
+   *
+   * @return the side length
+   */
+  public int getSideLen() {
+    return this.sideLen;
+  }
+
+  /**
+   * Returns whether the board these weights are for is hexagonal.
+   *
+   * @return true if the board is hexagonal
+   */
+  public boolean isHex() {
+    return this.isHex;
+  }
+
+  /**
+   * Returns the weight tables, one per kind of pattern, scored for black.
+   *
+   * @return the weight tables, which must not be changed
+   */
+  public short[][] getTables() {
+    return this.tables;
+  }
+}
@@ -0,0 +1,19 @@
+package strategy;
+
+import model.model.SearchableReversiModel;
+
+/**
+ * Represents a static evaluation of a Reversi position, used by search strategies to score the
+ * positions at the end of their search.
+ */
+public interface PositionEvaluator {
+  /**
+   * Scores the given position from the point of view of the player whose turn it is. Higher scores
+   * are better for that player, and a score must stay well below
+   * {@link NegamaxSearch#WIN_SCORE} in magnitude so that finished games always outrank it.
+   *
+   * @param model the position to score
+   * @return the score of the position for the player whose turn it is
+   */
+  int evaluate(SearchableReversiModel model);
+}
@@ -0,0 +1,417 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import controller.BatchRunner;
+import controller.HeadlessController;
+import model.model.ReversiModel;
+import model.player.MachineReversiPlayer;
+import model.player.Player;
+
+/**
+ * Fits the pattern weights of a board from games the engine plays against itself. Games are
+ * played headless between two {@link MachineReversiPlayer}s on a pool of threads, each starting
+ * with a few random moves so that no two games are alike. Every position of every game is recorded
+ * as the indices of its patterns, together with the final disc differential.
+ *
+ * <p>The weights are then fitted to the recorded games, either by least squares on the final
+ * differential or by logistic regression on the winner. Since a position's score is a sum of one
+ * weight per pattern, each weight is moved by the average error of the positions it appears in,
+ * damped by the number of patterns, over a number of passes. After each pass, every configuration
+ * and its color swap are given opposite weights, since the board is the same for both players.
+ *
+ * <p>Run {@code main} to play games and write the fitted weights to a file that
+ * {@link PatternWeights#load(Path)} maps back in.
+ */
+public class SelfPlayTuner {
+  // the evaluation units a disc of final differential is worth in a least squares fit
+  public static final int UNITS_PER_DISC = 16;
+  // the evaluation that a logistic fit maps to a win probability of 1 / (1 + e^-1)
+  public static final double LOGISTIC_SCALE = 10 * UNITS_PER_DISC;
+  // the number of passes over the games when fitting, by default
+  public static final int DEFAULT_EPOCHS = 200;
+  // the number of random moves that start each game, by default
+  public static final int DEFAULT_RANDOM_PLIES = 6;
+  // the number of games a configuration is assumed to have scored 0 in, keeping rare ones small
+  private static final double PRIOR = 4;
+
+  /**
+   * The ways to fit weights to the games.
+   */
+  public enum Fit {
+    // the score predicts the final disc differential
+    LEAST_SQUARES,
+    // the score predicts the chance that black wins
+    LOGISTIC
+  }
+
+  private final int sideLen;
+  private final boolean isHex;
+  private final PatternSet patterns;
+  private final Supplier<InfallibleReversiStrategy> strategies;
+  private final int randomPlies;
+  private final int threads;
+  // the pattern indices of every recorded position, and the final differential of its game
+  private final List<int[][]> positions;
+  private final List<Integer> differentials;
+  private long gameNanos;
+  private int gamesPlayed;
+
+  /**
+   * Constructs a SelfPlayTuner.
+   *
+   * @param sideLen     the side length of the board
+   * @param isHex       whether the board is hexagonal
+   * @param strategies  makes the strategy of each player of each game
+   * @param randomPlies the number of random moves that start each game
+   * @param threads     the number of games played at once
+   * @throws IllegalArgumentException if the number of random moves is negative or the number of
+   *                                  threads is not positive
+   */
+  public SelfPlayTuner(int sideLen, boolean isHex, Supplier<InfallibleReversiStrategy> strategies,
+                       int randomPlies, int threads) {
+    if (randomPlies < 0 || threads < 1) {
+      throw new IllegalArgumentException("Invalid number of random moves or threads");
+    }
+    this.sideLen = sideLen;
+    this.isHex = isHex;
+    this.patterns = PatternSet.forBoard(sideLen, isHex);
+    this.strategies = strategies;
+    this.randomPlies = randomPlies;
+    this.threads = threads;
+    this.positions = new ArrayList<>();
+    this.differentials = new ArrayList<>();
+  }
+
+  /**
+   * Plays a batch of games and records their positions. The games played depend only on the
+   * seed, not on the number of threads.
+   *
+   * @param games the number of games
+   * @param seed  the seed of the random opening moves
+   * @return the number of positions recorded
+   * @throws IllegalStateException if a game fails
+   */
+  public int playGames(int games, long seed) {
+    ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+    long start = System.nanoTime();
+    int recorded = 0;
+    try {
+      List<Future<int[][]>> results = new ArrayList<>();
+      List<int[]> outcomes = new ArrayList<>();
+      for (int g = 0; g < games; g++) {
+        long gameSeed = seed + g;
+        int[] outcome = new int[1];
+        outcomes.add(outcome);
+        results.add(pool.submit(() -> this.playGame(gameSeed, outcome)));
+      }
+      for (int g = 0; g < games; g++) {
+        int[][] game = results.get(g).get();
+        this.positions.add(game);
+        this.differentials.add(outcomes.get(g)[0]);
+        recorded += game.length;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while playing games", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    this.gameNanos += System.nanoTime() - start;
+    this.gamesPlayed += games;
+    return recorded;
+  }
+
+  /**
+   * Plays one game and records the pattern indices of each position in it.
+   *
+   * @param seed    the seed of the random opening moves
+   * @param outcome where to put the final disc differential, black minus white
+   * @return the pattern indices of every position of the game
+   */
+  private int[][] playGame(long seed, int[] outcome) {
+    ReversiModel model = BatchRunner.newGame(this.sideLen, this.isHex);
+    HeadlessController controller = new HeadlessController(model,
+            new MachineReversiPlayer(model, this.strategies.get(), Player.BLACK),
+            new MachineReversiPlayer(model, this.strategies.get(), Player.WHITE));
+    Random random = new Random(seed);
+    List<int[]> game = new ArrayList<>();
+    while (!controller.isOver()) {
+      game.add(this.indices(model));
+      if (game.size() <= this.randomPlies) {
+        BatchRunner.playRandomMoves(model, 1, random);
+      } else {
+        controller.step();
+      }
+    }
+    outcome[0] = model.getScore(Player.BLACK) - model.getScore(Player.WHITE);
+    return game.toArray(new int[0][]);
+  }
+
+  /**
+   * Returns the index of every pattern of the given position.
+   *
+   * @param model the position
+   * @return the pattern indices
+   */
+  private int[] indices(ReversiModel model) {
+    int[] indices = new int[this.patterns.patternCount()];
+    for (int p = 0; p < indices.length; p++) {
+      indices[p] = this.patterns.index(p, model);
+    }
+    return indices;
+  }
+
+  /**
+   * Fits weights to every game played so far.
+   *
+   * @param fit    the kind of fit
+   * @param epochs the number of passes over the games
+   * @return the fitted weights
+   * @throws IllegalStateException if no games have been played
+   */
+  public PatternWeights fit(Fit fit, int epochs) {
+    if (this.positions.isEmpty()) {
+      throw new IllegalStateException("No games to fit");
+    }
+    int tableCount = this.patterns.tableCount();
+    double[][] weights = new double[tableCount][];
+    double[][] errors = new double[tableCount][];
+    int[][] counts = new int[tableCount][];
+    int[][] swaps = new int[tableCount][];
+    for (int t = 0; t < tableCount; t++) {
+      weights[t] = new double[this.patterns.tableSize(t)];
+      errors[t] = new double[weights[t].length];
+      counts[t] = new int[weights[t].length];
+      swaps[t] = colorSwaps(weights[t].length);
+    }
+    for (int[][] game : this.positions) {
+      for (int[] position : game) {
+        for (int p = 0; p < position.length; p++) {
+          counts[this.patterns.tableOf(p)][position[p]]++;
+        }
+      }
+    }
+
+    double damping = 1.0 / this.patterns.patternCount();
+    for (int epoch = 0; epoch < epochs; epoch++) {
+      for (int g = 0; g < this.positions.size(); g++) {
+        int differential = this.differentials.get(g);
+        for (int[] position : this.positions.get(g)) {
+          double error = this.error(fit, this.score(weights, position), differential);
+          for (int p = 0; p < position.length; p++) {
+            errors[this.patterns.tableOf(p)][position[p]] += error;
+          }
+        }
+      }
+      for (int t = 0; t < tableCount; t++) {
+        for (int i = 0; i < weights[t].length; i++) {
+          weights[t][i] += damping * errors[t][i] / (counts[t][i] + PRIOR);
+          errors[t][i] = 0;
+        }
+        for (int i = 0; i < weights[t].length; i++) {
+          int swap = swaps[t][i];
+          if (swap >= i) {
+            double weight = (weights[t][i] - weights[t][swap]) / 2;
+            weights[t][i] = weight;
+            weights[t][swap] = -weight;
+          }
+        }
+      }
+    }
+
+    short[][] tables = new short[tableCount][];
+    for (int t = 0; t < tableCount; t++) {
+      tables[t] = new short[weights[t].length];
+      for (int i = 0; i < weights[t].length; i++) {
+        tables[t][i] = (short) Math.max(-Short.MAX_VALUE,
+                Math.min(Short.MAX_VALUE, Math.round(weights[t][i])));
+      }
+    }
+    return new PatternWeights(this.sideLen, this.isHex, tables);
+  }
+
+  /**
+   * Returns how far given weights are from the outcomes of the games played so far: the mean
+   * squared error in discs for a least squares fit, or the mean log loss of a logistic fit.
+   *
+   * @param fit     the kind of fit
+   * @param weights the weights to measure
+   * @return the mean error over every recorded position
+   * @throws IllegalStateException if no games have been played
+   */
+  public double meanError(Fit fit, PatternWeights weights) {
+    if (this.positions.isEmpty()) {
+      throw new IllegalStateException("No games to measure");
+    }
+    short[][] tables = weights.getTables();
+    double total = 0;
+    long count = 0;
+    for (int g = 0; g < this.positions.size(); g++) {
+      int differential = this.differentials.get(g);
+      for (int[] position : this.positions.get(g)) {
+        double score = 0;
+        for (int p = 0; p < position.length; p++) {
+          score += tables[this.patterns.tableOf(p)][position[p]];
+        }
+        if (fit == Fit.LEAST_SQUARES) {
+          double miss = score / UNITS_PER_DISC - differential;
+          total += miss * miss;
+        } else {
+          double win = winProbability(score);
+          double outcome = outcome(differential);
+          total -= outcome * Math.log(Math.max(win, 1e-12))
+                  + (1 - outcome) * Math.log(Math.max(1 - win, 1e-12));
+        }
+        count++;
+      }
+    }
+    return total / count;
+  }
+
+  /**
+   * Returns the score of a position under the given weights.
+   *
+   * @param weights  the weights
+   * @param position the pattern indices of the position
+   * @return the sum of the weights of its patterns
+   */
+  private double score(double[][] weights, int[] position) {
+    double score = 0;
+    for (int p = 0; p < position.length; p++) {
+      score += weights[this.patterns.tableOf(p)][position[p]];
+    }
+    return score;
+  }
+
+  /**
+   * Returns the error of a position's score, in evaluation units, as the amount the score should
+   * move towards the outcome of its game.
+   *
+   * @param fit          the kind of fit
+   * @param score        the score of the position
+   * @param differential the final disc differential of the game
+   * @return the error of the score
+   */
+  private double error(Fit fit, double score, int differential) {
+    if (fit == Fit.LEAST_SQUARES) {
+      return differential * UNITS_PER_DISC - score;
+    }
+    // scaled by the slope of the logistic curve at an even position
+    return (outcome(differential) - winProbability(score)) * 4 * LOGISTIC_SCALE;
+  }
+
+  /**
+   * Returns the chance that black wins from a position with the given score.
+   *
+   * @param score the score of the position
+   * @return the win probability under the logistic model
+   */
+  private static double winProbability(double score) {
+    return 1 / (1 + Math.exp(-score / LOGISTIC_SCALE));
+  }
+
+  /**
+   * Returns the outcome of a game for black: 1 for a win, 0.5 for a draw and 0 for a loss.
+   *
+   * @param differential the final disc differential of the game
+   * @return the outcome for black
+   */
+  private static double outcome(int differential) {
+    return differential > 0 ? 1 : differential < 0 ? 0 : 0.5;
+  }
+
+  /**
+   * Returns, for every index of a table, the index of the same cells with the colors swapped.
+   *
+   * @param size the size of the table, a power of 3
+   * @return the color swapped index of each index
+   */
+  private static int[] colorSwaps(int size) {
+    int[] swaps = new int[size];
+    for (int i = 0; i < size; i++) {
+      int swap = 0;
+      for (int rest = i, power = 1; rest > 0; rest /= 3, power *= 3) {
+        int digit = rest % 3;
+        swap += (digit == 0 ? 0 : 3 - digit) * power;
+      }
+      swaps[i] = swap;
+    }
+    return swaps;
+  }
+
+  /**
+   * Returns the number of games played so far.
+   *
+   * @return the number of games
+   */
+  public int getGamesPlayed() {
+    return this.gamesPlayed;
+  }
+
+  /**
+   * Returns the number of games played per second so far.
+   *
+   * @return the throughput of self-play
+   */
+  public double getGamesPerSecond() {
+    return this.gameNanos == 0 ? 0 : this.gamesPlayed * 1e9 / this.gameNanos;
+  }
+
+  /**
+   * Plays self-play games and writes the fitted weights to a file. The arguments are the board
+   * ({@code hex} or {@code square}), its side length, the number of games, the weight file, and
+   * optionally the fit ({@code leastsquares} or {@code logistic}), the number of threads and the
+   * search depth of the players.
+   *
+   * @param args the command line arguments
+   * @throws IOException if the weight file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 4) {
+      System.out.println("Usage: SelfPlayTuner <hex|square> <side length> <games> <weight file>"
+              + " [leastsquares|logistic] [threads] [depth]");
+      return;
+    }
+    boolean isHex = args[0].equalsIgnoreCase("hex");
+    int sideLen = Integer.parseInt(args[1]);
+    int games = Integer.parseInt(args[2]);
+    Path file = Paths.get(args[3]);
+    Fit fit = args.length > 4 && args[4].equalsIgnoreCase("logistic")
+            ? Fit.LOGISTIC : Fit.LEAST_SQUARES;
+    int threads = args.length > 5 ? Integer.parseInt(args[5])
+            : Runtime.getRuntime().availableProcessors();
+    int depth = args.length > 6 ? Integer.parseInt(args[6]) : 2;
+
+    SelfPlayTuner tuner = new SelfPlayTuner(sideLen, isHex,
+            () -> new AlphaBetaStrategy(60_000, depth, new StandardEvaluator()),
+            DEFAULT_RANDOM_PLIES, threads);
+    int recorded = tuner.playGames(games, System.nanoTime());
+    System.out.printf("Played %d games (%.1f games/s), recorded %d positions%n",
+            games, tuner.getGamesPerSecond(), recorded);
+
+    PatternSet patterns = PatternSet.forBoard(sideLen, isHex);
+    short[][] zero = new short[patterns.tableCount()][];
+    for (int t = 0; t < zero.length; t++) {
+      zero[t] = new short[patterns.tableSize(t)];
+    }
+    PatternWeights fitted = tuner.fit(fit, DEFAULT_EPOCHS);
+    System.out.printf("Mean error %.3f with no weights, %.3f fitted%n",
+            tuner.meanError(fit, new PatternWeights(sideLen, isHex, zero)),
+            tuner.meanError(fit, fitted));
+    fitted.save(file);
+    System.out.println("Wrote " + file);
+  }
+}
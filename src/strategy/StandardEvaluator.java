@@ -0,0 +1,70 @@
+package strategy;
+
+import model.model.SearchableReversiModel;
+import model.player.Player;
+
+/**
+ * Represents a position evaluator that weighs the corners each player holds, how many moves each
+ * player has, and the disc count. Corners can never be flipped, and having more moves than the
+ * opponent keeps them short of good ones, so both count for more than discs.
+ */
+public class StandardEvaluator implements PositionEvaluator {
+  private static final int CORNER_WEIGHT = 25;
+  private static final int MOBILITY_WEIGHT = 5;
+  private static final int DISC_WEIGHT = 1;
+
+  // the board the corner cells were computed for
+  private int width;
+  private int sideLen;
+  private boolean isHex;
+  private int[][] corners;
+  private int[] moves;
+
+  @Override
+  public int evaluate(SearchableReversiModel model) {
+    if (this.corners == null || this.width != model.getWidth()
+            || this.sideLen != model.getSideLen() || this.isHex != model.isHex()) {
+      this.setUp(model);
+    }
+    Player me = model.getTurn();
+    Player opponent = model.nextTurn();
+
+    int corners = 0;
+    for (int[] corner : this.corners) {
+      Player owner = model.getTileAt(corner[0], corner[1]).getPlayerAt();
+      if (owner == me) {
+        corners++;
+      } else if (owner == opponent) {
+        corners--;
+      }
+    }
+
+    int mobility = model.fillLegalMoves(this.moves);
+    model.doPass();
+    mobility -= model.fillLegalMoves(this.moves);
+    model.undoMove();
+
+    int discs = model.getScore(me) - model.getScore(opponent);
+    return CORNER_WEIGHT * corners + MOBILITY_WEIGHT * mobility + DISC_WEIGHT * discs;
+  }
+
+  /**
+   * Finds the corners of the given board and allocates the move buffer for it.
+   *
+   * @param model the model to evaluate
+   */
+  private void setUp(SearchableReversiModel model) {
+    this.width = model.getWidth();
+    this.sideLen = model.getSideLen();
+    this.isHex = model.isHex();
+    this.moves = new int[model.getWidth() * model.getHeight()];
+    int last = model.getWidth() - 1;
+    if (this.isHex) {
+      int side = this.sideLen - 1;
+      this.corners = new int[][]{{side, 0}, {last, 0}, {0, side}, {last, side}, {0, last},
+        {side, last}};
+    } else {
+      this.corners = new int[][]{{0, 0}, {last, 0}, {0, last}, {last, last}};
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * Represents a fixed-size table of search results keyed by the Zobrist key of a position, so a
+ * search that reaches the same position through a different order of moves can reuse its earlier
+ * result. The table holds a power of two of two-entry buckets in primitive arrays. The first entry
+ * of a bucket keeps the deepest result it has seen, and the second always takes the newest result,
+ * so deep results survive while recent ones stay available.
+ *
+ * <p>Each entry stores its data both as is and XORed with its key. A probe only accepts an entry
+ * whose two halves agree, so searches on several threads can share one table without locks: an
+ * entry torn by two concurrent writes reads as a miss. The counters are not synchronized and are
+ * approximate when the table is shared.
+ */
+public class TranspositionTable {
+  // the kinds of score an entry holds
+  public static final int EXACT = 1;
+  public static final int LOWER_BOUND = 2;
+  public static final int UPPER_BOUND = 3;
+
+  // the layout of the data of an entry: bound, depth and move + 1 in the low bits, score above
+  private static final int DEPTH_SHIFT = 2;
+  private static final int MOVE_SHIFT = 10;
+  private static final int SCORE_SHIFT = 32;
+
+  private final long[] keys;
+  private final long[] data;
+  private final int mask;
+  private long probes;
+  private long hits;
+  private long collisions;
+  private long stores;
+
+  /**
+   * Constructs an empty TranspositionTable of {@code 2^sizeBits} buckets, which takes
+   * {@code 32 * 2^sizeBits} bytes.
+   *
+   * @param sizeBits the base 2 logarithm of the number of buckets
+   * @throws IllegalArgumentException if the size is not between 1 and 2^26 buckets
+   */
+  public TranspositionTable(int sizeBits) {
+    if (sizeBits < 0 || sizeBits > 26) {
+      throw new IllegalArgumentException("Invalid table size");
+    }
+    this.keys = new long[2 << sizeBits];
+    this.data = new long[2 << sizeBits];
+    this.mask = (1 << sizeBits) - 1;
+  }
+
+  /**
+   * Looks up the entry of the given position.
+   *
+   * @param key the Zobrist key of the position
+   * @return the data of the entry, to be read with the static accessors of this class, or 0 if
+   *         the table holds no entry for the position
+   */
+  public long probe(long key) {
+    this.probes++;
+    int slot = this.bucket(key);
+    for (int i = slot; i < slot + 2; i++) {
+      long entry = this.data[i];
+      if (entry != 0 && (this.keys[i] ^ entry) == key) {
+        this.hits++;
+        return entry;
+      }
+    }
+    if (this.data[slot] != 0 || this.data[slot + 1] != 0) {
+      this.collisions++;
+    }
+    return 0;
+  }
+
+  /**
+   * Stores the result of searching the given position.
+   *
+   * @param key   the Zobrist key of the position
+   * @param depth the depth of the search, from 0 to 255
+   * @param bound whether the score is {@code EXACT}, a {@code LOWER_BOUND} or an
+   *              {@code UPPER_BOUND}
+   * @param score the score of the position
+   * @param move  the cell index of the best move found, or -1 if there is none
+   */
+  public void store(long key, int depth, int bound, int score, int move) {
+    this.stores++;
+    long entry = ((long) score << SCORE_SHIFT) | ((long) (move + 1) << MOVE_SHIFT)
+            | ((long) Math.min(depth, 255) << DEPTH_SHIFT) | bound;
+    int slot = this.bucket(key);
+    long deep = this.data[slot];
+    if (deep == 0 || (this.keys[slot] ^ deep) == key || depth >= depthOf(deep)) {
+      this.data[slot] = entry;
+      this.keys[slot] = key ^ entry;
+    } else {
+      this.data[slot + 1] = entry;
+      this.keys[slot + 1] = key ^ entry;
+    }
+  }
+
+  /**
+   * Empties the table and resets its counters.
+   */
+  public void clear() {
+    Arrays.fill(this.keys, 0);
+    Arrays.fill(this.data, 0);
+    this.probes = 0;
+    this.hits = 0;
+    this.collisions = 0;
+    this.stores = 0;
+  }
+
+  /**
+   * Returns the number of entries the table can hold.
+   *
+   * @return the capacity of the table
+   */
+  public int capacity() {
+    return this.data.length;
+  }
+
+  /**
+   * Returns the number of lookups since the table was created or cleared.
+   *
+   * @return the number of probes
+   */
+  public long getProbes() {
+    return this.probes;
+  }
+
+  /**
+   * Returns the number of lookups that found their position.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Returns the number of lookups that missed although the bucket of the position held other
+   * positions, which counts how often positions compete for the same bucket.
+   *
+   * @return the number of collisions
+   */
+  public long getCollisions() {
+    return this.collisions;
+  }
+
+  /**
+   * Returns the number of results stored.
+   *
+   * @return the number of stores
+   */
+  public long getStores() {
+    return this.stores;
+  }
+
+  /**
+   * Returns the fraction of lookups that found their position.
+   *
+   * @return the hit rate, or 0 if there were no lookups
+   */
+  public double getHitRate() {
+    return this.probes == 0 ? 0 : (double) this.hits / this.probes;
+  }
+
+  /**
+   * Returns the score of an entry.
+   *
+   * @param entry the data returned by {@code probe}
+   * @return the stored score
+   */
+  public static int scoreOf(long entry) {
+    return (int) (entry >> SCORE_SHIFT);
+  }
+
+  /**
+   * Returns the search depth of an entry.
+   *
+   * @param entry the data returned by {@code probe}
+   * @return the stored depth
+   */
+  public static int depthOf(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * Returns the kind of score of an entry.
+   *
+   * @param entry the data returned by {@code probe}
+   * @return {@code EXACT}, {@code LOWER_BOUND} or {@code UPPER_BOUND}
+   */
+  public static int boundOf(long entry) {
+    return (int) entry & 0x3;
+  }
+
+  /**
+   * Returns the best move of an entry.
+   *
+   * @param entry the data returned by {@code probe}
+   * @return the stored cell index of the best move, or -1 if there is none
+   */
+  public static int moveOf(long entry) {
+    return ((int) (entry >>> MOVE_SHIFT) & 0x3FFFFF) - 1;
+  }
+
+  /**
+   * Returns the index of the first entry of the bucket of the given key.
+   *
+   * @param key the Zobrist key of a position
+   * @return the index of the bucket's depth-preferred entry
+   */
+  private int bucket(long key) {
+    return ((int) (key >>> 32) & this.mask) << 1;
+  }
+}
@@ -1,5 +1,9 @@
+import java.awt.Point;
+import java.util.List;
+
 import model.player.Player;
 import model.model.ReversiModel;
+import model.model.ReadonlyReversiModel;
 import model.model.ModelFeatures;
 import model.model.Board;
 import model.model.Tile;
@@ -71,6 +75,12 @@ public class MockModel implements ReversiModel {
     return model.getScore(player);
   }
 
+  @Override
+  public long getPositionKey() {
+    log.append("getPositionKey()\n");
+    return model.getPositionKey();
+  }
+
   @Override
   public Tile getTileAt(int q, int r) {
     log.append("getHexAt(" + q + ", " + r + ")" + "\n");
@@ -101,6 +111,12 @@ public class MockModel implements ReversiModel {
     return model.copyBoard();
   }
 
+  @Override
+  public ReadonlyReversiModel snapshot() {
+    log.append("snapshot()\n");
+    return model.snapshot();
+  }
+
   @Override
   public boolean isValidMove(int q, int r, Player player) {
     log.append("isValidMove(" + q + ", " + r + ", " + player + ")" + "\n");
@@ -119,6 +135,12 @@ public class MockModel implements ReversiModel {
     return model.hasValidMoves(player);
   }
 
+  @Override
+  public List<Point> getLegalMoves(Player player) {
+    log.append("getLegalMoves(" + player + ")" + "\n");
+    return model.getLegalMoves(player);
+  }
+
   @Override
   public void startGame() {
     model.startGame();
@@ -0,0 +1,179 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.concurrent.ForkJoinPool;
+
+import model.model.AbstractReversi;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SearchableReversiModel;
+import model.model.SquareReversi;
+import model.player.Player;
+import strategy.AlphaBetaStrategy;
+import strategy.LazySmpStrategy;
+import strategy.NegamaxSearch;
+import strategy.ParallelAlphaBetaStrategy;
+import strategy.PositionEvaluator;
+import strategy.StandardEvaluator;
+import strategy.TranspositionTable;
+
+/**
+ * Tests for the alpha-beta search strategy.
+ */
+public class TestAlphaBetaStrategy {
+
+  private final PositionEvaluator evaluator = new StandardEvaluator();
+
+  /**
+   * Scores the position with a plain minimax search, without any pruning.
+   *
+   * @param model  the position to score
+   * @param depth  the number of plies to search
+   * @param passed whether the previous player passed
+   * @return the negamax score of the position for the player whose turn it is
+   */
+  private int minimax(SearchableReversiModel model, int depth, boolean passed) {
+    int[] moves = new int[model.getWidth() * model.getHeight()];
+    int count = model.fillLegalMoves(moves);
+    if (count == 0) {
+      if (passed) {
+        return new NegamaxSearch(model, evaluator).finalScore();
+      }
+      model.doPass();
+      int score = -minimax(model, depth, true);
+      model.undoMove();
+      return score;
+    }
+    if (depth == 0) {
+      return evaluator.evaluate(model);
+    }
+    int best = -NegamaxSearch.INFINITY;
+    for (int i = 0; i < count; i++) {
+      model.doMove(moves[i] % model.getWidth(), moves[i] / model.getWidth());
+      best = Math.max(best, -minimax(model, depth - 1, false));
+      model.undoMove();
+    }
+    return best;
+  }
+
+  /**
+   * Checks that a fixed-depth alpha-beta search picks a move that minimax scores as the best.
+   *
+   * @param game  the started game to choose a move in
+   * @param depth the depth of the search
+   */
+  private void checkMatchesMinimax(ReversiModel game, int depth) {
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(Long.MAX_VALUE / 2_000_000, depth,
+            evaluator);
+    Point move = strategy.chooseMove(game, game.getTurn());
+    AbstractReversi search = new AbstractReversi(game);
+    int best = minimax(search, depth, false);
+    search.doMove(move.x, move.y);
+    Assert.assertEquals(best, -minimax(search, depth - 1, false));
+  }
+
+  @Test
+  public void testMatchesMinimaxHex() {
+    ReversiModel m = new HexReversi(4);
+    m.startGame();
+    checkMatchesMinimax(m, 4);
+    Point first = m.getLegalMoves(Player.BLACK).get(0);
+    m.playMove(first.x, first.y);
+    checkMatchesMinimax(m, 3);
+  }
+
+  @Test
+  public void testMatchesMinimaxSquare() {
+    ReversiModel m = new SquareReversi(6);
+    m.startGame();
+    checkMatchesMinimax(m, 4);
+  }
+
+  @Test
+  public void testParallelMatchesMinimax() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ParallelAlphaBetaStrategy strategy = new ParallelAlphaBetaStrategy(
+            Long.MAX_VALUE / 2_000_000, 4, StandardEvaluator::new, pool);
+    for (ReversiModel game : new ReversiModel[]{new HexReversi(4), new SquareReversi(6)}) {
+      game.startGame();
+      for (int ply = 0; ply < 6 && game.hasValidMoves(game.getTurn()); ply++) {
+        Point move = strategy.chooseMove(game, game.getTurn());
+        AbstractReversi search = new AbstractReversi(game);
+        int best = minimax(search, 4, false);
+        search.doMove(move.x, move.y);
+        Assert.assertEquals(best, -minimax(search, 3, false));
+        Assert.assertEquals(4, strategy.getLastDepth());
+        game.playMove(move.x, move.y);
+      }
+    }
+    pool.shutdown();
+  }
+
+  @Test
+  public void testLazySmpSharesTable() {
+    TranspositionTable table = new TranspositionTable(16);
+    LazySmpStrategy strategy = new LazySmpStrategy(Long.MAX_VALUE / 2_000_000, 5, 4,
+            StandardEvaluator::new, table);
+    ReversiModel m = new SquareReversi(8);
+    m.startGame();
+    Point move = strategy.chooseMove(m, Player.BLACK);
+    Assert.assertTrue(m.isValidMove(move.x, move.y, Player.BLACK));
+    Assert.assertEquals(5, strategy.getLastDepth());
+    Assert.assertTrue(strategy.getLastNodes() > 0);
+    Assert.assertTrue(table.getHits() > 0);
+    Assert.assertSame(table, strategy.getTable());
+  }
+
+  @Test
+  public void testLazySmpStaysWithinTimeBudget() {
+    ReversiModel m = new HexReversi(8);
+    m.startGame();
+    LazySmpStrategy strategy = new LazySmpStrategy(100, 4);
+    long start = System.nanoTime();
+    Point move = strategy.chooseMove(m, Player.BLACK);
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(m.isValidMove(move.x, move.y, Player.BLACK));
+    Assert.assertTrue("took " + elapsed + "ms", elapsed < 1000);
+    Assert.assertThrows(IllegalStateException.class, () -> strategy.chooseMove(m, Player.WHITE));
+  }
+
+  @Test
+  public void testSolvesSmallBoard() {
+    ReversiModel m = new HexReversi(3);
+    m.startGame();
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(10_000);
+    Point move = strategy.chooseMove(m, Player.BLACK);
+    Assert.assertTrue(m.isValidMove(move.x, move.y, Player.BLACK));
+    // the whole game fits within the search, which stops once the outcome is known
+    Assert.assertTrue(strategy.getLastDepth() <= 8);
+    Assert.assertTrue(strategy.getLastNodes() > 0);
+  }
+
+  @Test
+  public void testStaysWithinTimeBudget() {
+    ReversiModel m = new HexReversi(8);
+    m.startGame();
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(100);
+    long start = System.nanoTime();
+    Point move = strategy.chooseMove(m, Player.BLACK);
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(m.isValidMove(move.x, move.y, Player.BLACK));
+    Assert.assertTrue("took " + elapsed + "ms", elapsed < 1000);
+    Assert.assertTrue(strategy.getLastDepth() >= 1);
+  }
+
+  @Test
+  public void testNoValidMoves() {
+    ReversiModel m = new HexReversi(3);
+    m.startGame();
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(100);
+    Assert.assertThrows(IllegalStateException.class,
+        () -> strategy.chooseMove(m, Player.WHITE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDepth() {
+    new AlphaBetaStrategy(100, 0, evaluator);
+  }
+}
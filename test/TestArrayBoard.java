@@ -0,0 +1,131 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.ArrayBoard;
+import model.model.BoardRepresentation;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import model.player.Player;
+import view.text.ReversiTextView;
+import view.text.SquareTextView;
+
+/**
+ * Tests for the byte array representation of hex and square boards.
+ */
+public class TestArrayBoard {
+
+  @Test
+  public void testConstructorThrows() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new ArrayBoard(0, true));
+  }
+
+  @Test
+  public void testStartMatchesTiles() {
+    ReversiModel tiles = new HexReversi(6, BoardRepresentation.TILES);
+    ReversiModel array = new HexReversi(6, BoardRepresentation.ARRAY);
+    tiles.startGame();
+    array.startGame();
+    Assert.assertEquals(new ReversiTextView(tiles).toString(),
+            new ReversiTextView(array).toString());
+    Assert.assertEquals(3, array.getScore(Player.BLACK));
+    Assert.assertEquals(3, array.getScore(Player.WHITE));
+    Assert.assertEquals(tiles.getScore(Player.EMPTY), array.getScore(Player.EMPTY));
+
+    ReversiModel square = new SquareReversi(16, BoardRepresentation.ARRAY);
+    square.startGame();
+    Assert.assertEquals(252, square.getScore(Player.EMPTY));
+  }
+
+  /**
+   * Plays random games on a tile board and an array board side by side, checking after every
+   * move that they agree.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   */
+  private void checkRandomGames(int sideLen, boolean isHex) {
+    Random random = new Random(sideLen);
+    for (int game = 0; game < 5; game++) {
+      AbstractReversi tiles = new AbstractReversi(sideLen, isHex, BoardRepresentation.TILES);
+      AbstractReversi array = new AbstractReversi(sideLen, isHex, BoardRepresentation.ARRAY);
+      tiles.startGame();
+      array.startGame();
+      while (!tiles.isGameOver()) {
+        List<Point> moves = tiles.getLegalMoves(tiles.getTurn());
+        Assert.assertEquals(moves, array.getLegalMoves(array.getTurn()));
+        for (int r = 0; r < tiles.getWidth(); r++) {
+          for (int q = 0; q < tiles.getWidth(); q++) {
+            if (tiles.getTileAt(q, r) != null) {
+              Assert.assertEquals(tiles.moveScore(q, r), array.moveScore(q, r));
+            }
+          }
+        }
+        Point move = moves.get(random.nextInt(moves.size()));
+        tiles.playMove(move.x, move.y);
+        array.playMove(move.x, move.y);
+        String expected = isHex ? new ReversiTextView(tiles).toString()
+                : new SquareTextView(tiles).toString();
+        String actual = isHex ? new ReversiTextView(array).toString()
+                : new SquareTextView(array).toString();
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(tiles.getScore(Player.BLACK), array.getScore(Player.BLACK));
+        Assert.assertEquals(tiles.getScore(Player.WHITE), array.getScore(Player.WHITE));
+        Assert.assertEquals(tiles.getPositionKey(), array.getPositionKey());
+      }
+      Assert.assertTrue(array.isGameOver());
+    }
+  }
+
+  @Test
+  public void testHexGamesMatchTiles() {
+    this.checkRandomGames(3, true);
+    this.checkRandomGames(6, true);
+  }
+
+  @Test
+  public void testSquareGamesMatchTiles() {
+    this.checkRandomGames(8, false);
+    this.checkRandomGames(12, false);
+  }
+
+  @Test
+  public void testTilesAreReused() {
+    ArrayBoard board = new ArrayBoard(11, true);
+    board.addStartingCells(11, 6);
+    Assert.assertSame(board.getTileAt(5, 4), board.getTileAt(5, 4));
+    Assert.assertEquals(Player.BLACK, board.getTileAt(5, 4).getPlayerAt());
+    board.getTileAt(5, 4).changePlayer(Player.WHITE);
+    Assert.assertEquals(Player.WHITE, board.getPlayerAt(5, 4));
+    // cells outside the hexagon and off the board have no tile
+    Assert.assertNull(board.getTileAt(0, 0));
+    Assert.assertNull(board.getTileAt(11, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> board.getPlayerAt(0, 0));
+  }
+
+  @Test
+  public void testCopyBoard() {
+    ReversiModel array = new SquareReversi(10, BoardRepresentation.ARRAY);
+    array.startGame();
+    array.playMove(4, 6);
+    Assert.assertEquals(array.getBoard(), array.copyBoard());
+    Assert.assertEquals(array.getBoard().hashCode(), array.copyBoard().hashCode());
+    array.copyBoard().getTileAt(0, 0).changePlayer(Player.WHITE);
+    Assert.assertEquals(Player.EMPTY, array.getTileAt(0, 0).getPlayerAt());
+  }
+
+  @Test
+  public void testLargeSquareCopiesUseArray() {
+    ReversiModel game = new SquareReversi(12, BoardRepresentation.TILES);
+    game.startGame();
+    Assert.assertTrue(new AbstractReversi(game).getBoard() instanceof ArrayBoard);
+    Assert.assertEquals(BoardRepresentation.BITSET, BoardRepresentation.fastest(8, false));
+    Assert.assertEquals(BoardRepresentation.BITSET, BoardRepresentation.fastest(12, true));
+    Assert.assertEquals(BoardRepresentation.ARRAY, BoardRepresentation.fastest(12, false));
+  }
+}
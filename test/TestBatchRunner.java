@@ -0,0 +1,85 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import controller.BatchRunner;
+import controller.HeadlessController;
+import model.model.ReadonlyReversiModel.Status;
+import model.model.ReversiModel;
+import model.player.HumanReversiPlayer;
+import model.player.MachineReversiPlayer;
+import model.player.Player;
+import strategy.AlphaBetaStrategy;
+import strategy.AvoidNextToCorner;
+import strategy.CaptureMax;
+import strategy.CompleteStrategy;
+import strategy.StandardEvaluator;
+
+/**
+ * Tests for playing games headless and in batches.
+ */
+public class TestBatchRunner {
+
+  @Test
+  public void testHeadlessGamePlaysToTheEnd() {
+    ReversiModel model = BatchRunner.newGame(6, true);
+    HeadlessController game = new HeadlessController(model,
+            new MachineReversiPlayer(model, new CompleteStrategy(new CaptureMax()), Player.BLACK),
+            new MachineReversiPlayer(model, new CompleteStrategy(new CaptureMax()), Player.WHITE));
+    int margin = game.play();
+    Assert.assertTrue(game.isOver());
+    Assert.assertEquals(Status.Over, model.getStatus());
+    Assert.assertEquals(model.getScore(Player.BLACK) - model.getScore(Player.WHITE), margin);
+    // neither player could move at the end
+    Assert.assertFalse(model.hasValidMoves(model.getTurn()));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNoStepAfterGameOver() {
+    ReversiModel model = BatchRunner.newGame(4, false);
+    HeadlessController game = new HeadlessController(model,
+            new MachineReversiPlayer(model, new CompleteStrategy(new CaptureMax()), Player.BLACK),
+            new MachineReversiPlayer(model, new CompleteStrategy(new CaptureMax()), Player.WHITE));
+    game.play();
+    game.step();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHumanPlayersRejected() {
+    ReversiModel model = BatchRunner.newGame(8, false);
+    new HeadlessController(model, new HumanReversiPlayer(Player.BLACK),
+            new MachineReversiPlayer(model, new CompleteStrategy(new CaptureMax()), Player.WHITE));
+  }
+
+  @Test
+  public void testTallies() {
+    BatchRunner runner = new BatchRunner(8, false, () -> new CompleteStrategy(new CaptureMax()),
+        () -> new CompleteStrategy(new AvoidNextToCorner()), 4, 2);
+    BatchRunner.BatchResult result = runner.run(30, 1);
+    Assert.assertEquals(30, result.getGames());
+    Assert.assertEquals(30, result.getWins() + result.getLosses() + result.getDraws());
+    Assert.assertTrue(result.getGamesPerSecond() > 0);
+    Assert.assertTrue(result.toString().startsWith("30 games: " + result.getWins() + " wins"));
+  }
+
+  @Test
+  public void testResultsDoNotDependOnThreads() {
+    BatchRunner single = new BatchRunner(6, true, () -> new CompleteStrategy(new CaptureMax()),
+        () -> new CompleteStrategy(new AvoidNextToCorner()), 4, 1);
+    BatchRunner parallel = new BatchRunner(6, true, () -> new CompleteStrategy(new CaptureMax()),
+        () -> new CompleteStrategy(new AvoidNextToCorner()), 4, 3);
+    BatchRunner.BatchResult first = single.run(12, 7);
+    BatchRunner.BatchResult second = parallel.run(12, 7);
+    Assert.assertEquals(first.getWins(), second.getWins());
+    Assert.assertEquals(first.getAverageDifferential(), second.getAverageDifferential(), 0);
+  }
+
+  @Test
+  public void testSearchBeatsGreedy() {
+    BatchRunner runner = new BatchRunner(6, false,
+        () -> new AlphaBetaStrategy(10_000, 3, new StandardEvaluator()),
+        () -> new CompleteStrategy(new CaptureMax()), 2, 2);
+    BatchRunner.BatchResult result = runner.run(10, 3);
+    Assert.assertTrue(result.getWins() > result.getLosses());
+    Assert.assertTrue(result.getAverageDifferential() > 0);
+  }
+}
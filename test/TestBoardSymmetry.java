@@ -0,0 +1,153 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.Board;
+import model.model.BoardSymmetry;
+import model.model.HexBoard;
+import model.model.ReadonlyReversiModel;
+import model.model.SquareBoard;
+import model.model.Tile;
+import model.model.Zobrist;
+import model.player.Player;
+
+/**
+ * Tests for the symmetries of hex and square boards and the canonical keys of positions.
+ */
+public class TestBoardSymmetry {
+
+  @Test
+  public void testCounts() {
+    Assert.assertEquals(8, BoardSymmetry.forBoard(8, false).count());
+    Assert.assertEquals(12, BoardSymmetry.forBoard(6, true).count());
+    Assert.assertSame(BoardSymmetry.forBoard(6, true), BoardSymmetry.forBoard(6, true));
+  }
+
+  /**
+   * Checks that every symmetry of a board is a permutation of its cells that keeps neighbors next
+   * to each other, and that symmetry 0 is the identity.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   */
+  private void checkPermutations(int sideLen, boolean isHex) {
+    BoardSymmetry symmetry = BoardSymmetry.forBoard(sideLen, isHex);
+    int dim = isHex ? 2 * sideLen - 1 : sideLen;
+    int[][] directions = isHex ? ReadonlyReversiModel.HEX_DIRECTIONS
+            : ReadonlyReversiModel.SQUARE_DIRECTIONS;
+    for (int s = 0; s < symmetry.count(); s++) {
+      boolean[] seen = new boolean[dim * dim];
+      for (int cell = 0; cell < dim * dim; cell++) {
+        int image = symmetry.map(s, cell);
+        if (image < 0) {
+          continue;
+        }
+        if (s == 0) {
+          Assert.assertEquals(cell, image);
+        }
+        Assert.assertFalse(seen[image]);
+        seen[image] = true;
+        Assert.assertEquals(cell, symmetry.unmap(s, image));
+        for (int[] d : directions) {
+          int q = cell % dim + d[0];
+          int r = cell / dim + d[1];
+          if (q < 0 || q >= dim || r < 0 || r >= dim || symmetry.map(s, r * dim + q) < 0) {
+            continue;
+          }
+          int neighbor = symmetry.map(s, r * dim + q);
+          boolean adjacent = false;
+          for (int[] e : directions) {
+            adjacent |= neighbor % dim - image % dim == e[0]
+                    && neighbor / dim - image / dim == e[1];
+          }
+          Assert.assertTrue(adjacent);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPermutations() {
+    this.checkPermutations(8, false);
+    this.checkPermutations(5, false);
+    this.checkPermutations(6, true);
+    this.checkPermutations(3, true);
+  }
+
+  /**
+   * Plays random moves and checks that the image of the position under every symmetry has the
+   * same canonical key, and that the key of each image matches the image's own Zobrist key.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @param seed    the seed of the moves
+   */
+  private void checkCanonicalKeys(int sideLen, boolean isHex, long seed) {
+    AbstractReversi game = new AbstractReversi(sideLen, isHex);
+    game.startGame();
+    Random random = new Random(seed);
+    int dim = game.getWidth();
+    int[] moves = new int[dim * dim];
+    for (int i = 0; i < 10; i++) {
+      int count = game.fillLegalMoves(moves);
+      if (count == 0) {
+        game.doPass();
+      } else {
+        int move = moves[random.nextInt(count)];
+        game.doMove(move % dim, move / dim);
+      }
+    }
+    BoardSymmetry symmetry = BoardSymmetry.forBoard(sideLen, isHex);
+    int[] best = new int[1];
+    long canonical = symmetry.canonicalKey(game.getBoard(), game.getTurn(), best);
+    Assert.assertTrue(canonical <= game.getPositionKey());
+    for (int s = 0; s < symmetry.count(); s++) {
+      Board image = isHex ? new HexBoard(dim) : new SquareBoard(dim);
+      image.addStartingCells(dim, sideLen);
+      for (int cell = 0; cell < dim * dim; cell++) {
+        Tile tile = game.getTileAt(cell % dim, cell / dim);
+        if (tile != null) {
+          int to = symmetry.map(s, cell);
+          image.getTileAt(to % dim, to / dim).changePlayer(tile.getPlayerAt());
+        }
+      }
+      Assert.assertEquals(Zobrist.hash(image, game.getTurn()),
+              symmetry.key(s, game.getBoard(), game.getTurn()));
+      Assert.assertEquals(canonical, symmetry.canonicalKey(image, game.getTurn(), null));
+    }
+    Assert.assertEquals(canonical, symmetry.key(best[0], game.getBoard(), game.getTurn()));
+  }
+
+  @Test
+  public void testCanonicalKeys() {
+    this.checkCanonicalKeys(8, false, 1);
+    this.checkCanonicalKeys(10, false, 2);
+    this.checkCanonicalKeys(6, true, 3);
+    this.checkCanonicalKeys(4, true, 4);
+  }
+
+  @Test
+  public void testMovesMapBack() {
+    BoardSymmetry symmetry = BoardSymmetry.forBoard(6, true);
+    Point move = new Point(7, 2);
+    for (int s = 0; s < symmetry.count(); s++) {
+      Point image = symmetry.toImage(s, move);
+      Assert.assertEquals(move, symmetry.toOriginal(s, image));
+    }
+    // a half turn of a square board takes a corner to the opposite corner
+    Assert.assertEquals(new Point(7, 7), BoardSymmetry.forBoard(8, false).toImage(3,
+            new Point(0, 0)));
+  }
+
+  @Test
+  public void testStartPositionIsSymmetric() {
+    // both diagonals of the square start position are one color, so a half turn keeps it as is
+    AbstractReversi game = new AbstractReversi(8, false);
+    game.startGame();
+    BoardSymmetry symmetry = BoardSymmetry.forBoard(8, false);
+    Assert.assertEquals(game.getPositionKey(), symmetry.key(3, game.getBoard(), Player.BLACK));
+  }
+}
@@ -0,0 +1,140 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SearchableReversiModel;
+import model.model.SquareReversi;
+import model.player.Player;
+import strategy.CaptureMax;
+import strategy.CompleteStrategy;
+import strategy.EndgameSolver;
+import strategy.EndgameStrategy;
+
+/**
+ * Tests for the exact endgame solver and the strategy that uses it.
+ */
+public class TestEndgameSolver {
+
+  /**
+   * Returns the final disc differential under perfect play by searching every line to the end.
+   *
+   * @param model  the position to solve
+   * @param passed whether the previous player passed
+   * @return the final disc differential for the player whose turn it is
+   */
+  private int bruteForce(SearchableReversiModel model, boolean passed) {
+    int[] moves = new int[model.getWidth() * model.getHeight()];
+    int count = model.fillLegalMoves(moves);
+    if (count == 0) {
+      if (passed) {
+        return model.getScore(model.getTurn()) - model.getScore(model.nextTurn());
+      }
+      model.doPass();
+      int score = -bruteForce(model, true);
+      model.undoMove();
+      return score;
+    }
+    int best = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      model.doMove(moves[i] % model.getWidth(), moves[i] / model.getWidth());
+      best = Math.max(best, -bruteForce(model, false));
+      model.undoMove();
+    }
+    return best;
+  }
+
+  /**
+   * Plays random moves until at most the given number of cells are empty, or the side to move
+   * has no moves.
+   *
+   * @param game    the started game
+   * @param empties the number of empty cells to stop at
+   * @param random  the source of the moves
+   */
+  private void playDownTo(ReversiModel game, int empties, Random random) {
+    while (game.getScore(Player.EMPTY) > empties && game.hasValidMoves(game.getTurn())) {
+      List<Point> moves = game.getLegalMoves(game.getTurn());
+      Point move = moves.get(random.nextInt(moves.size()));
+      game.playMove(move.x, move.y);
+    }
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(11);
+    for (int i = 0; i < 12; i++) {
+      ReversiModel game = i % 2 == 0 ? new HexReversi(4)
+              : new SquareReversi(6, BoardRepresentation.TILES);
+      game.startGame();
+      playDownTo(game, 9, random);
+      if (!game.hasValidMoves(game.getTurn())) {
+        continue;
+      }
+      AbstractReversi search = new AbstractReversi(game);
+      int expected = bruteForce(search, false);
+      EndgameSolver solver = new EndgameSolver(search);
+      Assert.assertEquals(expected, solver.solve());
+      int[] result = new int[1];
+      int move = solver.bestMove(result);
+      Assert.assertEquals(expected, result[0]);
+      search.doMove(move % search.getWidth(), move / search.getWidth());
+      Assert.assertEquals(expected, -bruteForce(search, false));
+      // the solve leaves the position as it found it
+      search.undoMove();
+      Assert.assertEquals(game.getPositionKey(), search.getPositionKey());
+    }
+  }
+
+  @Test
+  public void testPerfectPlayReachesSolvedScore() {
+    ReversiModel game = new SquareReversi(8);
+    game.startGame();
+    playDownTo(game, 10, new Random(5));
+    EndgameStrategy strategy = new EndgameStrategy(new CompleteStrategy(new CaptureMax()));
+    Player first = game.getTurn();
+    strategy.chooseMove(game, first);
+    Assert.assertTrue(strategy.wasLastSolved());
+    int predicted = strategy.getLastScore();
+
+    boolean passed = false;
+    while (true) {
+      if (!game.hasValidMoves(game.getTurn())) {
+        if (passed) {
+          break;
+        }
+        game.pass();
+        passed = true;
+        continue;
+      }
+      Point move = strategy.chooseMove(game, game.getTurn());
+      game.playMove(move.x, move.y);
+      passed = false;
+    }
+    Player second = first == Player.BLACK ? Player.WHITE : Player.BLACK;
+    Assert.assertEquals(predicted, game.getScore(first) - game.getScore(second));
+  }
+
+  @Test
+  public void testDelegatesAboveThreshold() {
+    ReversiModel game = new HexReversi();
+    game.startGame();
+    EndgameStrategy strategy = new EndgameStrategy(new CompleteStrategy(new CaptureMax()), 10,
+            0);
+    Assert.assertEquals(new Point(6, 3), strategy.chooseMove(game, Player.BLACK));
+    Assert.assertFalse(strategy.wasLastSolved());
+    Assert.assertThrows(IllegalStateException.class,
+        () -> strategy.chooseMove(game, Player.WHITE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidThreshold() {
+    new EndgameStrategy(new CompleteStrategy(new CaptureMax()), -1, 0);
+  }
+}
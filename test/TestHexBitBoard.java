@@ -0,0 +1,92 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import model.model.BoardRepresentation;
+import model.model.HexBitBoard;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.player.Player;
+import view.text.ReversiTextView;
+
+/**
+ * Tests for the bitset representation of hexagonal boards.
+ */
+public class TestHexBitBoard {
+
+  ReversiModel tiles = new HexReversi();
+  ReversiModel bits = new HexReversi(6, BoardRepresentation.BITSET);
+
+  @Test
+  public void testStartMatchesTiles() {
+    tiles.startGame();
+    bits.startGame();
+    Assert.assertEquals(new ReversiTextView(tiles).toString(),
+            new ReversiTextView(bits).toString());
+    Assert.assertNull(bits.getTileAt(0, 0));
+    Assert.assertEquals(3, bits.getScore(Player.BLACK));
+    Assert.assertEquals(3, bits.getScore(Player.WHITE));
+    Assert.assertEquals(85, bits.getScore(Player.EMPTY));
+  }
+
+  @Test
+  public void testValidMovesMatchTiles() {
+    tiles.startGame();
+    bits.startGame();
+    for (int r = 0; r < 11; r++) {
+      for (int q = 0; q < 11; q++) {
+        if (tiles.getTileAt(q, r) == null) {
+          continue;
+        }
+        Assert.assertEquals(tiles.isValidMove(q, r, Player.BLACK),
+                bits.isValidMove(q, r, Player.BLACK));
+        Assert.assertEquals(tiles.isValidMove(q, r, Player.WHITE),
+                bits.isValidMove(q, r, Player.WHITE));
+        Assert.assertEquals(tiles.moveScore(q, r), bits.moveScore(q, r));
+      }
+    }
+    Assert.assertTrue(bits.isValidMove(3, 6, Player.BLACK));
+    Assert.assertFalse(bits.isValidMove(3, 5, Player.BLACK));
+  }
+
+  @Test
+  public void testPlayMovesMatchTiles() {
+    tiles.startGame();
+    bits.startGame();
+    // play the last valid move in row order until the game ends
+    while (!tiles.isGameOver()) {
+      int move = -1;
+      for (int i = 0; i < 121; i++) {
+        if (tiles.getTileAt(i % 11, i / 11) != null
+                && tiles.isValidMove(i % 11, i / 11, tiles.getTurn())) {
+          move = i;
+        }
+      }
+      tiles.playMove(move % 11, move / 11);
+      bits.playMove(move % 11, move / 11);
+      Assert.assertEquals(new ReversiTextView(tiles).toString(),
+              new ReversiTextView(bits).toString());
+      Assert.assertEquals(tiles.hasValidMoves(bits.getTurn()),
+              bits.hasValidMoves(bits.getTurn()));
+    }
+    Assert.assertTrue(bits.isGameOver());
+    Assert.assertEquals(tiles.determineWinner(), bits.determineWinner());
+  }
+
+  @Test
+  public void testLargeBoard() {
+    ReversiModel large = new HexReversi(25, BoardRepresentation.BITSET);
+    large.startGame();
+    Assert.assertEquals(49, large.getWidth());
+    Assert.assertEquals(3 * 25 * 24 + 1, large.getScore(Player.EMPTY) + 6);
+    Assert.assertTrue(large.hasValidMoves(Player.BLACK));
+    Assert.assertEquals(2, large.moveScore(22, 25));
+  }
+
+  @Test
+  public void testCopyBoard() {
+    bits.startGame();
+    bits.playMove(3, 6);
+    Assert.assertEquals(bits.getBoard(), bits.copyBoard());
+    Assert.assertNotEquals(bits.getBoard(), new HexBitBoard(11));
+  }
+}
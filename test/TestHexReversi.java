@@ -1,6 +1,9 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.awt.Point;
+import java.util.Arrays;
+
 import model.model.HexReversi;
 import model.model.Hex;
 import model.player.Player;
@@ -351,4 +354,19 @@ public class TestHexReversi {
     Assert.assertFalse(m.isValidMove(3,5, Player.BLACK));
     Assert.assertFalse(m.isValidMove(3,6, Player.WHITE));
   }
+
+  @Test
+  public void testGetLegalMoves() {
+    Assert.assertTrue(m.getLegalMoves(Player.BLACK).isEmpty());
+    m.startGame();
+    Assert.assertEquals(Arrays.asList(new Point(6, 3), new Point(4, 4), new Point(7, 4),
+            new Point(3, 6), new Point(6, 6), new Point(4, 7)), m.getLegalMoves(Player.BLACK));
+    Assert.assertTrue(m.getLegalMoves(Player.WHITE).isEmpty());
+    m.playMove(3, 6);
+    Assert.assertFalse(m.getLegalMoves(Player.WHITE).contains(new Point(3, 6)));
+    for (Point p : m.getLegalMoves(Player.WHITE)) {
+      Assert.assertTrue(m.isValidMove(p.x, p.y, Player.WHITE));
+    }
+    Assert.assertTrue(m.getLegalMoves(Player.BLACK).isEmpty());
+  }
 }
@@ -0,0 +1,69 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import model.player.Player;
+import strategy.MctsStrategy;
+
+/**
+ * Tests for the Monte Carlo tree search strategy.
+ */
+public class TestMctsStrategy {
+
+  @Test
+  public void testPlayoutBudget() {
+    for (MctsStrategy.Parallelism parallelism : MctsStrategy.Parallelism.values()) {
+      for (MctsStrategy.Playout playout : MctsStrategy.Playout.values()) {
+        ReversiModel m = new HexReversi(5);
+        m.startGame();
+        MctsStrategy strategy = new MctsStrategy(0, 500, playout, parallelism, 3);
+        Point move = strategy.chooseMove(m, Player.BLACK);
+        Assert.assertTrue(m.isValidMove(move.x, move.y, Player.BLACK));
+        Assert.assertEquals(500, strategy.getLastPlayouts());
+        Assert.assertTrue(strategy.getLastPlayoutsPerSecond() > 0);
+      }
+    }
+  }
+
+  @Test
+  public void testTimeBudget() {
+    ReversiModel m = new SquareReversi(8);
+    m.startGame();
+    MctsStrategy strategy = new MctsStrategy(100);
+    long start = System.nanoTime();
+    Point move = strategy.chooseMove(m, Player.BLACK);
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(m.isValidMove(move.x, move.y, Player.BLACK));
+    Assert.assertTrue("took " + elapsed + "ms", elapsed < 1000);
+    Assert.assertTrue(strategy.getLastPlayouts() > 0);
+  }
+
+  @Test
+  public void testPlaysWholeGame() {
+    ReversiModel m = new HexReversi(3);
+    m.startGame();
+    MctsStrategy strategy = new MctsStrategy(0, 200, MctsStrategy.Playout.RANDOM,
+            MctsStrategy.Parallelism.ROOT, 2);
+    while (m.hasValidMoves(m.getTurn())) {
+      Point move = strategy.chooseMove(m, m.getTurn());
+      Assert.assertTrue(m.isValidMove(move.x, move.y, m.getTurn()));
+      m.playMove(move.x, move.y);
+    }
+    Assert.assertThrows(IllegalStateException.class,
+        () -> strategy.chooseMove(m, m.getTurn()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoBudget() {
+    new MctsStrategy(0, 0, MctsStrategy.Playout.GREEDY, MctsStrategy.Parallelism.TREE, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new MctsStrategy(100, 0, MctsStrategy.Playout.GREEDY, MctsStrategy.Parallelism.TREE, 0);
+  }
+}
@@ -0,0 +1,99 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import model.model.AbstractReversi;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import strategy.MoveOrderer;
+import strategy.MoveOrderer.Heuristic;
+import strategy.NegamaxSearch;
+import strategy.StandardEvaluator;
+
+/**
+ * Tests for the ordering of moves inside a search.
+ */
+public class TestMoveOrderer {
+
+  private AbstractReversi start() {
+    ReversiModel m = new SquareReversi();
+    m.startGame();
+    return new AbstractReversi(m);
+  }
+
+  @Test
+  public void testNoHeuristicsKeepsOrder() {
+    AbstractReversi model = start();
+    int[] moves = {20, 29, 34, 43};
+    new MoveOrderer(EnumSet.noneOf(Heuristic.class)).order(model, moves, 4, 0, 5, 43);
+    Assert.assertArrayEquals(new int[]{20, 29, 34, 43}, moves);
+  }
+
+  @Test
+  public void testTableMoveFirst() {
+    AbstractReversi model = start();
+    int[] moves = {20, 29, 34, 43};
+    new MoveOrderer().order(model, moves, 4, 0, 5, 34);
+    Assert.assertEquals(34, moves[0]);
+  }
+
+  @Test
+  public void testCornersBeforeOtherMoves() {
+    AbstractReversi model = start();
+    // the orderer only ranks the moves it is given, so any cells can stand in for them
+    int[] moves = {20, 63, 0, 43};
+    new MoveOrderer(EnumSet.of(Heuristic.CORNERS)).order(model, moves, 4, 0, 1, -1);
+    Assert.assertArrayEquals(new int[]{63, 0, 20, 43}, moves);
+  }
+
+  @Test
+  public void testKillersAndHistoryLearnFromCutoffs() {
+    AbstractReversi model = start();
+    MoveOrderer killers = new MoveOrderer(EnumSet.of(Heuristic.KILLERS));
+    int[] moves = {20, 29, 34, 43};
+    killers.order(model, moves, 4, 3, 1, -1);
+    killers.recordCutoff(43, 3, 3, 4);
+    killers.order(model, moves, 4, 3, 1, -1);
+    Assert.assertEquals(43, moves[0]);
+    // killers belong to their ply
+    int[] other = {20, 29, 34, 43};
+    killers.order(model, other, 4, 2, 1, -1);
+    Assert.assertEquals(20, other[0]);
+
+    MoveOrderer history = new MoveOrderer(EnumSet.of(Heuristic.HISTORY));
+    history.order(model, new int[]{20}, 1, 0, 1, -1);
+    history.recordCutoff(34, 1, 5, 2);
+    history.recordCutoff(29, 0, 5, 6);
+    int[] ranked = {20, 29, 34, 43};
+    history.order(model, ranked, 4, 0, 1, -1);
+    Assert.assertArrayEquals(new int[]{29, 34, 20, 43}, ranked);
+    Assert.assertEquals(2, history.getCutoffs());
+    Assert.assertEquals(0.5, history.getFirstMoveCutoffRate(), 1e-9);
+  }
+
+  @Test
+  public void testMobilityLeavesPositionUnchanged() {
+    AbstractReversi model = start();
+    long key = model.getPositionKey();
+    int[] moves = {20, 29, 34, 43};
+    new MoveOrderer(EnumSet.of(Heuristic.MOBILITY)).order(model, moves, 4, 0, 5, -1);
+    Assert.assertEquals(key, model.getPositionKey());
+    Assert.assertEquals(4, model.fillLegalMoves(new int[64]));
+  }
+
+  @Test
+  public void testOrderingKeepsScoreAndSavesNodes() {
+    ReversiModel game = new HexReversi(5);
+    game.startGame();
+    NegamaxSearch plain = new NegamaxSearch(new AbstractReversi(game), new StandardEvaluator());
+    NegamaxSearch ordered = new NegamaxSearch(new AbstractReversi(game),
+            new StandardEvaluator());
+    ordered.setOrderer(new MoveOrderer());
+    int score = plain.negamax(6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY, 0, false);
+    Assert.assertEquals(score,
+            ordered.negamax(6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY, 0, false));
+    Assert.assertTrue(ordered.getNodes() < plain.getNodes());
+  }
+}
@@ -0,0 +1,169 @@
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import model.player.MachineReversiPlayer;
+import model.player.Player;
+import model.player.PlayerFeatures;
+import strategy.CaptureMax;
+import strategy.CompleteStrategy;
+import strategy.OpeningBook;
+
+/**
+ * Tests for building, saving and looking up opening books.
+ */
+public class TestOpeningBook {
+  // books stay mapped while they are in use, and a mapped file cannot be deleted on Windows, so
+  // the files are only removed once every test has run
+  @ClassRule
+  public static TemporaryFolder files = new TemporaryFolder();
+
+  private static OpeningBook square;
+  private static OpeningBook hex;
+
+  /**
+   * Builds small books for a square and a hex board, written to and loaded from files.
+   *
+   * @throws IOException if a book cannot be written or read
+   */
+  @BeforeClass
+  public static void buildBooks() throws IOException {
+    square = roundTrip(6, false);
+    hex = roundTrip(4, true);
+  }
+
+  /**
+   * Builds a book, writes it to a temporary file and loads it back.
+   *
+   * @param sideLen the side length of the board
+   * @param isHex   whether the board is hexagonal
+   * @return the loaded book
+   * @throws IOException if the book cannot be written or read
+   */
+  private static OpeningBook roundTrip(int sideLen, boolean isHex) throws IOException {
+    Map<Long, Integer> moves = OpeningBook.build(sideLen, isHex,
+            new CompleteStrategy(new CaptureMax()), 6, 2);
+    Path file = files.newFile().toPath();
+    OpeningBook.write(file, sideLen, isHex, moves);
+    OpeningBook book = OpeningBook.load(file);
+    Assert.assertEquals(moves.size(), book.size());
+    return book;
+  }
+
+  @Test
+  public void testStartIsInBook() {
+    ReversiModel game = new SquareReversi(6);
+    game.startGame();
+    Point move = square.lookup(game).get();
+    Assert.assertTrue(game.isValidMove(move.x, move.y, Player.BLACK));
+
+    ReversiModel hexGame = new HexReversi(4);
+    hexGame.startGame();
+    move = hex.lookup(hexGame).get();
+    Assert.assertTrue(hexGame.isValidMove(move.x, move.y, Player.BLACK));
+  }
+
+  /**
+   * Checks that the book answers every reply to every first move with a legal move, which it can
+   * only do for the replies it did not search by turning the move of a symmetric position.
+   *
+   * @param book the book
+   * @param game the started game
+   */
+  private void checkReplies(OpeningBook book, ReversiModel game) {
+    List<Point> firsts = game.getLegalMoves(Player.BLACK);
+    for (Point first : firsts) {
+      ReversiModel copy = game instanceof HexReversi ? new HexReversi(game.getSideLen())
+              : new SquareReversi(game.getSideLen());
+      copy.startGame();
+      copy.playMove(first.x, first.y);
+      Optional<Point> reply = book.lookup(copy);
+      Assert.assertTrue(reply.isPresent());
+      Assert.assertTrue(copy.isValidMove(reply.get().x, reply.get().y, Player.WHITE));
+      // every first move is the same up to symmetry, so every reply captures as many discs
+      ReversiModel firstCopy = game instanceof HexReversi ? new HexReversi(game.getSideLen())
+              : new SquareReversi(game.getSideLen());
+      firstCopy.startGame();
+      firstCopy.playMove(firsts.get(0).x, firsts.get(0).y);
+      Point firstReply = book.lookup(firstCopy).get();
+      Assert.assertEquals(firstCopy.moveScore(firstReply.x, firstReply.y),
+              copy.moveScore(reply.get().x, reply.get().y));
+    }
+  }
+
+  @Test
+  public void testSymmetricPositionsShareMoves() {
+    ReversiModel game = new SquareReversi(6);
+    game.startGame();
+    this.checkReplies(square, game);
+  }
+
+  @Test
+  public void testSymmetricPositionsShareMovesHex() {
+    ReversiModel game = new HexReversi(4);
+    game.startGame();
+    this.checkReplies(hex, game);
+  }
+
+  @Test
+  public void testMissingPositions() {
+    // a different board size is never in the book
+    ReversiModel other = new SquareReversi(8);
+    other.startGame();
+    Assert.assertFalse(square.lookup(other).isPresent());
+    Assert.assertFalse(hex.lookup(other).isPresent());
+
+    // nor is a position past the end of the book
+    ReversiModel game = new SquareReversi(6);
+    game.startGame();
+    for (int i = 0; i < 12 && !game.getLegalMoves(game.getTurn()).isEmpty(); i++) {
+      Point move = game.getLegalMoves(game.getTurn()).get(0);
+      game.playMove(move.x, move.y);
+    }
+    Assert.assertFalse(square.lookup(game).isPresent());
+  }
+
+  @Test
+  public void testMachinePlayerPlaysBookMove() {
+    ReversiModel game = new SquareReversi(6);
+    game.startGame();
+    Point expected = square.lookup(game).get();
+    MachineReversiPlayer player = new MachineReversiPlayer(game, (model, piece) -> {
+      throw new AssertionError("The strategy should not be asked for a book move");
+    }, Player.BLACK, square);
+    Point[] played = new Point[1];
+    player.addFeatures(new PlayerFeatures() {
+      @Override
+      public void makeMove(int row, int col) {
+        played[0] = new Point(row, col);
+      }
+
+      @Override
+      public void pass() {
+        Assert.fail("The player should not pass");
+      }
+    });
+    player.makeMove();
+    Assert.assertEquals(expected, played[0]);
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadInvalidFile() throws IOException {
+    Path file = files.newFile().toPath();
+    Files.write(file, new byte[] {1, 2, 3});
+    OpeningBook.load(file);
+  }
+}
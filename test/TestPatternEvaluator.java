@@ -0,0 +1,139 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import strategy.PatternEvaluator;
+import strategy.PatternSet;
+
+/**
+ * Tests for the pattern tables and the evaluator that follows them incrementally.
+ */
+public class TestPatternEvaluator {
+
+  @Test
+  public void testPatternsOfSquareBoard() {
+    PatternSet patterns = PatternSet.forBoard(8, false);
+    // two edges, two second lines and a diagonal from each of the four corners
+    Assert.assertEquals(20, patterns.patternCount());
+    Assert.assertEquals(6561, patterns.tableSize(PatternSet.EDGE));
+    Assert.assertSame(patterns, PatternSet.forBoard(8, false));
+    int edges = 0;
+    for (int p = 0; p < patterns.patternCount(); p++) {
+      if (patterns.tableOf(p) == PatternSet.EDGE && patterns.cellsOf(p)[0] == 0) {
+        edges++;
+        Assert.assertEquals(8, patterns.cellsOf(p).length);
+      }
+    }
+    Assert.assertEquals(2, edges);
+  }
+
+  @Test
+  public void testPatternsOfHexBoard() {
+    PatternSet patterns = PatternSet.forBoard(6, true);
+    Assert.assertEquals(30, patterns.patternCount());
+    for (int p = 0; p < patterns.patternCount(); p++) {
+      if (patterns.tableOf(p) == PatternSet.EDGE) {
+        // an edge runs from one corner to the next
+        Assert.assertEquals(6, patterns.cellsOf(p).length);
+      }
+    }
+    Assert.assertEquals(729, patterns.tableSize(PatternSet.EDGE));
+  }
+
+  @Test
+  public void testDefaultWeights() {
+    short[] edge = PatternSet.forBoard(8, false).defaultWeights()[PatternSet.EDGE];
+    // a black corner is good for black, a white one as bad
+    Assert.assertEquals(30, edge[1]);
+    Assert.assertEquals(-30, edge[2]);
+    // a black disc next to an empty corner gives it away
+    Assert.assertTrue(edge[3] < 0);
+    Assert.assertTrue(edge[3 + 1] > 0);
+  }
+
+  /**
+   * Plays random moves forward and back, checking that the incremental pattern indices always
+   * match indices computed from scratch.
+   *
+   * @param game the started game
+   * @param seed the seed of the moves
+   */
+  private void checkIncremental(ReversiModel game, long seed) {
+    AbstractReversi search = new AbstractReversi(game);
+    PatternEvaluator evaluator = new PatternEvaluator();
+    int start = evaluator.evaluate(search);
+    PatternSet patterns = PatternSet.forBoard(search.getSideLen(), search.isHex());
+    Random random = new Random(seed);
+    int[] moves = new int[search.getWidth() * search.getHeight()];
+    int plies = 0;
+    int passes = 0;
+    while (passes < 2) {
+      int count = search.fillLegalMoves(moves);
+      if (count == 0) {
+        search.doPass();
+        passes++;
+      } else {
+        int move = moves[random.nextInt(count)];
+        search.doMove(move % search.getWidth(), move / search.getWidth());
+        passes = 0;
+      }
+      plies++;
+      for (int p = 0; p < patterns.patternCount(); p++) {
+        Assert.assertEquals(patterns.index(p, search), evaluator.indexOf(p));
+      }
+      // an evaluation is the same for either side, up to sign
+      int score = evaluator.evaluate(search);
+      search.doPass();
+      Assert.assertEquals(-score, evaluator.evaluate(search));
+      search.undoMove();
+    }
+    while (plies-- > 0) {
+      search.undoMove();
+    }
+    Assert.assertEquals(start, evaluator.evaluate(search));
+  }
+
+  @Test
+  public void testIncrementalIndicesHex() {
+    ReversiModel hex = new HexReversi(5);
+    hex.startGame();
+    checkIncremental(hex, 1);
+    ReversiModel tiles = new HexReversi(4, BoardRepresentation.TILES);
+    tiles.startGame();
+    checkIncremental(tiles, 2);
+  }
+
+  @Test
+  public void testIncrementalIndicesSquare() {
+    ReversiModel square = new SquareReversi(8);
+    square.startGame();
+    checkIncremental(square, 3);
+    ReversiModel large = new SquareReversi(10);
+    large.startGame();
+    checkIncremental(large, 4);
+  }
+
+  @Test
+  public void testFollowsNewModel() {
+    ReversiModel game = new SquareReversi();
+    game.startGame();
+    PatternEvaluator evaluator = new PatternEvaluator();
+    AbstractReversi first = new AbstractReversi(game);
+    evaluator.evaluate(first);
+    AbstractReversi second = new AbstractReversi(game);
+    int[] moves = new int[64];
+    second.fillLegalMoves(moves);
+    second.doMove(moves[0] % 8, moves[0] / 8);
+    PatternSet patterns = PatternSet.forBoard(8, false);
+    evaluator.evaluate(second);
+    for (int p = 0; p < patterns.patternCount(); p++) {
+      Assert.assertEquals(patterns.index(p, second), evaluator.indexOf(p));
+    }
+  }
+}
@@ -0,0 +1,89 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.Perft;
+
+/**
+ * Tests for counting move sequences with perft.
+ */
+public class TestPerft {
+
+  /**
+   * Returns a started game.
+   */
+  private AbstractReversi newGame(int sideLen, boolean isHex, BoardRepresentation representation) {
+    AbstractReversi game = new AbstractReversi(sideLen, isHex, representation);
+    game.startGame();
+    return game;
+  }
+
+  @Test
+  public void testSquareEightMatchesKnownCounts() {
+    long[] expected = {1, 4, 12, 56, 244, 1396, 8200, 55092};
+    for (BoardRepresentation representation : BoardRepresentation.values()) {
+      AbstractReversi game = this.newGame(8, false, representation);
+      for (int depth = 0; depth < expected.length; depth++) {
+        Assert.assertEquals(representation + " depth " + depth, expected[depth],
+                new Perft(game).count(depth));
+      }
+    }
+  }
+
+  @Test
+  public void testRepresentationsAgree() {
+    int[][] boards = {{3, 1, 8}, {4, 1, 6}, {6, 1, 5}, {4, 0, 12}, {6, 0, 7}};
+    for (int[] board : boards) {
+      boolean isHex = board[1] == 1;
+      AbstractReversi tiles = this.newGame(board[0], isHex, BoardRepresentation.TILES);
+      AbstractReversi bitset = this.newGame(board[0], isHex, BoardRepresentation.BITSET);
+      for (int depth = 1; depth <= board[2]; depth++) {
+        Assert.assertEquals((isHex ? "hex " : "square ") + board[0] + " depth " + depth,
+                new Perft(tiles).count(depth), new Perft(bitset).count(depth));
+      }
+    }
+  }
+
+  @Test
+  public void testCountLeavesPositionUnchanged() {
+    AbstractReversi game = this.newGame(5, true, BoardRepresentation.BITSET);
+    game.playMove(game.getLegalMoves(game.getTurn()).get(0).x,
+            game.getLegalMoves(game.getTurn()).get(0).y);
+    long key = game.getPositionKey();
+    Perft perft = new Perft(game);
+    long first = perft.count(4);
+    Assert.assertEquals(key, game.getPositionKey());
+    Assert.assertEquals(first, perft.count(4));
+    Assert.assertTrue(perft.getNodes() > 2 * first);
+  }
+
+  @Test
+  public void testPassCountsAsMove() {
+    Random random = new Random(3);
+    for (int game = 0; game < 200; game++) {
+      AbstractReversi model = this.newGame(4, false, BoardRepresentation.TILES);
+      while (!model.isGameOver()) {
+        List<Point> moves = model.getLegalMoves(model.getTurn());
+        Point move = moves.get(random.nextInt(moves.size()));
+        model.playMove(move.x, move.y);
+      }
+      // the side to move has no moves, so the only sequence of one move is a pass
+      Perft perft = new Perft(model);
+      Assert.assertEquals(1, perft.count(1));
+      model.doPass();
+      int replies = model.getLegalMoves(model.getTurn()).size();
+      model.undoMove();
+      Assert.assertEquals(replies, perft.count(2));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDepth() {
+    new Perft(this.newGame(8, false, BoardRepresentation.BITSET)).count(-1);
+  }
+}
@@ -0,0 +1,145 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import model.model.Tile;
+import model.player.Player;
+
+/**
+ * Tests for making and unmaking moves in place with the search API of the model.
+ */
+public class TestSearchableModel {
+
+  /**
+   * Returns the players on every cell of the given game, row by row.
+   *
+   * @param game the game to read
+   * @return a string with one character per cell
+   */
+  private String cells(ReversiModel game) {
+    StringBuilder result = new StringBuilder();
+    for (int r = 0; r < game.getHeight(); r++) {
+      for (int q = 0; q < game.getWidth(); q++) {
+        Tile tile = game.getTileAt(q, r);
+        result.append(tile == null ? ' ' : tile.getPlayerAt().toString().charAt(0));
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * Plays random moves forward and then undoes them, checking that every position is restored.
+   *
+   * @param game the game to play, which must be started
+   * @param seed the seed of the random moves
+   */
+  private void checkUndoRestores(ReversiModel game, long seed) {
+    AbstractReversi search = new AbstractReversi(game);
+    Random random = new Random(seed);
+    int[] moves = new int[search.getWidth() * search.getHeight()];
+    int dim = search.getWidth();
+    int plies = 0;
+    long[] keys = new long[2 * moves.length + 2];
+    String[] boards = new String[keys.length];
+    int[] scores = new int[keys.length];
+    int[] legal = new int[keys.length];
+    int passes = 0;
+
+    while (passes < 2) {
+      keys[plies] = search.getPositionKey();
+      boards[plies] = cells(search);
+      scores[plies] = search.getScore(Player.BLACK) - search.getScore(Player.WHITE);
+      legal[plies] = search.fillLegalMoves(moves);
+      if (legal[plies] == 0) {
+        search.doPass();
+        passes++;
+      } else {
+        int move = moves[random.nextInt(legal[plies])];
+        search.doMove(move % dim, move / dim);
+        passes = 0;
+      }
+      plies++;
+    }
+
+    while (plies > 0) {
+      search.undoMove();
+      plies--;
+      Assert.assertEquals(keys[plies], search.getPositionKey());
+      Assert.assertEquals(boards[plies], cells(search));
+      Assert.assertEquals(scores[plies],
+              search.getScore(Player.BLACK) - search.getScore(Player.WHITE));
+      Assert.assertEquals(legal[plies], search.fillLegalMoves(moves));
+    }
+    Assert.assertEquals(game.getPositionKey(), search.getPositionKey());
+    Assert.assertEquals(cells(game), cells(search));
+  }
+
+  @Test
+  public void testUndoRestoresHex() {
+    ReversiModel m = new HexReversi();
+    m.startGame();
+    checkUndoRestores(m, 1);
+    ReversiModel bits = new HexReversi(6, BoardRepresentation.BITSET);
+    bits.startGame();
+    checkUndoRestores(bits, 2);
+  }
+
+  @Test
+  public void testUndoRestoresSquare() {
+    ReversiModel m = new SquareReversi();
+    m.startGame();
+    checkUndoRestores(m, 3);
+    ReversiModel tiles = new SquareReversi(10, BoardRepresentation.TILES);
+    tiles.startGame();
+    checkUndoRestores(tiles, 4);
+  }
+
+  @Test
+  public void testCopyMatchesGame() {
+    ReversiModel m = new SquareReversi();
+    m.startGame();
+    m.playMove(3, 5);
+    AbstractReversi copy = new AbstractReversi(m);
+    Assert.assertEquals(m.getTurn(), copy.getTurn());
+    Assert.assertEquals(m.getPositionKey(), copy.getPositionKey());
+    Assert.assertEquals(m.getLegalMoves(Player.WHITE), copy.getLegalMoves(Player.WHITE));
+    copy.doMove(2, 5);
+    Assert.assertEquals(Player.EMPTY, m.getTileAt(2, 5).getPlayerAt());
+  }
+
+  @Test
+  public void testFillLegalMoves() {
+    ReversiModel m = new SquareReversi();
+    m.startGame();
+    AbstractReversi copy = new AbstractReversi(m);
+    int[] moves = new int[64];
+    Assert.assertEquals(4, copy.fillLegalMoves(moves));
+    Assert.assertArrayEquals(new int[]{20, 29, 34, 43},
+            java.util.Arrays.copyOf(moves, 4));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDoInvalidMove() {
+    ReversiModel m = new SquareReversi();
+    m.startGame();
+    new AbstractReversi(m).doMove(0, 0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUndoNothing() {
+    ReversiModel m = new HexReversi();
+    m.startGame();
+    new AbstractReversi(m).undoMove();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCopyBeforeStart() {
+    new AbstractReversi(new HexReversi());
+  }
+}
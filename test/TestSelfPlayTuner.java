@@ -0,0 +1,133 @@
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import model.model.AbstractReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import strategy.AlphaBetaStrategy;
+import strategy.PatternEvaluator;
+import strategy.PatternSet;
+import strategy.PatternWeights;
+import strategy.SelfPlayTuner;
+import strategy.StandardEvaluator;
+
+/**
+ * Tests for fitting pattern weights by self-play and for the weight files they are saved in.
+ */
+public class TestSelfPlayTuner {
+  // weights stay mapped until they are collected, and a mapped file cannot be deleted on
+  // Windows, so the files are only removed once every test has run
+  @ClassRule
+  public static TemporaryFolder files = new TemporaryFolder();
+
+  /**
+   * Returns a tuner for 6x6 games between shallow searches.
+   *
+   * @param threads the number of games played at once
+   * @return the tuner
+   */
+  private SelfPlayTuner tuner(int threads) {
+    return new SelfPlayTuner(6, false,
+        () -> new AlphaBetaStrategy(10_000, 1, new StandardEvaluator()), 4, threads);
+  }
+
+  @Test
+  public void testFitReducesError() {
+    SelfPlayTuner tuner = this.tuner(2);
+    Assert.assertTrue(tuner.playGames(40, 1) > 40 * 20);
+    Assert.assertEquals(40, tuner.getGamesPlayed());
+    Assert.assertTrue(tuner.getGamesPerSecond() > 0);
+
+    PatternSet patterns = PatternSet.forBoard(6, false);
+    short[][] zero = new short[patterns.tableCount()][];
+    for (int t = 0; t < zero.length; t++) {
+      zero[t] = new short[patterns.tableSize(t)];
+    }
+    PatternWeights none = new PatternWeights(6, false, zero);
+    for (SelfPlayTuner.Fit fit : SelfPlayTuner.Fit.values()) {
+      PatternWeights fitted = tuner.fit(fit, 50);
+      Assert.assertTrue(tuner.meanError(fit, fitted) < tuner.meanError(fit, none) / 2);
+    }
+  }
+
+  @Test
+  public void testFittedWeightsAreColorSymmetric() {
+    SelfPlayTuner tuner = this.tuner(1);
+    tuner.playGames(10, 2);
+    short[] edge = tuner.fit(SelfPlayTuner.Fit.LEAST_SQUARES, 20).getTables()[PatternSet.EDGE];
+    Assert.assertEquals(0, edge[0]);
+    // a black corner and a white corner, then a black and a white disc beside an empty corner
+    Assert.assertEquals(-edge[1], edge[2]);
+    Assert.assertEquals(-edge[3], edge[6]);
+  }
+
+  @Test
+  public void testGamesDoNotDependOnThreads() {
+    SelfPlayTuner single = this.tuner(1);
+    SelfPlayTuner parallel = this.tuner(3);
+    Assert.assertEquals(single.playGames(9, 3), parallel.playGames(9, 3));
+    Assert.assertArrayEquals(single.fit(SelfPlayTuner.Fit.LOGISTIC, 5).getTables()[0],
+            parallel.fit(SelfPlayTuner.Fit.LOGISTIC, 5).getTables()[0]);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFitWithoutGames() {
+    this.tuner(1).fit(SelfPlayTuner.Fit.LEAST_SQUARES, 1);
+  }
+
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    SelfPlayTuner tuner = this.tuner(1);
+    tuner.playGames(5, 4);
+    PatternWeights fitted = tuner.fit(SelfPlayTuner.Fit.LEAST_SQUARES, 10);
+    Path file = files.newFile().toPath();
+    fitted.save(file);
+    PatternWeights loaded = PatternWeights.load(file);
+    Assert.assertTrue(loaded.fits(6, false));
+    Assert.assertFalse(loaded.fits(6, true));
+    for (int t = 0; t < fitted.getTables().length; t++) {
+      Assert.assertArrayEquals(fitted.getTables()[t], loaded.getTables()[t]);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadInvalidFile() throws IOException {
+    Path file = files.newFile().toPath();
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    PatternWeights.load(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightsMustMatchBoard() {
+    new PatternWeights(8, false, PatternSet.forBoard(6, false).defaultWeights());
+  }
+
+  @Test
+  public void testOtherBoardsUseDefaultWeights() {
+    PatternSet patterns = PatternSet.forBoard(6, false);
+    short[][] zero = new short[patterns.tableCount()][];
+    for (int t = 0; t < zero.length; t++) {
+      zero[t] = new short[patterns.tableSize(t)];
+    }
+    PatternEvaluator evaluator = new PatternEvaluator(new PatternWeights(6, false, zero));
+    ReversiModel game = new SquareReversi(6);
+    game.startGame();
+    Assert.assertEquals(0, evaluator.evaluate(new AbstractReversi(game)));
+
+    ReversiModel other = new SquareReversi(8);
+    other.startGame();
+    AbstractReversi search = new AbstractReversi(other);
+    int[] moves = new int[64];
+    for (int i = 0; i < 10; i++) {
+      search.fillLegalMoves(moves);
+      search.doMove(moves[0] % 8, moves[0] / 8);
+    }
+    Assert.assertEquals(new PatternEvaluator().evaluate(search), evaluator.evaluate(search));
+  }
+}
@@ -0,0 +1,236 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.HexReversi;
+import model.model.ReadonlyReversiModel;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import model.player.Player;
+import strategy.AlphaBetaStrategy;
+import strategy.InfallibleReversiStrategy;
+import strategy.StandardEvaluator;
+
+/**
+ * Tests for the immutable snapshots of a game.
+ */
+public class TestSnapshot {
+
+  /**
+   * Checks that the snapshot agrees with the game in everything it can be asked.
+   *
+   * @param expected the game, or a copy of it when the snapshot was taken
+   * @param snapshot the snapshot
+   */
+  private void assertSamePosition(ReadonlyReversiModel expected,
+                                  ReadonlyReversiModel snapshot) {
+    Assert.assertEquals(expected.getTurn(), snapshot.getTurn());
+    Assert.assertEquals(expected.getStatus(), snapshot.getStatus());
+    Assert.assertEquals(expected.getPositionKey(), snapshot.getPositionKey());
+    for (Player player : Player.values()) {
+      Assert.assertEquals(expected.getScore(player), snapshot.getScore(player));
+      Assert.assertEquals(expected.getLegalMoves(player), snapshot.getLegalMoves(player));
+      Assert.assertEquals(expected.hasValidMoves(player), snapshot.hasValidMoves(player));
+    }
+    for (int r = 0; r < expected.getWidth(); r++) {
+      for (int q = 0; q < expected.getWidth(); q++) {
+        if (expected.getTileAt(q, r) != null) {
+          Assert.assertEquals(expected.getTileAt(q, r).getPlayerAt(),
+                  snapshot.getTileAt(q, r).getPlayerAt());
+          Assert.assertEquals(expected.moveScore(q, r), snapshot.moveScore(q, r));
+          Assert.assertEquals(expected.isValidMove(q, r, expected.getTurn()),
+                  snapshot.isValidMove(q, r, snapshot.getTurn()));
+        } else {
+          Assert.assertNull(snapshot.getTileAt(q, r));
+        }
+      }
+    }
+  }
+
+  /**
+   * Plays random games, taking a snapshot before every move, and checks at the end that every
+   * snapshot still shows the position it was taken in.
+   *
+   * @param sideLen        the side length of the board
+   * @param isHex          whether the board is hexagonal
+   * @param representation how the game stores its board
+   */
+  private void checkRandomGames(int sideLen, boolean isHex, BoardRepresentation representation) {
+    Random random = new Random(sideLen);
+    for (int game = 0; game < 3; game++) {
+      AbstractReversi model = new AbstractReversi(sideLen, isHex, representation);
+      model.startGame();
+      List<ReadonlyReversiModel> snapshots = new ArrayList<>();
+      List<ReadonlyReversiModel> copies = new ArrayList<>();
+      while (!model.isGameOver()) {
+        ReadonlyReversiModel snapshot = model.snapshot();
+        this.assertSamePosition(model, snapshot);
+        snapshots.add(snapshot);
+        copies.add(new AbstractReversi(model, BoardRepresentation.TILES));
+        List<Point> moves = model.getLegalMoves(model.getTurn());
+        Point move = moves.get(random.nextInt(moves.size()));
+        model.playMove(move.x, move.y);
+      }
+      for (int i = 0; i < snapshots.size(); i++) {
+        this.assertSamePosition(copies.get(i), snapshots.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testSnapshotsKeepTheirPosition() {
+    this.checkRandomGames(3, true, BoardRepresentation.TILES);
+    this.checkRandomGames(6, true, BoardRepresentation.BITSET);
+    this.checkRandomGames(8, false, BoardRepresentation.ARRAY);
+    this.checkRandomGames(10, false, BoardRepresentation.TILES);
+  }
+
+  @Test
+  public void testUndoneMovesLeaveSnapshotsAlone() {
+    AbstractReversi model = new AbstractReversi(8, false, BoardRepresentation.BITSET);
+    model.startGame();
+    Point move = model.getLegalMoves(Player.BLACK).get(1);
+    model.doMove(move.x, move.y);
+    ReadonlyReversiModel before = new AbstractReversi(model, BoardRepresentation.TILES);
+    ReadonlyReversiModel snapshot = model.snapshot();
+    model.undoMove();
+    this.assertSamePosition(before, snapshot);
+    Point other = model.getLegalMoves(Player.BLACK).get(0);
+    model.doMove(other.x, other.y);
+    ReadonlyReversiModel later = model.snapshot();
+    this.assertSamePosition(model, later);
+    this.assertSamePosition(before, snapshot);
+  }
+
+  @Test
+  public void testSnapshotCannotBeChanged() {
+    ReversiModel model = new HexReversi(6);
+    model.startGame();
+    ReadonlyReversiModel snapshot = model.snapshot();
+    Assert.assertSame(snapshot, snapshot.snapshot());
+    Assert.assertThrows(UnsupportedOperationException.class,
+        () -> snapshot.getTileAt(5, 4).changePlayer(Player.WHITE));
+    Assert.assertThrows(UnsupportedOperationException.class,
+        () -> snapshot.getBoard().setTileAt(5, 5));
+    // a copy of the board can be changed without changing the snapshot
+    snapshot.copyBoard().getTileAt(5, 4).changePlayer(Player.WHITE);
+    Assert.assertEquals(Player.BLACK, snapshot.getTileAt(5, 4).getPlayerAt());
+    Assert.assertEquals(Player.EMPTY, snapshot.copyBoard().getTileAt(5, 5).getPlayerAt());
+    Assert.assertThrows(IllegalArgumentException.class, () -> snapshot.getTileAt(11, 0));
+    Assert.assertThrows(IllegalStateException.class, snapshot::determineWinner);
+  }
+
+  @Test
+  public void testSnapshotBeforeStartThrows() {
+    Assert.assertThrows(IllegalStateException.class, () -> new SquareReversi(8).snapshot());
+  }
+
+  @Test
+  public void testPassAndGameOver() {
+    ReversiModel model = new SquareReversi(8);
+    model.startGame();
+    model.pass();
+    ReadonlyReversiModel passed = model.snapshot();
+    Assert.assertEquals(Player.WHITE, passed.getTurn());
+    model.pass();
+    ReadonlyReversiModel over = model.snapshot();
+    Assert.assertEquals(ReadonlyReversiModel.Status.Playing, passed.getStatus());
+    Assert.assertEquals(ReadonlyReversiModel.Status.Over, over.getStatus());
+    Assert.assertEquals(Player.EMPTY, over.determineWinner());
+  }
+
+  @Test
+  public void testStrategyRunsOnSnapshotWhileGameGoesOn() throws Exception {
+    AbstractReversi model = new AbstractReversi(8, false, BoardRepresentation.BITSET);
+    model.startGame();
+    InfallibleReversiStrategy strategy =
+        new AlphaBetaStrategy(60_000, 3, new StandardEvaluator());
+    InfallibleReversiStrategy background =
+        new AlphaBetaStrategy(60_000, 3, new StandardEvaluator());
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      while (!model.isGameOver()) {
+        ReadonlyReversiModel snapshot = model.snapshot();
+        Future<Point> chosen = executor.submit(
+            () -> background.chooseMove(snapshot, snapshot.getTurn()));
+        // the game goes on while the strategy thinks
+        Point expected = strategy.chooseMove(model, model.getTurn());
+        model.playMove(expected.x, expected.y);
+        Assert.assertEquals(expected, chosen.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSnapshotsTakenOnAnotherThread() throws Exception {
+    AbstractReversi model = new AbstractReversi(8, false, BoardRepresentation.BITSET);
+    model.startGame();
+    // a copy of every position of the game, by its key
+    Map<Long, ReadonlyReversiModel> positions = new HashMap<>();
+    positions.put(model.getPositionKey(), new AbstractReversi(model, BoardRepresentation.TILES));
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    // keeps the first snapshot of each position, checking every one against its own board
+    Future<List<ReadonlyReversiModel>> taken = executor.submit(() -> {
+      List<ReadonlyReversiModel> snapshots = new ArrayList<>();
+      long lastKey = 0;
+      while (!done.get()) {
+        ReadonlyReversiModel snapshot = model.snapshot();
+        int black = 0;
+        int white = 0;
+        for (int r = 0; r < snapshot.getWidth(); r++) {
+          for (int q = 0; q < snapshot.getWidth(); q++) {
+            Player owner = snapshot.getTileAt(q, r).getPlayerAt();
+            black += owner == Player.BLACK ? 1 : 0;
+            white += owner == Player.WHITE ? 1 : 0;
+          }
+        }
+        Assert.assertEquals(snapshot.getScore(Player.BLACK), black);
+        Assert.assertEquals(snapshot.getScore(Player.WHITE), white);
+        if (snapshots.isEmpty() || snapshot.getPositionKey() != lastKey) {
+          snapshots.add(snapshot);
+          lastKey = snapshot.getPositionKey();
+        }
+        Thread.yield();
+      }
+      return snapshots;
+    });
+    try {
+      Random random = new Random(8);
+      List<Point> moves = model.getLegalMoves(model.getTurn());
+      while (!moves.isEmpty()) {
+        Point move = moves.get(random.nextInt(moves.size()));
+        model.playMove(move.x, move.y);
+        positions.put(model.getPositionKey(),
+                new AbstractReversi(model, BoardRepresentation.TILES));
+        // give the other thread time to take snapshots between moves
+        Thread.sleep(1);
+        moves = model.getLegalMoves(model.getTurn());
+      }
+    } finally {
+      done.set(true);
+      executor.shutdown();
+    }
+    List<ReadonlyReversiModel> snapshots = taken.get();
+    Assert.assertTrue(snapshots.size() > 1);
+    for (ReadonlyReversiModel snapshot : snapshots) {
+      ReadonlyReversiModel expected = positions.get(snapshot.getPositionKey());
+      Assert.assertNotNull(expected);
+      this.assertSamePosition(expected, snapshot);
+    }
+  }
+}
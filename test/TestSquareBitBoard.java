@@ -0,0 +1,89 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import model.model.AbstractReversi;
+import model.model.BoardRepresentation;
+import model.model.ReversiModel;
+import model.model.SquareBitBoard;
+import model.model.SquareReversi;
+import model.player.Player;
+import view.text.SquareTextView;
+
+/**
+ * Tests for the bitboard representation of square boards.
+ */
+public class TestSquareBitBoard {
+
+  ReversiModel tiles = new SquareReversi();
+  ReversiModel bits = new SquareReversi(8, BoardRepresentation.BITSET);
+
+  @Test
+  public void testConstructorThrows() {
+    Assert.assertThrows(IllegalArgumentException.class, () ->
+            new AbstractReversi(10, false, BoardRepresentation.BITSET));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new SquareBitBoard(9));
+  }
+
+  @Test
+  public void testStartMatchesTiles() {
+    tiles.startGame();
+    bits.startGame();
+    Assert.assertEquals(new SquareTextView(tiles).toString(),
+            new SquareTextView(bits).toString());
+    Assert.assertEquals(2, bits.getScore(Player.BLACK));
+    Assert.assertEquals(2, bits.getScore(Player.WHITE));
+    Assert.assertEquals(60, bits.getScore(Player.EMPTY));
+  }
+
+  @Test
+  public void testValidMovesMatchTiles() {
+    tiles.startGame();
+    bits.startGame();
+    for (int r = 0; r < 8; r++) {
+      for (int q = 0; q < 8; q++) {
+        Assert.assertEquals(tiles.isValidMove(q, r, Player.BLACK),
+                bits.isValidMove(q, r, Player.BLACK));
+        Assert.assertEquals(tiles.isValidMove(q, r, Player.WHITE),
+                bits.isValidMove(q, r, Player.WHITE));
+        Assert.assertEquals(tiles.moveScore(q, r), bits.moveScore(q, r));
+      }
+    }
+    Assert.assertTrue(bits.isValidMove(3, 5, Player.BLACK));
+    Assert.assertFalse(bits.isValidMove(3, 5, Player.WHITE));
+  }
+
+  @Test
+  public void testPlayMovesMatchTiles() {
+    tiles.startGame();
+    bits.startGame();
+    // play the last valid move in row order until the game ends
+    while (!tiles.isGameOver()) {
+      int move = -1;
+      for (int i = 0; i < 64; i++) {
+        if (tiles.isValidMove(i % 8, i / 8, tiles.getTurn())) {
+          move = i;
+        }
+      }
+      tiles.playMove(move % 8, move / 8);
+      bits.playMove(move % 8, move / 8);
+      Assert.assertEquals(new SquareTextView(tiles).toString(),
+              new SquareTextView(bits).toString());
+      Assert.assertEquals(tiles.getScore(Player.BLACK), bits.getScore(Player.BLACK));
+      Assert.assertEquals(tiles.getScore(Player.WHITE), bits.getScore(Player.WHITE));
+      Assert.assertEquals(tiles.hasValidMoves(bits.getTurn()),
+              bits.hasValidMoves(bits.getTurn()));
+    }
+    Assert.assertTrue(bits.isGameOver());
+    Assert.assertEquals(tiles.determineWinner(), bits.determineWinner());
+  }
+
+  @Test
+  public void testCopyBoard() {
+    bits.startGame();
+    bits.playMove(3, 5);
+    Assert.assertEquals(bits.getBoard(), bits.copyBoard());
+    Assert.assertEquals(bits.getBoard().hashCode(), bits.copyBoard().hashCode());
+    bits.copyBoard().getTileAt(0, 0).changePlayer(Player.WHITE);
+    Assert.assertEquals(Player.EMPTY, bits.getTileAt(0, 0).getPlayerAt());
+  }
+}
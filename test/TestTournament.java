@@ -0,0 +1,121 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import controller.MatchResult;
+import controller.Sprt;
+import controller.Tournament;
+import strategy.AlphaBetaStrategy;
+import strategy.AvoidNextToCorner;
+import strategy.CaptureMax;
+import strategy.CompleteStrategy;
+import strategy.StandardEvaluator;
+
+/**
+ * Tests for tournaments between strategies and the statistics of their matches.
+ */
+public class TestTournament {
+
+  /**
+   * Returns a 6x6 tournament with greedy, corner-avoiding and searching entrants.
+   *
+   * @param threads the number of games played at once
+   * @return the tournament
+   */
+  private Tournament tournament(int threads) {
+    Tournament tournament = new Tournament(6, false, 4, threads);
+    tournament.addEntrant("greedy", () -> new CompleteStrategy(new CaptureMax()));
+    tournament.addEntrant("avoid", () -> new CompleteStrategy(new AvoidNextToCorner()));
+    tournament.addEntrant("search", () -> new AlphaBetaStrategy(10_000, 3,
+            new StandardEvaluator()));
+    return tournament;
+  }
+
+  @Test
+  public void testEloConversions() {
+    Assert.assertEquals(0.5, Sprt.expectedScore(0), 1e-12);
+    Assert.assertEquals(100, Sprt.elo(Sprt.expectedScore(100)), 1e-9);
+    Assert.assertEquals(-250, Sprt.elo(Sprt.expectedScore(-250)), 1e-9);
+    Assert.assertTrue(Double.isInfinite(Sprt.elo(1)));
+  }
+
+  @Test
+  public void testSprtBounds() {
+    Sprt sprt = new Sprt(0, 20, 0.05, 0.05);
+    Assert.assertEquals(Math.log(0.05 / 0.95), sprt.getLowerBound(), 1e-12);
+    Assert.assertEquals(Math.log(0.95 / 0.05), sprt.getUpperBound(), 1e-12);
+    Assert.assertEquals(Sprt.Decision.CONTINUE, sprt.decide(0));
+    Assert.assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(3));
+    Assert.assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(-3));
+    // results in between the hypotheses favor neither
+    double between = (Sprt.expectedScore(0) + Sprt.expectedScore(20)) / 2;
+    Assert.assertEquals(0, sprt.llr(100, between, 0.1), 1e-9);
+    Assert.assertTrue(sprt.llr(100, 0.6, 0.1) > 0);
+    Assert.assertTrue(sprt.llr(100, 0.4, 0.1) < 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSprt() {
+    new Sprt(10, 0, 0.05, 0.05);
+  }
+
+  @Test
+  public void testPairedOpeningsCancelOut() {
+    // a deterministic strategy against itself plays each opening the same way with both colors
+    Tournament tournament = new Tournament(6, true, 4, 2);
+    tournament.addEntrant("a", () -> new CompleteStrategy(new CaptureMax()));
+    tournament.addEntrant("b", () -> new CompleteStrategy(new CaptureMax()));
+    MatchResult result = tournament.match("a", "b", 10, 1, null);
+    Assert.assertEquals(20, result.getGames());
+    Assert.assertEquals(result.getWins(), result.getLosses());
+    Assert.assertEquals(0.5, result.getScore(), 1e-12);
+    Assert.assertEquals(0, result.getPairVariance(), 1e-12);
+    Assert.assertEquals(0, result.getElo(), 1e-9);
+    Assert.assertTrue(Double.isNaN(result.getLlr()));
+  }
+
+  @Test
+  public void testRoundRobin() {
+    List<MatchResult> results = this.tournament(2).roundRobin(4, 2);
+    Assert.assertEquals(3, results.size());
+    Assert.assertEquals("greedy", results.get(0).getFirst());
+    Assert.assertEquals("avoid", results.get(0).getSecond());
+    Assert.assertEquals("search", results.get(2).getSecond());
+    for (MatchResult result : results) {
+      Assert.assertEquals(8, result.getGames());
+      Assert.assertEquals(4, result.getPairs());
+      Assert.assertTrue(result.getGamesPerSecond() > 0);
+      Assert.assertTrue(result.getEloError() >= 0);
+    }
+  }
+
+  @Test
+  public void testResultsDoNotDependOnThreads() {
+    MatchResult single = this.tournament(1).match("greedy", "avoid", 8, 3, null);
+    MatchResult parallel = this.tournament(3).match("greedy", "avoid", 8, 3, null);
+    Assert.assertEquals(single.getWins(), parallel.getWins());
+    Assert.assertEquals(single.getDraws(), parallel.getDraws());
+    Assert.assertEquals(single.getElo(), parallel.getElo(), 0);
+  }
+
+  @Test
+  public void testSprtStopsEarly() {
+    MatchResult result = this.tournament(2).match("search", "greedy", 200, 4,
+            new Sprt(0, 50, 0.05, 0.05));
+    Assert.assertEquals(Sprt.Decision.ACCEPT_H1, result.getDecision());
+    Assert.assertTrue(result.getPairs() < 200);
+    Assert.assertTrue(result.getLlr() >= Math.log(0.95 / 0.05));
+    Assert.assertTrue(result.getElo() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateEntrant() {
+    this.tournament(1).addEntrant("greedy", () -> new CompleteStrategy(new CaptureMax()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownEntrant() {
+    this.tournament(1).match("greedy", "nobody", 1, 0, null);
+  }
+}
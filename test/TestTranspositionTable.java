@@ -0,0 +1,110 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import model.model.AbstractReversi;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import strategy.NegamaxSearch;
+import strategy.StandardEvaluator;
+import strategy.TranspositionTable;
+
+/**
+ * Tests for the transposition table and its use by the search.
+ */
+public class TestTranspositionTable {
+
+  TranspositionTable table = new TranspositionTable(4);
+
+  @Test
+  public void testStoreAndProbe() {
+    table.store(42L, 7, TranspositionTable.LOWER_BOUND, -1234, 17);
+    long entry = table.probe(42L);
+    Assert.assertNotEquals(0, entry);
+    Assert.assertEquals(7, TranspositionTable.depthOf(entry));
+    Assert.assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.boundOf(entry));
+    Assert.assertEquals(-1234, TranspositionTable.scoreOf(entry));
+    Assert.assertEquals(17, TranspositionTable.moveOf(entry));
+    Assert.assertEquals(0, table.probe(43L));
+  }
+
+  @Test
+  public void testNoMove() {
+    table.store(5L, 0, TranspositionTable.EXACT, 0, -1);
+    long entry = table.probe(5L);
+    Assert.assertNotEquals(0, entry);
+    Assert.assertEquals(-1, TranspositionTable.moveOf(entry));
+    Assert.assertEquals(0, TranspositionTable.scoreOf(entry));
+  }
+
+  @Test
+  public void testReplacementPolicy() {
+    // keys that differ only in their low bits share a bucket
+    long deep = 1L << 40;
+    long shallow = deep + 1;
+    long newest = deep + 2;
+    table.store(deep, 9, TranspositionTable.EXACT, 1, 1);
+    table.store(shallow, 3, TranspositionTable.EXACT, 2, 2);
+    // the deep entry is kept, and the always-replace entry takes the newest shallow result
+    Assert.assertNotEquals(0, table.probe(deep));
+    Assert.assertNotEquals(0, table.probe(shallow));
+    table.store(newest, 2, TranspositionTable.EXACT, 3, 3);
+    Assert.assertNotEquals(0, table.probe(deep));
+    Assert.assertEquals(0, table.probe(shallow));
+    Assert.assertEquals(3, TranspositionTable.scoreOf(table.probe(newest)));
+    // a deeper result takes over the depth-preferred entry
+    table.store(shallow, 12, TranspositionTable.EXACT, 4, 4);
+    Assert.assertEquals(0, table.probe(deep));
+    Assert.assertEquals(4, TranspositionTable.scoreOf(table.probe(shallow)));
+  }
+
+  @Test
+  public void testCounters() {
+    table.store(1L << 40, 1, TranspositionTable.EXACT, 0, 0);
+    table.probe(1L << 40);
+    table.probe((1L << 40) + 1);
+    table.probe(3L << 32);
+    Assert.assertEquals(3, table.getProbes());
+    Assert.assertEquals(1, table.getHits());
+    Assert.assertEquals(1, table.getCollisions());
+    Assert.assertEquals(1, table.getStores());
+    Assert.assertEquals(1.0 / 3, table.getHitRate(), 1e-9);
+    table.clear();
+    Assert.assertEquals(0, table.getProbes());
+    Assert.assertEquals(0, table.probe(1L << 40));
+    Assert.assertEquals(32, table.capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new TranspositionTable(27);
+  }
+
+  /**
+   * Checks that searching to a fixed depth with a table gives the same score with fewer nodes.
+   *
+   * @param game  the started game to search
+   * @param depth the depth of the search
+   */
+  private void checkSearchWithTable(ReversiModel game, int depth) {
+    NegamaxSearch plain = new NegamaxSearch(new AbstractReversi(game), new StandardEvaluator());
+    NegamaxSearch cached = new NegamaxSearch(new AbstractReversi(game), new StandardEvaluator());
+    TranspositionTable shared = new TranspositionTable(16);
+    cached.setTable(shared);
+    int score = plain.negamax(depth, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY, 0, false);
+    Assert.assertEquals(score,
+            cached.negamax(depth, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY, 0, false));
+    Assert.assertTrue(shared.getHits() > 0);
+    Assert.assertTrue(cached.getNodes() < plain.getNodes());
+  }
+
+  @Test
+  public void testSearchWithTable() {
+    ReversiModel hex = new HexReversi(5);
+    hex.startGame();
+    checkSearchWithTable(hex, 7);
+    ReversiModel square = new SquareReversi(8);
+    square.startGame();
+    checkSearchWithTable(square, 7);
+  }
+}
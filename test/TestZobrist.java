@@ -0,0 +1,69 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import model.model.BoardRepresentation;
+import model.model.HexBoard;
+import model.model.HexReversi;
+import model.model.ReversiModel;
+import model.model.SquareReversi;
+import model.model.Zobrist;
+import model.player.Player;
+
+/**
+ * Tests for the Zobrist keys of positions.
+ */
+public class TestZobrist {
+
+  ReversiModel m = new HexReversi();
+
+  @Test
+  public void testStartingKeyMatchesBoard() {
+    m.startGame();
+    Assert.assertEquals(Zobrist.hash(m.getBoard(), Player.BLACK), m.getPositionKey());
+    Assert.assertNotEquals(0, m.getPositionKey());
+    ReversiModel other = new HexReversi();
+    other.startGame();
+    Assert.assertEquals(other.getPositionKey(), m.getPositionKey());
+  }
+
+  @Test
+  public void testKeyFollowsMoves() {
+    m.startGame();
+    long start = m.getPositionKey();
+    m.playMove(3, 6);
+    Assert.assertNotEquals(start, m.getPositionKey());
+    Assert.assertEquals(Zobrist.hash(m.getBoard(), Player.WHITE), m.getPositionKey());
+    m.playMove(2, 6);
+    Assert.assertEquals(Zobrist.hash(m.getBoard(), Player.BLACK), m.getPositionKey());
+  }
+
+  @Test
+  public void testPassChangesSideToMove() {
+    m.startGame();
+    long start = m.getPositionKey();
+    m.pass();
+    Assert.assertEquals(start ^ Zobrist.WHITE_TO_MOVE, m.getPositionKey());
+  }
+
+  @Test
+  public void testKeyIndependentOfRepresentation() {
+    ReversiModel tiles = new SquareReversi();
+    ReversiModel bits = new SquareReversi(8, BoardRepresentation.BITSET);
+    tiles.startGame();
+    bits.startGame();
+    tiles.playMove(3, 5);
+    bits.playMove(3, 5);
+    Assert.assertEquals(tiles.getPositionKey(), bits.getPositionKey());
+  }
+
+  @Test
+  public void testHexBoardHashCodeCoversTiles() {
+    HexBoard b1 = new HexBoard(11);
+    HexBoard b2 = new HexBoard(11);
+    b1.addStartingCells(11, 6);
+    b2.addStartingCells(11, 6);
+    Assert.assertEquals(b1.hashCode(), b2.hashCode());
+    b1.getTileAt(3, 6).changePlayer(Player.BLACK);
+    Assert.assertNotEquals(b1.hashCode(), b2.hashCode());
+  }
+}